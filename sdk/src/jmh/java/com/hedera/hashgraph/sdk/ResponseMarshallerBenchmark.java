@@ -0,0 +1,108 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.ContractFunctionResult;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.FileGetContentsResponse;
+import com.hedera.hashgraph.sdk.proto.FileServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.TransactionGetRecordResponse;
+import com.hedera.hashgraph.sdk.proto.TransactionRecord;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to decode a large response received over the wire, a file of 1 MiB or a record with 50 child records, with the
+ * generated marshaller and with {@link AliasingResponseMarshaller}. Run with {@code -prof gc} to compare the bytes
+ * allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResponseMarshallerBenchmark {
+    @Param({"file", "record"})
+    public String response;
+
+    @Param({"generated", "aliasing"})
+    public String marshaller;
+
+    private MethodDescriptor.Marshaller<Response> responseMarshaller;
+
+    private byte[] responseBytes;
+
+    @Setup
+    public void setup() {
+        var descriptor = response.equals("file")
+                ? FileServiceGrpc.getGetFileContentMethod()
+                : CryptoServiceGrpc.getGetTxRecordByTxIDMethod();
+
+        responseMarshaller = marshaller.equals("aliasing")
+                ? AliasingResponseMarshaller.wrap(descriptor).getResponseMarshaller()
+                : descriptor.getResponseMarshaller();
+        responseBytes = response.equals("file")
+                ? fileResponse().toByteArray()
+                : recordResponse().toByteArray();
+    }
+
+    @Benchmark
+    public Response parse() {
+        return responseMarshaller.parse(new WireInputStream(responseBytes));
+    }
+
+    private static Response fileResponse() {
+        return Response.newBuilder()
+                .setFileGetContents(FileGetContentsResponse.newBuilder()
+                        .setFileContents(FileGetContentsResponse.FileContents.newBuilder()
+                                .setContents(randomBytes(1024 * 1024))))
+                .build();
+    }
+
+    private static Response recordResponse() {
+        var record = TransactionRecord.newBuilder()
+                .setTransactionHash(randomBytes(48))
+                .setContractCallResult(ContractFunctionResult.newBuilder()
+                        .setContractCallResult(randomBytes(4096))
+                        .setBloom(randomBytes(256)))
+                .build();
+        var builder = TransactionGetRecordResponse.newBuilder().setTransactionRecord(record);
+
+        for (var i = 0; i < 50; i++) {
+            builder.addChildTransactionRecords(record);
+        }
+
+        return Response.newBuilder().setTransactionGetRecord(builder).build();
+    }
+
+    private static ByteString randomBytes(int size) {
+        var bytes = new byte[size];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return ByteString.copyFrom(bytes);
+    }
+
+    /**
+     * A message as the transport hands it to the marshaller: a stream which knows its length.
+     */
+    private static final class WireInputStream extends ByteArrayInputStream implements KnownLength {
+        WireInputStream(byte[] bytes) {
+            super(bytes);
+        }
+    }
+}
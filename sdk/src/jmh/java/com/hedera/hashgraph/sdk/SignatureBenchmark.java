@@ -0,0 +1,58 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Signing and verification throughput of both key types, on a message the size of a typical transaction body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SignatureBenchmark {
+    @Param({"ED25519", "ECDSA"})
+    public String keyType;
+
+    private PrivateKey privateKey;
+
+    private PublicKey publicKey;
+
+    private byte[] message;
+
+    private byte[] signature;
+
+    @Setup
+    public void setup() {
+        privateKey = keyType.equals("ED25519") ? PrivateKey.generateED25519() : PrivateKey.generateECDSA();
+        publicKey = privateKey.getPublicKey();
+
+        message = new byte[200];
+        ThreadLocalRandom.current().nextBytes(message);
+        signature = privateKey.sign(message);
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return privateKey.sign(message);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return publicKey.verify(message, signature);
+    }
+}
@@ -0,0 +1,47 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link TransactionId#generate(AccountId)} with every core generating IDs at once, either all for the
+ * same payer or each for its own payer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransactionIdBenchmark {
+    private static final AtomicLong nextAccountNum = new AtomicLong(1001);
+
+    @Param({"shared", "perThread"})
+    public String payer;
+
+    private AccountId accountId;
+
+    @Setup
+    public void setup() {
+        accountId = new AccountId(0, 0, payer.equals("shared") ? 1000 : nextAccountNum.getAndIncrement());
+    }
+
+    @Benchmark
+    public TransactionId generate() {
+        return TransactionId.generate(accountId);
+    }
+}
@@ -0,0 +1,93 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap retained by the responses of executed file appends, when the responses are kept as returned and when they are
+ * {@link TransactionResponse#compact() compacted}. The retained bytes per response are reported as an auxiliary
+ * counter; they are measured from the used heap around forced garbage collections, so they are approximate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class TransactionResponseBenchmark {
+    private static final int RESPONSES = 200;
+
+    private static final PrivateKey KEY = PrivateKey.generateED25519();
+
+    private static final List<AccountId> NODE_ACCOUNT_IDS =
+            LongStream.range(3, 10).mapToObj(num -> new AccountId(0, 0, num)).toList();
+
+    @Param({"1024", "16384"})
+    public int contentsSize;
+
+    @Param({"full", "compact"})
+    public String response;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+        public long bytesPerResponse;
+    }
+
+    @Benchmark
+    public List<TransactionResponse> retain(Retained retained) {
+        var before = usedHeap();
+
+        var responses = new ArrayList<TransactionResponse>(RESPONSES);
+        for (var i = 0; i < RESPONSES; i++) {
+            var transactionResponse = executed(i);
+            responses.add(response.equals("compact") ? transactionResponse.compact() : transactionResponse);
+        }
+
+        retained.bytesPerResponse = (usedHeap() - before) / RESPONSES;
+        return responses;
+    }
+
+    /**
+     * A response as returned by execute, for a transaction signed and built for every node and chunk.
+     */
+    private TransactionResponse executed(int index) {
+        var transactionId =
+                TransactionId.withValidStart(new AccountId(0, 0, 1001), Instant.ofEpochSecond(1_700_000_000, index));
+        var transaction = new FileAppendTransaction()
+                .setFileId(new FileId(0, 0, 150))
+                .setContents(new byte[contentsSize])
+                .setTransactionId(transactionId)
+                .setNodeAccountIds(NODE_ACCOUNT_IDS)
+                .freeze()
+                .sign(KEY);
+        transaction.toBytes();
+
+        return new TransactionResponse(NODE_ACCOUNT_IDS.get(0), transactionId, new byte[48], null, transaction);
+    }
+
+    private static long usedHeap() {
+        var runtime = Runtime.getRuntime();
+
+        for (var i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
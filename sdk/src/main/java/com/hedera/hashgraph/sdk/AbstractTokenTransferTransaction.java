@@ -8,12 +8,45 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 abstract class AbstractTokenTransferTransaction<T extends AbstractTokenTransferTransaction<T>> extends Transaction<T> {
 
     protected final ArrayList<TokenTransfer> tokenTransfers = new ArrayList<>();
     protected final ArrayList<TokenNftTransfer> nftTransfers = new ArrayList<>();
 
+    /**
+     * Order of the token transfers in the transaction body: by token, account and approval.
+     * <p>
+     * Written out instead of chaining key extractors, so sorting large transfer lists compares the primitive fields
+     * of the IDs directly and doesn't box anything.
+     */
+    private static final Comparator<TokenTransfer> TOKEN_TRANSFER_ORDER = (a, b) -> {
+        var result = a.tokenId.compareTo(b.tokenId);
+        if (result == 0) {
+            result = a.accountId.compareTo(b.accountId);
+        }
+        return result != 0 ? result : Boolean.compare(a.isApproved, b.isApproved);
+    };
+
+    /**
+     * Order of the NFT transfers in the transaction body: by token, sender, receiver and serial.
+     */
+    private static final Comparator<TokenNftTransfer> NFT_TRANSFER_ORDER = (a, b) -> {
+        var result = a.tokenId.compareTo(b.tokenId);
+        if (result == 0) {
+            result = a.sender.compareTo(b.sender);
+        }
+        if (result == 0) {
+            result = a.receiver.compareTo(b.receiver);
+        }
+        return result != 0 ? result : Long.compare(a.serial, b.serial);
+    };
+
+    // lookups for adding to `tokenTransfers` without scanning it; rebuilt from the list when it was changed directly
+    @Nullable
+    private TokenTransferIndex tokenTransferIndex = null;
+
     protected AbstractTokenTransferTransaction() {}
 
     /**
@@ -74,17 +107,18 @@ abstract class AbstractTokenTransferTransaction<T extends AbstractTokenTransferT
     private T doAddTokenTransfer(TokenId tokenId, AccountId accountId, long value, boolean isApproved) {
         requireNotFrozen();
 
-        for (var transfer : tokenTransfers) {
-            if (transfer.tokenId.equals(tokenId)
-                    && transfer.accountId.equals(accountId)
-                    && transfer.isApproved == isApproved) {
-                transfer.amount = transfer.amount + value;
-                // noinspection unchecked
-                return (T) this;
-            }
+        var index = getTokenTransferIndex();
+        var transfer = index.get(tokenId, accountId, isApproved);
+
+        if (transfer != null) {
+            transfer.amount = transfer.amount + value;
+            // noinspection unchecked
+            return (T) this;
         }
 
-        tokenTransfers.add(new TokenTransfer(tokenId, accountId, value, isApproved));
+        transfer = new TokenTransfer(tokenId, accountId, value, isApproved);
+        tokenTransfers.add(transfer);
+        index.add(transfer);
         // noinspection unchecked
         return (T) this;
     }
@@ -117,29 +151,22 @@ abstract class AbstractTokenTransferTransaction<T extends AbstractTokenTransferT
             TokenId tokenId, AccountId accountId, long value, int decimals, boolean isApproved) {
         requireNotFrozen();
 
-        var found = false;
+        var index = getTokenTransferIndex();
 
-        for (var transfer : tokenTransfers) {
-            if (transfer.tokenId.equals(tokenId)) {
-                if (transfer.expectedDecimals != null && transfer.expectedDecimals != decimals) {
-                    throw new IllegalArgumentException(
-                            "expected decimals for a token in a token transfer cannot be changed after being set");
-                }
-
-                transfer.expectedDecimals = decimals;
+        // sets the decimals on every transfer of the token
+        index.setExpectedDecimals(tokenId, decimals);
 
-                if (transfer.accountId.equals(accountId) && transfer.isApproved == isApproved) {
-                    transfer.amount = transfer.amount + value;
-                    found = true;
-                }
-            }
-        }
+        var transfer = index.get(tokenId, accountId, isApproved);
 
-        if (found) {
+        if (transfer != null) {
+            transfer.amount = transfer.amount + value;
             // noinspection unchecked
             return (T) this;
         }
-        tokenTransfers.add(new TokenTransfer(tokenId, accountId, value, decimals, isApproved));
+
+        transfer = new TokenTransfer(tokenId, accountId, value, decimals, isApproved);
+        tokenTransfers.add(transfer);
+        index.add(transfer);
 
         // noinspection unchecked
         return (T) this;
@@ -185,6 +212,8 @@ abstract class AbstractTokenTransferTransaction<T extends AbstractTokenTransferT
         for (var transfer : tokenTransfers) {
             if (transfer.tokenId.equals(tokenId) && transfer.accountId.equals(accountId)) {
                 transfer.isApproved = isApproved;
+                // the approval is part of the key of the transfer
+                tokenTransferIndex = null;
                 // noinspection unchecked
                 return (T) this;
             }
@@ -268,13 +297,8 @@ abstract class AbstractTokenTransferTransaction<T extends AbstractTokenTransferT
     protected ArrayList<com.hedera.hashgraph.sdk.TokenTransferList> sortTransfersAndBuild() {
         var transferLists = new ArrayList<com.hedera.hashgraph.sdk.TokenTransferList>();
 
-        this.tokenTransfers.sort(Comparator.comparing((TokenTransfer a) -> a.tokenId)
-                .thenComparing(a -> a.accountId)
-                .thenComparing(a -> a.isApproved));
-        this.nftTransfers.sort(Comparator.comparing((TokenNftTransfer a) -> a.tokenId)
-                .thenComparing(a -> a.sender)
-                .thenComparing(a -> a.receiver)
-                .thenComparing(a -> a.serial));
+        this.tokenTransfers.sort(TOKEN_TRANSFER_ORDER);
+        this.nftTransfers.sort(NFT_TRANSFER_ORDER);
 
         var i = 0;
         var j = 0;
@@ -341,6 +365,77 @@ abstract class AbstractTokenTransferTransaction<T extends AbstractTokenTransferT
         return transferLists;
     }
 
+    private TokenTransferIndex getTokenTransferIndex() {
+        if (tokenTransferIndex == null || tokenTransferIndex.size() != tokenTransfers.size()) {
+            tokenTransferIndex = new TokenTransferIndex(tokenTransfers);
+        }
+
+        return tokenTransferIndex;
+    }
+
+    /**
+     * Lookups of the token transfers of a transaction, by key and by token.
+     */
+    private static final class TokenTransferIndex {
+        private final HashMap<TokenTransferKey, TokenTransfer> transfers = new HashMap<>();
+
+        // the decimals set for each token, and the transfers of the token which don't have them yet
+        private final HashMap<TokenId, Integer> expectedDecimals = new HashMap<>();
+        private final HashMap<TokenId, ArrayList<TokenTransfer>> transfersWithoutDecimals = new HashMap<>();
+
+        private int size = 0;
+
+        TokenTransferIndex(List<TokenTransfer> tokenTransfers) {
+            for (var transfer : tokenTransfers) {
+                add(transfer);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        @Nullable
+        TokenTransfer get(TokenId tokenId, AccountId accountId, boolean isApproved) {
+            return transfers.get(new TokenTransferKey(tokenId, accountId, isApproved));
+        }
+
+        void add(TokenTransfer transfer) {
+            // the first transfer of a key is the one which gets added to, as with a scan of the list
+            var key = new TokenTransferKey(transfer.tokenId, transfer.accountId, transfer.isApproved);
+            transfers.putIfAbsent(key, transfer);
+
+            if (transfer.expectedDecimals != null) {
+                expectedDecimals.putIfAbsent(transfer.tokenId, transfer.expectedDecimals);
+            } else {
+                transfersWithoutDecimals
+                        .computeIfAbsent(transfer.tokenId, tokenId -> new ArrayList<>())
+                        .add(transfer);
+            }
+
+            size += 1;
+        }
+
+        void setExpectedDecimals(TokenId tokenId, int decimals) {
+            var current = expectedDecimals.get(tokenId);
+            if (current != null && current != decimals) {
+                throw new IllegalArgumentException(
+                        "expected decimals for a token in a token transfer cannot be changed after being set");
+            }
+
+            expectedDecimals.put(tokenId, decimals);
+
+            var pending = transfersWithoutDecimals.remove(tokenId);
+            if (pending != null) {
+                for (var transfer : pending) {
+                    transfer.expectedDecimals = decimals;
+                }
+            }
+        }
+    }
+
+    private record TokenTransferKey(TokenId tokenId, AccountId accountId, boolean isApproved) {}
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         for (var transfer : nftTransfers) {
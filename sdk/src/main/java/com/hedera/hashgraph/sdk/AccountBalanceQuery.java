@@ -92,6 +92,11 @@ public final class AccountBalanceQuery extends Query<AccountBalance, AccountBala
         return false;
     }
 
+    @Override
+    boolean isCoalescable() {
+        return true;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = CryptoGetAccountBalanceQuery.newBuilder();
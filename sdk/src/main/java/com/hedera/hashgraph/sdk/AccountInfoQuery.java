@@ -47,6 +47,11 @@ public final class AccountInfoQuery extends Query<AccountInfo, AccountInfoQuery>
         return this;
     }
 
+    @Override
+    boolean isResultCacheable() {
+        return true;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (accountId != null) {
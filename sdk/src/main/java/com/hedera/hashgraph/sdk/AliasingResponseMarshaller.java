@@ -0,0 +1,110 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses gRPC responses so that their {@code bytes} fields share the buffer the response was read into.
+ * <p>
+ * The generated marshallers read a response into a buffer and then copy every {@code bytes} field out of it into its
+ * own {@link com.google.protobuf.ByteString}, which doubles the memory and copying for large responses such as file
+ * contents, contract bytecode and records. Here the response is read into a buffer of its exact size, which is owned
+ * by the parsed message, and the fields alias it. Requests are still written by the generated marshaller, whose stream
+ * the transport already drains straight into its own buffers.
+ *
+ * @param <T>                           the type of the response
+ */
+final class AliasingResponseMarshaller<T> implements MethodDescriptor.PrototypeMarshaller<T> {
+    private static final ConcurrentHashMap<MethodDescriptor<?, ?>, MethodDescriptor<?, ?>> descriptors =
+            new ConcurrentHashMap<>();
+
+    private final MethodDescriptor.PrototypeMarshaller<T> delegate;
+
+    private final Parser<? extends MessageLite> parser;
+
+    private AliasingResponseMarshaller(MethodDescriptor.PrototypeMarshaller<T> delegate, MessageLite prototype) {
+        this.delegate = delegate;
+        this.parser = prototype.getParserForType();
+    }
+
+    /**
+     * Extract the method descriptor with the aliasing marshaller for its responses.
+     *
+     * @param descriptor                the generated method descriptor
+     * @param <ReqT>                    the type of the request
+     * @param <RespT>                   the type of the response
+     * @return                          the method descriptor to call; the generated one when its responses are not
+     *                                  protobuf messages
+     */
+    static <ReqT, RespT> MethodDescriptor<ReqT, RespT> wrap(MethodDescriptor<ReqT, RespT> descriptor) {
+        // noinspection unchecked
+        return (MethodDescriptor<ReqT, RespT>)
+                descriptors.computeIfAbsent(descriptor, key -> withAliasingResponses(descriptor));
+    }
+
+    private static <ReqT, RespT> MethodDescriptor<ReqT, RespT> withAliasingResponses(
+            MethodDescriptor<ReqT, RespT> descriptor) {
+        if (descriptor.getResponseMarshaller() instanceof MethodDescriptor.PrototypeMarshaller<RespT> marshaller
+                && marshaller.getMessagePrototype() instanceof MessageLite prototype) {
+            return descriptor.toBuilder()
+                    .setResponseMarshaller(new AliasingResponseMarshaller<>(marshaller, prototype))
+                    .build();
+        }
+
+        return descriptor;
+    }
+
+    @Override
+    public InputStream stream(T value) {
+        return delegate.stream(value);
+    }
+
+    @Override
+    public T parse(InputStream stream) {
+        int size;
+        try {
+            size = stream instanceof KnownLength ? stream.available() : 0;
+        } catch (IOException e) {
+            size = 0;
+        }
+
+        if (size <= 0) {
+            return delegate.parse(stream);
+        }
+
+        try {
+            var bytes = new byte[size];
+            ByteStreams.readFully(stream, bytes);
+
+            var input = CodedInputStream.newInstance(bytes);
+            input.enableAliasing(true);
+
+            // noinspection unchecked
+            return (T) parser.parseFrom(input);
+        } catch (IOException e) {
+            throw Status.INTERNAL
+                    .withDescription("Invalid protobuf byte sequence")
+                    .withCause(e)
+                    .asRuntimeException();
+        }
+    }
+
+    @Override
+    public Class<T> getMessageClass() {
+        return delegate.getMessageClass();
+    }
+
+    @Override
+    public T getMessagePrototype() {
+        return delegate.getMessagePrototype();
+    }
+}
@@ -0,0 +1,511 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Mints a large NFT collection with as few {@link TokenMintTransaction}s as possible.
+ * <p>
+ * The metadata is split into batches as large as a mint transaction allows, and a bounded window of batches is kept
+ * in flight; the client spreads them over its nodes. For every minted NFT, the index of its metadata in the input and
+ * its serial number are reported. A batch which was rejected by the network or failed at consensus minted nothing
+ * and is retried with a new transaction.
+ * <p>
+ * Every batch is frozen and signed before it is sent, and reported as pending in a {@link Checkpoint} together with
+ * its signed bytes. A job which was interrupted can be resumed from its last checkpoint: the pending batches are
+ * first resolved by resubmitting their exact bytes (which the network rejects as a duplicate if they were already
+ * submitted) and fetching their receipts, so no metadata is minted twice.
+ */
+public final class BulkMinter {
+    /**
+     * The default maximum number of NFTs minted by a single transaction ({@code tokens.nfts.maxBatchSizeMint}).
+     */
+    public static final int DEFAULT_MAX_METADATA_PER_TRANSACTION = 10;
+
+    /**
+     * The default maximum size of the metadata of a single transaction, which leaves room within the 6144 byte
+     * transaction limit for the other fields and the signatures.
+     */
+    public static final int DEFAULT_MAX_METADATA_BYTES_PER_TRANSACTION = 4096;
+
+    /**
+     * The default maximum number of transactions in flight.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
+    /**
+     * The default number of times a batch is submitted before the job fails.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final Client client;
+
+    private final TokenId tokenId;
+
+    private final List<PrivateKey> signingKeys = new ArrayList<>();
+
+    private int maxMetadataPerTransaction = DEFAULT_MAX_METADATA_PER_TRANSACTION;
+
+    private int maxMetadataBytesPerTransaction = DEFAULT_MAX_METADATA_BYTES_PER_TRANSACTION;
+
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    private Checkpoint checkpoint = new Checkpoint(0, new TreeMap<>());
+
+    @Nullable
+    private Consumer<Checkpoint> checkpointListener = null;
+
+    /**
+     * Constructor.
+     *
+     * @param client                    the client to submit the mints with; its operator pays for them
+     * @param tokenId                   the NFT collection to mint
+     */
+    public BulkMinter(Client client, TokenId tokenId) {
+        this.client = Objects.requireNonNull(client);
+        this.tokenId = Objects.requireNonNull(tokenId);
+    }
+
+    /**
+     * Add a key to sign the mint transactions with, such as the supply key of the token.
+     *
+     * @param key                       the key
+     * @return {@code this}
+     */
+    public BulkMinter addSigningKey(PrivateKey key) {
+        signingKeys.add(Objects.requireNonNull(key));
+        return this;
+    }
+
+    /**
+     * Set the maximum number of NFTs minted by a single transaction.
+     *
+     * @param maxMetadataPerTransaction the maximum
+     * @return {@code this}
+     */
+    public BulkMinter setMaxMetadataPerTransaction(int maxMetadataPerTransaction) {
+        this.maxMetadataPerTransaction = requirePositive(maxMetadataPerTransaction);
+        return this;
+    }
+
+    /**
+     * Set the maximum size of the metadata of a single transaction. A single metadata which is larger is minted on
+     * its own.
+     *
+     * @param maxMetadataBytesPerTransaction the maximum size in bytes
+     * @return {@code this}
+     */
+    public BulkMinter setMaxMetadataBytesPerTransaction(int maxMetadataBytesPerTransaction) {
+        this.maxMetadataBytesPerTransaction = requirePositive(maxMetadataBytesPerTransaction);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of transactions in flight.
+     *
+     * @param maxInFlight               the maximum
+     * @return {@code this}
+     */
+    public BulkMinter setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = requirePositive(maxInFlight);
+        return this;
+    }
+
+    /**
+     * Set the number of times a batch is submitted before the job fails.
+     *
+     * @param maxAttempts               the number of attempts
+     * @return {@code this}
+     */
+    public BulkMinter setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = requirePositive(maxAttempts);
+        return this;
+    }
+
+    /**
+     * Resume an interrupted job.
+     * <p>
+     * {@link #mint(Iterator, BiConsumer)} must then be given the same metadata as the interrupted job, from the
+     * start; the metadata which was already submitted is skipped.
+     *
+     * @param checkpoint                the last checkpoint of the interrupted job
+     * @return {@code this}
+     */
+    public BulkMinter resumeFrom(Checkpoint checkpoint) {
+        this.checkpoint = Objects.requireNonNull(checkpoint);
+        return this;
+    }
+
+    /**
+     * Set the listener for the checkpoints of the job.
+     * <p>
+     * The listener is called, one checkpoint at a time, before every submission and after every minted batch.
+     * Store the latest checkpoint to be able to resume the job.
+     *
+     * @param checkpointListener        the listener
+     * @return {@code this}
+     */
+    public BulkMinter setCheckpointListener(@Nullable Consumer<Checkpoint> checkpointListener) {
+        this.checkpointListener = checkpointListener;
+        return this;
+    }
+
+    /**
+     * Mint an NFT for each metadata.
+     * <p>
+     * Returns once every NFT was minted. On failure, no new batches are submitted, the batches in flight are waited
+     * for, and the failure of the first failed batch is thrown.
+     *
+     * @param metadata                  the metadata of the NFTs
+     * @param onMinted                  called, one batch at a time, with the index of each metadata and the serial
+     *                                  number of its NFT
+     * @throws InterruptedException     when the thread is interrupted while waiting for the mints in flight
+     * @throws TimeoutException         when a mint times out; its outcome is unknown and it stays pending
+     * @throws PrecheckStatusException  when a mint is rejected by the network on its last attempt
+     * @throws ReceiptStatusException   when a mint fails at consensus on its last attempt
+     */
+    public void mint(Iterator<byte[]> metadata, BiConsumer<Long, Long> onMinted)
+            throws InterruptedException, TimeoutException, PrecheckStatusException, ReceiptStatusException {
+        var state = new JobState(checkpoint, onMinted);
+
+        state.resolvePending();
+
+        // the metadata up to the checkpoint was submitted by the interrupted job
+        var index = 0L;
+        for (; index < checkpoint.nextIndex && metadata.hasNext(); index++) {
+            metadata.next();
+        }
+
+        var window = new Semaphore(maxInFlight);
+
+        // the metadata which didn't fit into the previous batch
+        byte[] carried = null;
+
+        while ((carried != null || metadata.hasNext()) && state.failure.get() == null) {
+            var firstIndex = index;
+            var batch = new ArrayList<byte[]>();
+            var batchBytes = 0;
+
+            while (batch.size() < maxMetadataPerTransaction && (carried != null || metadata.hasNext())) {
+                var next = carried != null ? carried : metadata.next();
+                carried = null;
+
+                if (!batch.isEmpty() && batchBytes + next.length > maxMetadataBytesPerTransaction) {
+                    carried = next;
+                    break;
+                }
+
+                batch.add(next);
+                batchBytes += next.length;
+                index++;
+            }
+
+            window.acquire();
+            state.submit(firstIndex, batch, index, 1, window);
+        }
+
+        // wait for the batches in flight
+        window.acquire(maxInFlight);
+        window.release(maxInFlight);
+
+        state.throwFailure();
+    }
+
+    private TokenMintTransaction newTransaction(List<byte[]> metadata) {
+        var transaction =
+                new TokenMintTransaction().setTokenId(tokenId).setMetadata(metadata).freezeWith(client);
+
+        for (var key : signingKeys) {
+            transaction.sign(key);
+        }
+
+        // signed by the operator now instead of on execution, so the checkpointed bytes can be resubmitted as is
+        return transaction.signWithOperator(client);
+    }
+
+    private static int requirePositive(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("value must be positive");
+        }
+
+        return value;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+
+        return error;
+    }
+
+    /**
+     * Whether a failed mint certainly minted nothing, so that it can be submitted again.
+     */
+    private static boolean mintedNothing(Throwable error) {
+        return (error instanceof PrecheckStatusException precheck && precheck.status != Status.DUPLICATE_TRANSACTION)
+                || error instanceof ReceiptStatusException;
+    }
+
+    /**
+     * The progress of a job.
+     */
+    private final class JobState {
+        private final BiConsumer<Long, Long> onMinted;
+
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private long nextIndex;
+
+        // first metadata index -> signed mint transaction
+        private final TreeMap<Long, byte[]> pending;
+
+        JobState(Checkpoint checkpoint, BiConsumer<Long, Long> onMinted) {
+            this.onMinted = onMinted;
+            this.nextIndex = checkpoint.nextIndex;
+            this.pending = new TreeMap<>(checkpoint.pendingBatches);
+        }
+
+        /**
+         * Resolve the batches which were pending when the job was interrupted.
+         */
+        void resolvePending()
+                throws InterruptedException, TimeoutException, PrecheckStatusException, ReceiptStatusException {
+            for (var entry : new ArrayList<>(pending.entrySet())) {
+                TokenMintTransaction transaction;
+                try {
+                    transaction = (TokenMintTransaction) Transaction.fromBytes(entry.getValue());
+                } catch (InvalidProtocolBufferException e) {
+                    throw new IllegalArgumentException("checkpoint contains an invalid mint transaction", e);
+                }
+
+                TransactionReceipt receipt;
+                try {
+                    // the status is checked below, for a receipt either way
+                    receipt = transaction.execute(client).getReceiptQuery().execute(client);
+                } catch (PrecheckStatusException e) {
+                    if (e.status != Status.DUPLICATE_TRANSACTION) {
+                        // an expired transaction may still have reached consensus, which can't be ruled out here
+                        throw e;
+                    }
+
+                    // submitted before the interruption, the receipt tells whether it minted
+                    receipt = new TransactionReceiptQuery()
+                            .setTransactionId(transaction.getTransactionId())
+                            .execute(client);
+                }
+
+                if (receipt.status == Status.SUCCESS) {
+                    minted(entry.getKey(), receipt.serials);
+                    continue;
+                } else if (receipt.status == Status.UNKNOWN || receipt.status == Status.RECEIPT_NOT_FOUND) {
+                    // the outcome is unknown, minting the batch again could mint it twice
+                    throw new ReceiptStatusException(transaction.getTransactionId(), receipt);
+                }
+
+                // failed at consensus, so nothing was minted; mint the batch again
+                var window = new Semaphore(1);
+                window.acquire();
+                submit(entry.getKey(), transaction.getMetadata(), nextIndex, 1, window);
+                window.acquire();
+                throwFailure();
+            }
+        }
+
+        /**
+         * Submit a batch; releases a permit of the window once the batch is done.
+         */
+        void submit(long firstIndex, List<byte[]> metadata, long nextIndex, int attempt, Semaphore window) {
+            TokenMintTransaction transaction;
+            try {
+                transaction = newTransaction(metadata);
+                submitted(firstIndex, nextIndex, transaction.toBytes());
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                window.release();
+                return;
+            }
+
+            transaction
+                    .executeAsync(client)
+                    .thenCompose(response -> response.getReceiptAsync(client))
+                    .whenComplete((receipt, error) -> {
+                        if (error == null) {
+                            minted(firstIndex, receipt.serials);
+                            window.release();
+                            return;
+                        }
+
+                        var cause = unwrap(error);
+                        if (mintedNothing(cause) && attempt < maxAttempts && failure.get() == null) {
+                            submit(firstIndex, metadata, nextIndex, attempt + 1, window);
+                        } else {
+                            failure.compareAndSet(null, cause);
+                            window.release();
+                        }
+                    });
+        }
+
+        private synchronized void submitted(long firstIndex, long nextIndex, byte[] transactionBytes) {
+            pending.put(firstIndex, transactionBytes);
+            this.nextIndex = Math.max(this.nextIndex, nextIndex);
+            notifyCheckpoint();
+        }
+
+        private synchronized void minted(long firstIndex, List<Long> serials) {
+            pending.remove(firstIndex);
+
+            for (var i = 0; i < serials.size(); i++) {
+                onMinted.accept(firstIndex + i, serials.get(i));
+            }
+
+            notifyCheckpoint();
+        }
+
+        private void notifyCheckpoint() {
+            if (checkpointListener != null) {
+                checkpointListener.accept(new Checkpoint(nextIndex, new TreeMap<>(pending)));
+            }
+        }
+
+        void throwFailure() throws TimeoutException, PrecheckStatusException, ReceiptStatusException {
+            var error = failure.get();
+
+            if (error == null) {
+                return;
+            } else if (error instanceof TimeoutException e) {
+                throw e;
+            } else if (error instanceof PrecheckStatusException e) {
+                throw e;
+            } else if (error instanceof ReceiptStatusException e) {
+                throw e;
+            } else if (error instanceof RuntimeException e) {
+                throw e;
+            }
+
+            throw new RuntimeException(error);
+        }
+    }
+
+    /**
+     * The progress of a job, to resume it after an interruption.
+     */
+    public static final class Checkpoint {
+        private static final int VERSION = 1;
+
+        private final long nextIndex;
+
+        private final TreeMap<Long, byte[]> pendingBatches;
+
+        Checkpoint(long nextIndex, TreeMap<Long, byte[]> pendingBatches) {
+            this.nextIndex = nextIndex;
+            this.pendingBatches = pendingBatches;
+        }
+
+        /**
+         * Extract the index of the first metadata which wasn't submitted yet.
+         *
+         * @return                      the index
+         */
+        public long getNextIndex() {
+            return nextIndex;
+        }
+
+        /**
+         * Extract the index of the first metadata of each batch which was submitted but isn't known to be minted.
+         *
+         * @return                      the indices
+         */
+        public List<Long> getPendingBatches() {
+            return Collections.unmodifiableList(new ArrayList<>(pendingBatches.keySet()));
+        }
+
+        /**
+         * Create the byte array representation of the checkpoint.
+         *
+         * @return                      the byte array
+         */
+        public byte[] toBytes() {
+            var bytes = new ByteArrayOutputStream();
+
+            try (var out = new DataOutputStream(bytes)) {
+                out.writeInt(VERSION);
+                out.writeLong(nextIndex);
+                out.writeInt(pendingBatches.size());
+
+                for (var entry : pendingBatches.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            } catch (IOException e) {
+                // a ByteArrayOutputStream doesn't throw
+                throw new RuntimeException(e);
+            }
+
+            return bytes.toByteArray();
+        }
+
+        /**
+         * Create a checkpoint from its byte array representation.
+         *
+         * @param bytes                 the byte array
+         * @return                      the checkpoint
+         * @throws IllegalArgumentException if the bytes are not a checkpoint
+         */
+        public static Checkpoint fromBytes(byte[] bytes) {
+            try (var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                var version = in.readInt();
+                if (version != VERSION) {
+                    throw new IllegalArgumentException("unsupported checkpoint version: " + version);
+                }
+
+                var nextIndex = in.readLong();
+                var count = in.readInt();
+                var pendingBatches = new TreeMap<Long, byte[]>();
+
+                for (var i = 0; i < count; i++) {
+                    var firstIndex = in.readLong();
+                    var transactionBytes = new byte[in.readInt()];
+                    in.readFully(transactionBytes);
+                    pendingBatches.put(firstIndex, transactionBytes);
+                }
+
+                return new Checkpoint(nextIndex, pendingBatches);
+            } catch (IOException | NegativeArraySizeException e) {
+                throw new IllegalArgumentException("invalid checkpoint", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("nextIndex", nextIndex)
+                    .add("pendingBatches", pendingBatches.keySet())
+                    .toString();
+        }
+    }
+}
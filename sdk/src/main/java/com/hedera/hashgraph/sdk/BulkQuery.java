@@ -0,0 +1,267 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import io.grpc.StatusRuntimeException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Executes a query for each of a large number of IDs, such as the balances or infos of many accounts.
+ * <p>
+ * The queries are spread over the healthy nodes of the client, with at most a fixed number in flight on each node,
+ * and their results are reported in the order they complete. A query which failed for a reason which may be
+ * transient, such as a timeout or a busy node, is retried on another node; other failures, and queries which fail
+ * on every attempt, are reported for their ID without stopping the others.
+ *
+ * @param <I>                           the type of the IDs
+ * @param <O>                           the type of the results
+ */
+public final class BulkQuery<I, O> {
+    /**
+     * The default maximum number of queries in flight on a single node.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT_PER_NODE = 4;
+
+    /**
+     * The default number of times a query is executed before its failure is reported.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final Client client;
+
+    private final Function<I, ? extends Query<O, ?>> queryFactory;
+
+    private int maxInFlightPerNode = DEFAULT_MAX_IN_FLIGHT_PER_NODE;
+
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    /**
+     * Constructor.
+     *
+     * @param client                    the client to execute the queries with
+     * @param queryFactory              creates a new query for an ID, such as
+     *                                  {@code id -> new AccountBalanceQuery().setAccountId(id)}
+     */
+    public BulkQuery(Client client, Function<I, ? extends Query<O, ?>> queryFactory) {
+        this.client = Objects.requireNonNull(client);
+        this.queryFactory = Objects.requireNonNull(queryFactory);
+    }
+
+    /**
+     * Set the maximum number of queries in flight on a single node.
+     *
+     * @param maxInFlightPerNode        the maximum
+     * @return {@code this}
+     */
+    public BulkQuery<I, O> setMaxInFlightPerNode(int maxInFlightPerNode) {
+        this.maxInFlightPerNode = requirePositive(maxInFlightPerNode);
+        return this;
+    }
+
+    /**
+     * Set the number of times a query is executed before its failure is reported.
+     *
+     * @param maxAttempts               the number of attempts
+     * @return {@code this}
+     */
+    public BulkQuery<I, O> setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = requirePositive(maxAttempts);
+        return this;
+    }
+
+    /**
+     * Execute the query for each ID.
+     * <p>
+     * Returns once every query has completed. The callbacks are called one at a time, and the next queries are only
+     * sent once they return, so they should be quick.
+     *
+     * @param ids                       the IDs; read lazily as the queries are sent
+     * @param onResult                  called with the ID and the result of each successful query
+     * @param onFailure                 called with the ID and the failure of each failed query
+     * @throws InterruptedException     when the thread is interrupted while waiting for the queries in flight
+     */
+    public void execute(Iterable<? extends I> ids, BiConsumer<I, O> onResult, BiConsumer<I, Throwable> onFailure)
+            throws InterruptedException {
+        var state = new JobState(ids.iterator(), onResult, onFailure);
+
+        for (var task = state.next(); task != null; task = state.next()) {
+            var nodeAccountId = state.acquireNode(task.lastNodeAccountId);
+
+            Query<O, ?> query;
+            try {
+                query = queryFactory.apply(task.id);
+                query.setNodeAccountIds(List.of(nodeAccountId));
+            } catch (RuntimeException e) {
+                state.completed(task, nodeAccountId, null, e);
+                continue;
+            }
+
+            query.executeAsync(client)
+                    .whenComplete((result, error) -> state.completed(task, nodeAccountId, result, error));
+        }
+    }
+
+    private static int requirePositive(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("value must be positive");
+        }
+
+        return value;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+
+        return error;
+    }
+
+    /**
+     * Whether a failed query may succeed on another attempt.
+     */
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof PrecheckStatusException precheck) {
+            return precheck.status == Status.BUSY
+                    || precheck.status == Status.PLATFORM_NOT_ACTIVE
+                    || precheck.status == Status.PLATFORM_TRANSACTION_NOT_CREATED;
+        }
+
+        return error instanceof TimeoutException
+                || error instanceof MaxAttemptsExceededException
+                || error instanceof StatusRuntimeException;
+    }
+
+    /**
+     * A query to send.
+     */
+    private final class Task {
+        private final I id;
+
+        private final int attempt;
+
+        @Nullable
+        private final AccountId lastNodeAccountId;
+
+        Task(I id, int attempt, @Nullable AccountId lastNodeAccountId) {
+            this.id = id;
+            this.attempt = attempt;
+            this.lastNodeAccountId = lastNodeAccountId;
+        }
+    }
+
+    /**
+     * The progress of a job, guarded by its own lock.
+     */
+    private final class JobState {
+        private final Iterator<? extends I> ids;
+
+        private final BiConsumer<I, O> onResult;
+
+        private final BiConsumer<I, Throwable> onFailure;
+
+        private final ArrayDeque<Task> retries = new ArrayDeque<>();
+
+        private final Map<AccountId, Integer> inFlight = new HashMap<>();
+
+        private int totalInFlight = 0;
+
+        JobState(Iterator<? extends I> ids, BiConsumer<I, O> onResult, BiConsumer<I, Throwable> onFailure) {
+            this.ids = ids;
+            this.onResult = onResult;
+            this.onFailure = onFailure;
+        }
+
+        /**
+         * Wait for the next query to send: a retry, else the next ID.
+         *
+         * @return                      the query; null once every query has completed
+         */
+        @Nullable
+        synchronized Task next() throws InterruptedException {
+            while (retries.isEmpty() && !ids.hasNext() && totalInFlight > 0) {
+                wait();
+            }
+
+            if (!retries.isEmpty()) {
+                return retries.poll();
+            } else if (ids.hasNext()) {
+                return new Task(ids.next(), 1, null);
+            }
+
+            return null;
+        }
+
+        /**
+         * Wait for a healthy node below its limit, preferring the least loaded one and avoiding the node a retried
+         * query last failed on.
+         */
+        synchronized AccountId acquireNode(@Nullable AccountId avoidNodeAccountId) throws InterruptedException {
+            while (true) {
+                var nodeAccountIds = client.network.getHealthyNodeAccountIds();
+
+                AccountId chosen = null;
+                var chosenInFlight = Integer.MAX_VALUE;
+
+                for (var nodeAccountId : nodeAccountIds) {
+                    var count = inFlight.getOrDefault(nodeAccountId, 0);
+
+                    if (count >= maxInFlightPerNode
+                            || (nodeAccountId.equals(avoidNodeAccountId) && nodeAccountIds.size() > 1)) {
+                        continue;
+                    }
+
+                    if (count < chosenInFlight) {
+                        chosen = nodeAccountId;
+                        chosenInFlight = count;
+                    }
+                }
+
+                if (chosen != null) {
+                    inFlight.merge(chosen, 1, Integer::sum);
+                    totalInFlight++;
+                    return chosen;
+                }
+
+                if (totalInFlight > 0) {
+                    wait();
+                } else {
+                    // every node is unhealthy; wait for one to be readmitted
+                    wait(client.getMinBackoff().toMillis() + 1);
+                }
+            }
+        }
+
+        synchronized void completed(Task task, AccountId nodeAccountId, @Nullable O result, @Nullable Throwable error) {
+            inFlight.merge(nodeAccountId, -1, Integer::sum);
+            totalInFlight--;
+
+            try {
+                if (error == null) {
+                    onResult.accept(task.id, result);
+                    return;
+                }
+
+                var cause = unwrap(error);
+                if (isTransient(cause) && task.attempt < maxAttempts) {
+                    retries.add(new Task(task.id, task.attempt + 1, nodeAccountId));
+                } else {
+                    onFailure.accept(task.id, cause);
+                }
+            } finally {
+                notifyAll();
+            }
+        }
+    }
+}
@@ -210,12 +210,7 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
             var offset = txIndex * nodeCount;
 
             for (var nodeIndex = 0; nodeIndex < nodeCount; ++nodeIndex) {
-                hashes.put(
-                        nodeAccountIds.get(nodeIndex),
-                        hash(outerTransactions
-                                .get(offset + nodeIndex)
-                                .getSignedTransactionBytes()
-                                .toByteArray()));
+                hashes.put(nodeAccountIds.get(nodeIndex), getTransactionHashAt(offset + nodeIndex));
             }
 
             transactionHashes.add(hashes);
@@ -476,19 +471,10 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
 
         for (int i = 0; i < requiredChunks; i++) {
             if (!transactionIds.isEmpty()) {
-                var startIndex = i * chunkSize;
-                var endIndex = startIndex + chunkSize;
-
-                if (endIndex > this.data.size()) {
-                    endIndex = this.data.size();
-                }
-
-                onFreezeChunk(
+                buildChunk(
                         Objects.requireNonNull(frozenBodyBuilder)
                                 .setTransactionID(transactionIds.get(i).toProtobuf()),
                         transactionIds.get(0).toProtobuf(),
-                        startIndex,
-                        endIndex,
                         i,
                         requiredChunks);
             }
@@ -506,6 +492,21 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         }
     }
 
+    /**
+     * Assign the data of a chunk to a body.
+     *
+     * @param body                      the body of the chunk
+     * @param initialTransactionId      the transaction id of the first chunk
+     * @param chunk                     the index of the chunk
+     * @param total                     the number of chunks
+     */
+    void buildChunk(TransactionBody.Builder body, @Nullable TransactionID initialTransactionId, int chunk, int total) {
+        var startIndex = chunk * chunkSize;
+        var endIndex = Math.min(startIndex + chunkSize, data.size());
+
+        onFreezeChunk(body, initialTransactionId, startIndex, endIndex, chunk, total);
+    }
+
     /**
      * A common base for file and topic message transactions.
      */
@@ -53,6 +53,7 @@ public final class Client implements AutoCloseable {
     static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(2L);
     static final Duration DEFAULT_GRPC_DEADLINE = Duration.ofSeconds(10L);
     static final Duration DEFAULT_NETWORK_UPDATE_PERIOD = Duration.ofHours(24);
+    static final int QUERY_COALESCER_MAX_ENTRIES = 4096;
     // Initial delay of 10 seconds before we update the network for the first time,
     // so that this doesn't happen in unit tests.
     static final Duration NETWORK_UPDATE_INITIAL_DELAY = Duration.ofSeconds(10);
@@ -68,6 +69,20 @@ public final class Client implements AutoCloseable {
     Hbar defaultMaxTransactionFee = null;
 
     Hbar defaultMaxQueryPayment = DEFAULT_MAX_QUERY_PAYMENT;
+
+    final QueryCostCache queryCostCache = new QueryCostCache();
+
+    final QueryPaymentPool queryPaymentPool;
+
+    private final QueryResultCache queryResultCache = new QueryResultCache();
+
+    final QueryResultCache queryCoalescer = new QueryResultCache();
+
+    @Nullable
+    private volatile FeeEstimator feeEstimator = null;
+
+    // held while fetching the fee estimator, instead of the client, so that one thread fetches while the others wait
+    private final Object feeEstimatorLock = new Object();
     Network network;
     MirrorNetwork mirrorNetwork;
 
@@ -91,6 +106,11 @@ public final class Client implements AutoCloseable {
 
     private Logger logger = new Logger(LogLevel.SILENT);
 
+    @Nullable
+    private ReceiptPoller receiptPoller;
+
+    private boolean receiptPollingEnabled = false;
+
     /**
      * Constructor.
      *
@@ -108,6 +128,7 @@ public final class Client implements AutoCloseable {
             boolean shouldShutdownExecutor,
             @Nullable Duration networkUpdatePeriod) {
         this.executor = executor;
+        this.queryPaymentPool = new QueryPaymentPool(executor);
         this.network = network;
         this.mirrorNetwork = mirrorNetwork;
         this.shouldShutdownExecutor = shouldShutdownExecutor;
@@ -787,6 +808,7 @@ public final class Client implements AutoCloseable {
         }
 
         this.operator = new Operator(accountId, publicKey, transactionSigner);
+        queryPaymentPool.clear();
         return this;
     }
 
@@ -1189,6 +1211,154 @@ public final class Client implements AutoCloseable {
         return setDefaultMaxQueryPayment(maxQueryPayment);
     }
 
+    /**
+     * Extract the time a fetched query cost is reused for.
+     *
+     * @return the time to live of cached query costs; zero when they are not cached
+     */
+    public Duration getQueryCostCacheTtl() {
+        return queryCostCache.getTtl();
+    }
+
+    /**
+     * Set the time a fetched query cost is reused for.
+     * <p>
+     * When a query is executed without an explicit {@link Query#setQueryPayment(Hbar)} call, the client first requests
+     * its cost. With a non-zero time to live, that cost is reused for the queries of the same type and request size
+     * within that time, plus the margin set by {@link #setQueryCostMarginPercent(int)}, so that those queries take a
+     * single round trip. A cached cost which turns out to be too low is forgotten.
+     * <p>
+     * Set to zero, the default, to request the cost of every query.
+     *
+     * @param queryCostCacheTtl the time to live of cached query costs
+     * @return {@code this}
+     */
+    public Client setQueryCostCacheTtl(Duration queryCostCacheTtl) {
+        queryCostCache.setTtl(queryCostCacheTtl);
+        return this;
+    }
+
+    /**
+     * Extract the safety margin added to a cached query cost.
+     *
+     * @return the margin in percent
+     */
+    public int getQueryCostMarginPercent() {
+        return queryCostCache.getMarginPercent();
+    }
+
+    /**
+     * Set the safety margin added to a cached query cost, for queries whose response turns out larger than the one
+     * the cost was fetched for. The payment is never raised above the maximum query payment. Defaults to 10 percent.
+     *
+     * @param queryCostMarginPercent the margin in percent
+     * @return {@code this}
+     */
+    public Client setQueryCostMarginPercent(int queryCostMarginPercent) {
+        queryCostCache.setMarginPercent(queryCostMarginPercent);
+        return this;
+    }
+
+    /**
+     * Extract the number of query payments kept signed ahead of time per node and amount.
+     *
+     * @return the number of payments; zero when payments are signed on demand
+     */
+    public int getQueryPaymentPoolSize() {
+        return queryPaymentPool.getSize();
+    }
+
+    /**
+     * Set the number of query payments kept signed ahead of time per node and amount.
+     * <p>
+     * With a non-zero size, the payment transaction of a paid query is taken from a pool of payments signed by the
+     * operator in the background, so executing the query does no signing; a payment which isn't used within 60 seconds
+     * is discarded. Payments are only signed ahead for a node and amount which was paid again within those 60 seconds,
+     * so one-off amounts cost no extra signing. This pays off when signing is slow, like with ECDSA keys or remote
+     * signers, and when queries for the same amount are frequent, like with {@link Query#setQueryPayment(Hbar)} or
+     * {@link #setQueryCostCacheTtl(Duration)}.
+     * <p>
+     * Set to zero, the default, to sign every payment when it is needed.
+     *
+     * @param queryPaymentPoolSize the number of payments
+     * @return {@code this}
+     */
+    public Client setQueryPaymentPoolSize(int queryPaymentPoolSize) {
+        queryPaymentPool.setSize(queryPaymentPoolSize);
+        return this;
+    }
+
+    /**
+     * Extract the cache of query results shared by all queries executed with this client. The cache is disabled until
+     * {@link QueryResultCache#setMaxEntries(int)} is set.
+     *
+     * @return the query result cache
+     */
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    /**
+     * Extract the time the result of a balance, receipt or version info query is shared with identical queries.
+     *
+     * @return the coalescing window; null when those queries are not coalesced
+     */
+    @Nullable
+    public synchronized Duration getQueryCoalescingWindow() {
+        return queryCoalescer.isEnabled() ? queryCoalescer.getTtl() : null;
+    }
+
+    /**
+     * Set the time the result of an {@link AccountBalanceQuery}, {@link TransactionReceiptQuery} or
+     * {@link NetworkVersionInfoQuery} is shared with identical queries.
+     * <p>
+     * Identical queries executed concurrently with this client then share a single request and its result. With a
+     * window of zero, only queries executed while the result is being fetched share it; a longer window also hands
+     * the result to the identical queries executed that long after it arrived.
+     * <p>
+     * Set to null, the default, to send every query to the network.
+     *
+     * @param queryCoalescingWindow the coalescing window
+     * @return {@code this}
+     */
+    public synchronized Client setQueryCoalescingWindow(@Nullable Duration queryCoalescingWindow) {
+        if (queryCoalescingWindow == null) {
+            queryCoalescer.setMaxEntries(0);
+        } else {
+            queryCoalescer.setTtl(queryCoalescingWindow).setMaxEntries(QUERY_COALESCER_MAX_ENTRIES);
+        }
+
+        return this;
+    }
+
+    /**
+     * Extract a fee estimator with the fee schedule and exchange rate in effect.
+     * <p>
+     * The fee schedule and exchange rate system files are fetched on first use, and again once the schedules or
+     * rates they contain have all expired; in between, the estimator is served from memory. While the files are
+     * fetched, other threads needing the estimator wait for that fetch, but the rest of the client stays available.
+     *
+     * @return the fee estimator
+     * @throws TimeoutException        when fetching a system file times out
+     * @throws PrecheckStatusException when fetching a system file fails
+     */
+    public FeeEstimator getFeeEstimator() throws TimeoutException, PrecheckStatusException {
+        var estimator = feeEstimator;
+        if (estimator != null && Instant.now().isBefore(estimator.getExpirationTime())) {
+            return estimator;
+        }
+
+        synchronized (feeEstimatorLock) {
+            estimator = feeEstimator;
+            if (estimator == null || !Instant.now().isBefore(estimator.getExpirationTime())) {
+                estimator = FeeEstimator.fetch(this, estimator);
+                feeEstimator = estimator;
+            }
+
+            return estimator;
+        }
+    }
+
     /**
      * Should the transaction id be regenerated?
      *
@@ -1307,6 +1477,40 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Extract the receipt poller shared by all transactions executed with this client.
+     *
+     * @return the receipt poller
+     */
+    public synchronized ReceiptPoller getReceiptPoller() {
+        if (receiptPoller == null) {
+            receiptPoller = new ReceiptPoller(this);
+        }
+
+        return receiptPoller;
+    }
+
+    /**
+     * Is {@link TransactionResponse#getReceiptAsync(Client)} resolved through the shared {@link ReceiptPoller}.
+     *
+     * @return is receipt polling enabled
+     */
+    public synchronized boolean isReceiptPollingEnabled() {
+        return receiptPollingEnabled;
+    }
+
+    /**
+     * Enable or disable resolving {@link TransactionResponse#getReceiptAsync(Client)} through the shared
+     * {@link ReceiptPoller} instead of a dedicated {@link TransactionReceiptQuery} per transaction.
+     *
+     * @param receiptPollingEnabled the desired value
+     * @return {@code this}
+     */
+    public synchronized Client setReceiptPollingEnabled(boolean receiptPollingEnabled) {
+        this.receiptPollingEnabled = receiptPollingEnabled;
+        return this;
+    }
+
     public Logger getLogger() {
         return this.logger;
     }
@@ -1347,6 +1551,10 @@ public final class Client implements AutoCloseable {
         cancelScheduledNetworkUpdate();
         cancelAllSubscriptions();
 
+        if (receiptPoller != null) {
+            receiptPoller.close();
+        }
+
         network.beginClose();
         mirrorNetwork.beginClose();
 
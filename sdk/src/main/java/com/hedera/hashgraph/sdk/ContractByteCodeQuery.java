@@ -45,6 +45,11 @@ public final class ContractByteCodeQuery extends Query<ByteString, ContractByteC
         return this;
     }
 
+    @Override
+    boolean isResultCacheable() {
+        return true;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (contractId != null) {
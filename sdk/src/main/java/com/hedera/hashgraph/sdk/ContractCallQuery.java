@@ -197,6 +197,12 @@ public final class ContractCallQuery extends Query<ContractFunctionResult, Contr
         }
     }
 
+    @Override
+    long getCostShapeHint() {
+        // all of the gas offered is charged for
+        return gas;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = ContractCallLocalQuery.newBuilder();
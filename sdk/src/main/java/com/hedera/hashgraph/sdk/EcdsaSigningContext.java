@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.math.BigInteger;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECMultiplier;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.math.ec.FixedPointUtil;
+import org.bouncycastle.util.BigIntegers;
+
+/**
+ * Per-key state for creating secp256k1 signatures.
+ * <p>
+ * The key parameters are created once per key instead of on every signature. All multiplications of the generator go
+ * through a single fixed-base comb multiplier, whose precomputed table is created once for the generator of
+ * {@link Key#ECDSA_SECP256K1_DOMAIN} and shared by every key.
+ * <p>
+ * Instances are immutable and safe to use from many threads; the stateful nonce generator is created per signature,
+ * which is cheap next to the point multiplication.
+ */
+final class EcdsaSigningContext {
+    /**
+     * Fixed-base multiplier for the generator. The multiplier itself is stateless, its precomputation is stored on the
+     * generator point.
+     */
+    private static final ECMultiplier GENERATOR_MULTIPLIER = new FixedPointCombMultiplier();
+
+    static {
+        // build the comb table for the generator once, instead of on the first signature
+        FixedPointUtil.precompute(Key.ECDSA_SECP256K1_DOMAIN.getG());
+    }
+
+    private final ECPrivateKeyParameters privateParameters;
+
+    /**
+     * Constructor.
+     *
+     * @param d                         the private scalar of the key
+     */
+    EcdsaSigningContext(BigInteger d) {
+        this.privateParameters = new ECPrivateKeyParameters(d, Key.ECDSA_SECP256K1_DOMAIN);
+    }
+
+    /**
+     * Multiply the generator of secp256k1 by a scalar.
+     *
+     * @param k                         the scalar
+     * @return                          the normalized point {@code k * G}
+     */
+    static ECPoint multiplyGenerator(BigInteger k) {
+        return GENERATOR_MULTIPLIER
+                .multiply(Key.ECDSA_SECP256K1_DOMAIN.getG(), k)
+                .normalize();
+    }
+
+    /**
+     * Compute the public point of this key.
+     *
+     * @return                          the public point
+     */
+    ECPoint publicPoint() {
+        return multiplyGenerator(privateParameters.getD());
+    }
+
+    /**
+     * Create a deterministic (RFC 6979) signature of a message hash.
+     * <p>
+     * This is the signing algorithm of BouncyCastle's {@code ECDSASigner}, and creates the same signatures, but keeps
+     * the nonce point so that the recovery ID can be read from it instead of being found by trial key recovery.
+     *
+     * @param hash                      the 32 byte message hash
+     * @return                          the signature
+     */
+    RecoverableSignature sign(byte[] hash) {
+        var n = Key.ECDSA_SECP256K1_DOMAIN.getN();
+        var d = privateParameters.getD();
+        // the hash has as many bits as the order, so it is used as is
+        var e = new BigInteger(1, hash);
+
+        var kCalculator = new HMacDSAKCalculator(new SHA256Digest());
+        kCalculator.init(n, d, hash);
+
+        while (true) {
+            var k = kCalculator.nextK();
+            var point = multiplyGenerator(k);
+            var x = point.getAffineXCoord().toBigInteger();
+
+            var r = x.mod(n);
+            if (r.signum() == 0) {
+                continue;
+            }
+
+            var s = BigIntegers.modOddInverse(n, k).multiply(e.add(d.multiply(r))).mod(n);
+            if (s.signum() == 0) {
+                continue;
+            }
+
+            var recoveryId = (point.getAffineYCoord().testBitZero() ? 1 : 0) | (x.compareTo(n) >= 0 ? 2 : 0);
+
+            return new RecoverableSignature(
+                    BigIntegers.asUnsignedByteArray(32, r), BigIntegers.asUnsignedByteArray(32, s), recoveryId);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.esaulpaugh.headlong.rlp.RLPEncoder;
 import com.esaulpaugh.headlong.rlp.RLPItem;
 import com.esaulpaugh.headlong.util.Integers;
 import com.google.common.base.MoreObjects;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import org.bouncycastle.util.encoders.Hex;
@@ -140,6 +141,37 @@ public class EthereumTransactionDataEip1559 extends EthereumTransactionData {
                 rlpList.get(11).data());
     }
 
+    /**
+     * Sign the transaction data and assign the recovery ID and the R and S values of the signature.
+     *
+     * @param privateKey the ECDSA key of the sender
+     * @return {@code this}
+     */
+    public EthereumTransactionDataEip1559 sign(PrivateKey privateKey) {
+        if (!(privateKey instanceof PrivateKeyECDSA ecdsaKey)) {
+            throw new IllegalArgumentException("Ethereum transactions must be signed with an ECDSA key");
+        }
+
+        var signature = ecdsaKey.signRecoverable(RLPEncoder.sequence(
+                Integers.toBytes(0x02),
+                List.of(
+                        chainId,
+                        nonce,
+                        maxPriorityGas,
+                        maxGas,
+                        gasLimit,
+                        to,
+                        value,
+                        callData,
+                        new ArrayList<String>())));
+
+        recoveryId = Integers.toBytes(signature.getRecoveryId());
+        // RLP integers have no leading zero bytes
+        r = Integers.toBytesUnsigned(new BigInteger(1, signature.getR()));
+        s = Integers.toBytesUnsigned(new BigInteger(1, signature.getS()));
+        return this;
+    }
+
     public byte[] toBytes() {
         return RLPEncoder.sequence(
                 Integers.toBytes(0x02),
@@ -4,6 +4,7 @@ package com.hedera.hashgraph.sdk;
 import com.esaulpaugh.headlong.rlp.RLPDecoder;
 import com.esaulpaugh.headlong.rlp.RLPEncoder;
 import com.esaulpaugh.headlong.rlp.RLPItem;
+import com.esaulpaugh.headlong.util.Integers;
 import com.google.common.base.MoreObjects;
 import java.math.BigInteger;
 import java.util.List;
@@ -120,6 +121,48 @@ public class EthereumTransactionDataLegacy extends EthereumTransactionData {
                 rlpList.get(8).data());
     }
 
+    /**
+     * Sign the transaction data and assign the V, R and S values of the signature.
+     * <p>
+     * When {@link #chainId} is set the transaction is signed with replay protection as defined in <a
+     * href="https://github.com/ethereum/EIPs/blob/master/EIPS/eip-155.md">EIP-155</a>.
+     *
+     * @param privateKey                the ECDSA key of the sender
+     * @return {@code this}
+     */
+    public EthereumTransactionDataLegacy sign(PrivateKey privateKey) {
+        if (!(privateKey instanceof PrivateKeyECDSA ecdsaKey)) {
+            throw new IllegalArgumentException("Ethereum transactions must be signed with an ECDSA key");
+        }
+
+        var chainIdValue = new BigInteger(1, chainId);
+        var hasChainId = chainIdValue.signum() > 0;
+        var payload = hasChainId
+                ? RLPEncoder.list(
+                        nonce,
+                        gasPrice,
+                        gasLimit,
+                        to,
+                        value,
+                        callData,
+                        Integers.toBytesUnsigned(chainIdValue),
+                        new byte[0],
+                        new byte[0])
+                : RLPEncoder.list(nonce, gasPrice, gasLimit, to, value, callData);
+
+        var signature = ecdsaKey.signRecoverable(payload);
+        var vBase = hasChainId
+                ? chainIdValue.shiftLeft(1).add(BigInteger.valueOf(35))
+                : BigInteger.valueOf(27);
+
+        v = Integers.toBytesUnsigned(vBase.add(BigInteger.valueOf(signature.getRecoveryId())));
+        recoveryId = signature.getRecoveryId();
+        // RLP integers have no leading zero bytes
+        r = Integers.toBytesUnsigned(new BigInteger(1, signature.getR()));
+        s = Integers.toBytesUnsigned(new BigInteger(1, signature.getS()));
+        return this;
+    }
+
     public byte[] toBytes() {
         return RLPEncoder.list(nonce, gasPrice, gasLimit, to, value, callData, v, r, s);
     }
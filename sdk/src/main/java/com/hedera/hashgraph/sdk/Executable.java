@@ -84,28 +84,18 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
     protected Duration grpcDeadline;
 
     protected Logger logger;
-    private java.util.function.Function<ProtoRequestT, ProtoRequestT> requestListener;
+    // when not set, the request is logged; not a default lambda, which would capture the logger of this instance
+    @Nullable
+    private java.util.function.Function<ProtoRequestT, ProtoRequestT> requestListener = null;
     // Lambda responsible for executing synchronous gRPC requests. Pluggable for unit testing.
     @VisibleForTesting
     Function<GrpcRequest, ResponseT> blockingUnaryCall =
             (grpcRequest) -> ClientCalls.blockingUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest());
 
-    private java.util.function.Function<ResponseT, ResponseT> responseListener;
+    @Nullable
+    private java.util.function.Function<ResponseT, ResponseT> responseListener = null;
 
-    Executable() {
-        requestListener = request -> {
-            if (logger.isEnabledForLevel(LogLevel.TRACE)) {
-                logger.trace("Sent protobuf {}", Hex.toHexString(request.toByteArray()));
-            }
-            return request;
-        };
-        responseListener = response -> {
-            if (logger.isEnabledForLevel(LogLevel.TRACE)) {
-                logger.trace("Received protobuf {}", Hex.toHexString(response.toByteArray()));
-            }
-            return response;
-        };
-    }
+    Executable() {}
 
     /**
      * When execution is attempted, a single attempt will time out when this deadline is reached. (The SDK may
@@ -916,11 +906,20 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
         public ClientCall<ProtoRequestT, ResponseT> createCall() {
             verboseLog(node);
-            return this.node.getChannel().newCall(Executable.this.getMethodDescriptor(), getCallOptions());
+            return this.node
+                    .getChannel()
+                    .newCall(AliasingResponseMarshaller.wrap(Executable.this.getMethodDescriptor()), getCallOptions());
         }
 
         public ProtoRequestT getRequest() {
-            return Executable.this.requestListener.apply(request);
+            if (requestListener != null) {
+                return requestListener.apply(request);
+            }
+
+            if (logger.isEnabledForLevel(LogLevel.TRACE)) {
+                logger.trace("Sent protobuf {}", Hex.toHexString(request.toByteArray()));
+            }
+            return request;
         }
 
         public long getDelay() {
@@ -970,7 +969,13 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         void handleResponse(ResponseT response, Status status, ExecutionState executionState) {
             node.decreaseBackoff();
 
-            this.response = Executable.this.responseListener.apply(response);
+            if (responseListener != null) {
+                response = responseListener.apply(response);
+            } else if (logger.isEnabledForLevel(LogLevel.TRACE)) {
+                logger.trace("Received protobuf {}", Hex.toHexString(response.toByteArray()));
+            }
+
+            this.response = response;
             this.responseStatus = status;
 
             logger.trace(
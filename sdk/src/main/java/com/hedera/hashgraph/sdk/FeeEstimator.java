@@ -0,0 +1,485 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.Query.QueryCase;
+import com.hedera.hashgraph.sdk.proto.QueryHeader;
+import com.hedera.hashgraph.sdk.proto.TransactionBody.DataCase;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
+
+/**
+ * Estimates the fees of transactions and queries offline, from a fee schedule and an exchange rate.
+ * <p>
+ * The network prices a request by multiplying the resources it uses with the fee components of its
+ * {@link RequestType}. The estimate accounts for the resources known before submission: the size of the request,
+ * including its signatures, and the number of signatures to verify. Resources which depend on the state of the
+ * network, like the storage used by a transaction or the size of a query response, are not accounted for, so
+ * the estimate is a lower bound for requests which use them.
+ * <p>
+ * The fee schedule and exchange rates are published in the system files {@link FileId#FEE_SCHEDULE} and
+ * {@link FileId#EXCHANGE_RATES}; {@link Client#getFeeEstimator()} keeps an estimator built from them up to date.
+ */
+public final class FeeEstimator {
+    /**
+     * Fee components are priced in thousandths of a tinycent.
+     */
+    private static final long FEE_DIVISOR_FACTOR = 1000;
+
+    /**
+     * The size of a signature pair in a signature map, for an ECDSA key with its full compressed public key as the
+     * prefix; an Ed25519 signature pair is slightly smaller.
+     */
+    static final int SIGNATURE_PAIR_SIZE = 103;
+
+    private static final Map<DataCase, RequestType> TRANSACTION_REQUEST_TYPES = new EnumMap<>(DataCase.class);
+
+    private static final Map<QueryCase, RequestType> QUERY_REQUEST_TYPES = new EnumMap<>(QueryCase.class);
+
+    static {
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CONTRACTCALL, RequestType.CONTRACT_CALL);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CONTRACTCREATEINSTANCE, RequestType.CONTRACT_CREATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CONTRACTUPDATEINSTANCE, RequestType.CONTRACT_UPDATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CONTRACTDELETEINSTANCE, RequestType.CONTRACT_DELETE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.ETHEREUMTRANSACTION, RequestType.ETHEREUM_TRANSACTION);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CRYPTOCREATEACCOUNT, RequestType.CRYPTO_CREATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CRYPTOUPDATEACCOUNT, RequestType.CRYPTO_UPDATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CRYPTODELETE, RequestType.CRYPTO_DELETE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CRYPTOTRANSFER, RequestType.CRYPTO_TRANSFER);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CRYPTOAPPROVEALLOWANCE, RequestType.CRYPTO_APPROVE_ALLOWANCE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CRYPTODELETEALLOWANCE, RequestType.CRYPTO_DELETE_ALLOWANCE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.FILECREATE, RequestType.FILE_CREATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.FILEAPPEND, RequestType.FILE_APPEND);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.FILEUPDATE, RequestType.FILE_UPDATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.FILEDELETE, RequestType.FILE_DELETE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.SYSTEMDELETE, RequestType.SYSTEM_DELETE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.SYSTEMUNDELETE, RequestType.SYSTEM_UNDELETE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.FREEZE, RequestType.FREEZE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CONSENSUSCREATETOPIC, RequestType.CONSENSUS_CREATE_TOPIC);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CONSENSUSUPDATETOPIC, RequestType.CONSENSUS_UPDATE_TOPIC);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CONSENSUSDELETETOPIC, RequestType.CONSENSUS_DELETE_TOPIC);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.CONSENSUSSUBMITMESSAGE, RequestType.CONSENSUS_SUBMIT_MESSAGE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.UNCHECKEDSUBMIT, RequestType.UNCHECKED_SUBMIT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENCREATION, RequestType.TOKEN_CREATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENFREEZE, RequestType.TOKEN_FREEZE_ACCOUNT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENUNFREEZE, RequestType.TOKEN_UNFREEZE_ACCOUNT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENGRANTKYC, RequestType.TOKEN_GRANT_KYC_TO_ACCOUNT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENREVOKEKYC, RequestType.TOKEN_REVOKE_KYC_FROM_ACCOUNT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENDELETION, RequestType.TOKEN_DELETE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENUPDATE, RequestType.TOKEN_UPDATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENMINT, RequestType.TOKEN_MINT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENBURN, RequestType.TOKEN_BURN);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENWIPE, RequestType.TOKEN_ACCOUNT_WIPE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENASSOCIATE, RequestType.TOKEN_ASSOCIATE_TO_ACCOUNT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENDISSOCIATE, RequestType.TOKEN_DISSOCIATE_FROM_ACCOUNT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKEN_FEE_SCHEDULE_UPDATE, RequestType.TOKEN_FEE_SCHEDULE_UPDATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKEN_PAUSE, RequestType.TOKEN_PAUSE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKEN_UNPAUSE, RequestType.TOKEN_UNPAUSE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKEN_UPDATE_NFTS, RequestType.TOKEN_UPDATE_NFTS);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENREJECT, RequestType.TOKEN_REJECT);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENAIRDROP, RequestType.TOKEN_AIRDROP);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENCANCELAIRDROP, RequestType.TOKEN_CANCEL_AIRDROP);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.TOKENCLAIMAIRDROP, RequestType.TOKEN_CLAIM_AIRDROP);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.SCHEDULECREATE, RequestType.SCHEDULE_CREATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.SCHEDULEDELETE, RequestType.SCHEDULE_DELETE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.SCHEDULESIGN, RequestType.SCHEDULE_SIGN);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.NODE_STAKE_UPDATE, RequestType.NODE_STAKE_UPDATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.UTIL_PRNG, RequestType.PRNG);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.NODECREATE, RequestType.NODE_CREATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.NODEUPDATE, RequestType.NODE_UPDATE);
+        TRANSACTION_REQUEST_TYPES.put(DataCase.NODEDELETE, RequestType.NODE_DELETE);
+
+        QUERY_REQUEST_TYPES.put(QueryCase.GETBYKEY, RequestType.GET_BY_KEY);
+        QUERY_REQUEST_TYPES.put(QueryCase.GETBYSOLIDITYID, RequestType.GET_BY_SOLIDITY_ID);
+        QUERY_REQUEST_TYPES.put(QueryCase.CONTRACTCALLLOCAL, RequestType.CONTRACT_CALL_LOCAL);
+        QUERY_REQUEST_TYPES.put(QueryCase.CONTRACTGETINFO, RequestType.CONTRACT_GET_INFO);
+        QUERY_REQUEST_TYPES.put(QueryCase.CONTRACTGETBYTECODE, RequestType.CONTRACT_GET_BYTECODE);
+        QUERY_REQUEST_TYPES.put(QueryCase.CRYPTOGETACCOUNTBALANCE, RequestType.CRYPTO_GET_ACCOUNT_BALANCE);
+        QUERY_REQUEST_TYPES.put(QueryCase.CRYPTOGETACCOUNTRECORDS, RequestType.CRYPTO_GET_ACCOUNT_RECORDS);
+        QUERY_REQUEST_TYPES.put(QueryCase.CRYPTOGETINFO, RequestType.CRYPTO_GET_INFO);
+        QUERY_REQUEST_TYPES.put(QueryCase.FILEGETCONTENTS, RequestType.FILE_GET_CONTENTS);
+        QUERY_REQUEST_TYPES.put(QueryCase.FILEGETINFO, RequestType.FILE_GET_INFO);
+        QUERY_REQUEST_TYPES.put(QueryCase.TRANSACTIONGETRECEIPT, RequestType.TRANSACTION_GET_RECEIPT);
+        QUERY_REQUEST_TYPES.put(QueryCase.TRANSACTIONGETRECORD, RequestType.TRANSACTION_GET_RECORD);
+        QUERY_REQUEST_TYPES.put(QueryCase.TRANSACTIONGETFASTRECORD, RequestType.TRANSACTION_GET_FAST_RECORD);
+        QUERY_REQUEST_TYPES.put(QueryCase.CONSENSUSGETTOPICINFO, RequestType.CONSENSUS_GET_TOPIC_INFO);
+        QUERY_REQUEST_TYPES.put(QueryCase.NETWORKGETVERSIONINFO, RequestType.GET_VERSION_INFO);
+        QUERY_REQUEST_TYPES.put(QueryCase.TOKENGETINFO, RequestType.TOKEN_GET_INFO);
+        QUERY_REQUEST_TYPES.put(QueryCase.SCHEDULEGETINFO, RequestType.SCHEDULE_GET_INFO);
+        QUERY_REQUEST_TYPES.put(QueryCase.TOKENGETNFTINFO, RequestType.TOKEN_GET_NFT_INFO);
+        QUERY_REQUEST_TYPES.put(QueryCase.ACCOUNTDETAILS, RequestType.GET_ACCOUNT_DETAILS);
+    }
+
+    private final Map<RequestType, TransactionFeeSchedule> transactionFeeSchedules = new EnumMap<>(RequestType.class);
+
+    private final ExchangeRate exchangeRate;
+
+    private final Instant expirationTime;
+
+    // the system files this estimator was selected from, if any
+    @Nullable
+    private final FeeSchedules feeSchedules;
+
+    @Nullable
+    private final ExchangeRates exchangeRates;
+
+    /**
+     * Constructor.
+     *
+     * @param feeSchedule               the fee schedule
+     * @param exchangeRate              the exchange rate
+     */
+    public FeeEstimator(FeeSchedule feeSchedule, ExchangeRate exchangeRate) {
+        this(feeSchedule, exchangeRate, null, null);
+    }
+
+    private FeeEstimator(
+            FeeSchedule feeSchedule,
+            ExchangeRate exchangeRate,
+            @Nullable FeeSchedules feeSchedules,
+            @Nullable ExchangeRates exchangeRates) {
+        for (var transactionFeeSchedule : feeSchedule.getTransactionFeeSchedules()) {
+            transactionFeeSchedules.put(transactionFeeSchedule.getRequestType(), transactionFeeSchedule);
+        }
+
+        this.exchangeRate = Objects.requireNonNull(exchangeRate);
+        this.feeSchedules = feeSchedules;
+        this.exchangeRates = exchangeRates;
+
+        var scheduleExpirationTime = feeSchedule.getExpirationTime();
+        this.expirationTime =
+                scheduleExpirationTime != null && scheduleExpirationTime.isBefore(exchangeRate.expirationTime)
+                        ? scheduleExpirationTime
+                        : exchangeRate.expirationTime;
+    }
+
+    /**
+     * Create a fee estimator from the contents of the fee schedule and exchange rate system files, with the fee
+     * schedule and exchange rate in effect now.
+     *
+     * @param feeSchedules              the fee schedules
+     * @param exchangeRates             the exchange rates
+     * @return                          the fee estimator
+     */
+    public static FeeEstimator fromFiles(FeeSchedules feeSchedules, ExchangeRates exchangeRates) {
+        return fromFiles(feeSchedules, exchangeRates, Instant.now());
+    }
+
+    /**
+     * Create a fee estimator from the contents of the fee schedule and exchange rate system files, with the fee
+     * schedule and exchange rate in effect at the given time.
+     *
+     * @param feeSchedules              the fee schedules
+     * @param exchangeRates             the exchange rates
+     * @param now                       the time
+     * @return                          the fee estimator
+     */
+    static FeeEstimator fromFiles(FeeSchedules feeSchedules, ExchangeRates exchangeRates, Instant now) {
+        var current = feeSchedules.getCurrent();
+        var next = feeSchedules.getNext();
+
+        FeeSchedule feeSchedule;
+        if (current == null) {
+            feeSchedule = Objects.requireNonNull(next, "feeSchedules must contain a fee schedule");
+        } else if (next != null && current.getExpirationTime() != null && !now.isBefore(current.getExpirationTime())) {
+            feeSchedule = next;
+        } else {
+            feeSchedule = current;
+        }
+
+        var exchangeRate = now.isBefore(exchangeRates.currentRate.expirationTime)
+                ? exchangeRates.currentRate
+                : exchangeRates.nextRate;
+
+        return new FeeEstimator(feeSchedule, exchangeRate, feeSchedules, exchangeRates);
+    }
+
+    /**
+     * Fetch the fee schedule and exchange rate system files, and create a fee estimator from them.
+     * <p>
+     * Files of the previous estimator which are still in effect are not fetched again.
+     *
+     * @param client                    the client
+     * @param previous                  the previous estimator
+     * @return                          the fee estimator
+     * @throws TimeoutException         when a file query times out
+     * @throws PrecheckStatusException  when a file query fails
+     */
+    static FeeEstimator fetch(Client client, @Nullable FeeEstimator previous)
+            throws TimeoutException, PrecheckStatusException {
+        var now = Instant.now();
+
+        var feeSchedules = previous != null ? previous.feeSchedules : null;
+        if (feeSchedules == null || !now.isBefore(lastExpirationTime(feeSchedules))) {
+            try {
+                feeSchedules = FeeSchedules.fromBytes(fetchFile(client, FileId.FEE_SCHEDULE));
+            } catch (InvalidProtocolBufferException e) {
+                throw new IllegalStateException("the fee schedule file could not be parsed", e);
+            }
+        }
+
+        var exchangeRates = previous != null ? previous.exchangeRates : null;
+        if (exchangeRates == null || !now.isBefore(exchangeRates.nextRate.expirationTime)) {
+            try {
+                exchangeRates = ExchangeRates.fromBytes(fetchFile(client, FileId.EXCHANGE_RATES));
+            } catch (InvalidProtocolBufferException e) {
+                throw new IllegalStateException("the exchange rate file could not be parsed", e);
+            }
+        }
+
+        return fromFiles(feeSchedules, exchangeRates, now);
+    }
+
+    private static byte[] fetchFile(Client client, FileId fileId) throws TimeoutException, PrecheckStatusException {
+        return new FileContentsQuery().setFileId(fileId).execute(client).toByteArray();
+    }
+
+    private static Instant lastExpirationTime(FeeSchedules feeSchedules) {
+        var schedule =
+                MoreObjects.firstNonNull(feeSchedules.getNext(), Objects.requireNonNull(feeSchedules.getCurrent()));
+        return MoreObjects.firstNonNull(schedule.getExpirationTime(), Instant.MAX);
+    }
+
+    /**
+     * Extract the time after which the fee schedule or the exchange rate of this estimator are no longer in effect.
+     *
+     * @return                          the expiration time
+     */
+    public Instant getExpirationTime() {
+        return expirationTime;
+    }
+
+    /**
+     * Extract the exchange rate.
+     *
+     * @return                          the exchange rate
+     */
+    public ExchangeRate getExchangeRate() {
+        return exchangeRate;
+    }
+
+    /**
+     * Estimate the fee of a transaction, for the signatures it has or is set to get, and at least the signature of
+     * the payer.
+     * <p>
+     * A transaction which is split into chunks, like a large {@link FileAppendTransaction} or
+     * {@link TopicMessageSubmitTransaction}, is submitted as one transaction per chunk, so its fee is the sum of the
+     * fees of its chunks.
+     *
+     * @param transaction               the transaction, which doesn't have to be frozen
+     * @return                          the estimated fee
+     */
+    public Hbar estimateFee(Transaction<?> transaction) {
+        return estimateFee(transaction, Math.max(transaction.publicKeys.size(), 1));
+    }
+
+    /**
+     * Estimate the fee of a transaction, summed over its chunks.
+     *
+     * @param transaction               the transaction, which doesn't have to be frozen
+     * @param signatureCount            the number of signatures the transaction will have when it is submitted
+     * @return                          the estimated fee
+     */
+    public Hbar estimateFee(Transaction<?> transaction, int signatureCount) {
+        return estimateFee(transaction, signatureCount, FeeDataType.DEFAULT);
+    }
+
+    /**
+     * Estimate the fee of a transaction of a subtype which is priced separately, like a mint of non-fungible tokens,
+     * summed over its chunks.
+     *
+     * @param transaction               the transaction, which doesn't have to be frozen
+     * @param signatureCount            the number of signatures the transaction will have when it is submitted
+     * @param type                      the subtype of the transaction
+     * @return                          the estimated fee
+     */
+    public Hbar estimateFee(Transaction<?> transaction, int signatureCount, FeeDataType type) {
+        if (signatureCount < 1) {
+            throw new IllegalArgumentException("a transaction has at least the signature of its payer");
+        }
+
+        DataCase dataCase;
+        var bodySizes = new ArrayList<Integer>();
+
+        if (transaction.isFrozen()) {
+            dataCase = transaction.frozenBodyBuilder.getDataCase();
+
+            // there is a body per chunk and node, ordered by chunk
+            var nodeCount = Math.max(transaction.nodeAccountIds.size(), 1);
+            for (var i = 0; i < transaction.innerSignedTransactions.size(); i += nodeCount) {
+                bodySizes.add(transaction.innerSignedTransactions.get(i).getBodyBytes().size());
+            }
+        } else {
+            // bodies of the size the transaction will have when it is frozen
+            var transactionId = transaction.getTransactionId();
+            if (transactionId == null) {
+                transactionId = TransactionId.withValidStart(new AccountId(0, 0, 1_000_000), Instant.now());
+            }
+
+            var chunkCount = transaction.getRequiredChunks();
+            dataCase = DataCase.DATA_NOT_SET;
+
+            for (var chunk = 0; chunk < chunkCount; chunk++) {
+                var body = transaction.spawnBodyBuilder(null);
+                transaction.onFreeze(body);
+                if (transaction instanceof ChunkedTransaction<?> chunkedTransaction) {
+                    chunkedTransaction.buildChunk(body, transactionId.toProtobuf(), chunk, chunkCount);
+                }
+
+                body.setTransactionID(transactionId.toProtobuf())
+                        .setNodeAccountID(new AccountId(0, 0, 3).toProtobuf());
+                dataCase = body.getDataCase();
+                bodySizes.add(body.build().getSerializedSize());
+            }
+        }
+
+        var requestType = TRANSACTION_REQUEST_TYPES.get(dataCase);
+        if (requestType == null) {
+            throw new IllegalArgumentException("no fee schedule is known for transactions of type " + dataCase);
+        }
+
+        var tinybars = 0L;
+        for (var bodySize : bodySizes) {
+            tinybars += estimateChunk(requestType, type, bodySize, signatureCount).toTinybars();
+        }
+
+        return Hbar.fromTinybars(tinybars);
+    }
+
+    /**
+     * Estimate the fee of a single transaction, or a single chunk of a chunked transaction.
+     */
+    private Hbar estimateChunk(RequestType requestType, FeeDataType type, int bodySize, int signatureCount) {
+        var bytes = bodySize + (long) signatureCount * SIGNATURE_PAIR_SIZE;
+
+        // the node verifies the signature of the payer, the network all signatures
+        var nodeUsage = new FeeComponents()
+                .setConstant(1)
+                .setTransactionBandwidthByte(bytes)
+                .setTransactionVerification(1);
+        var networkUsage = new FeeComponents()
+                .setConstant(1)
+                .setTransactionBandwidthByte(bytes)
+                .setTransactionVerification(signatureCount);
+        var serviceUsage = new FeeComponents().setConstant(1);
+
+        return estimate(requestType, type, nodeUsage, networkUsage, serviceUsage);
+    }
+
+    /**
+     * Estimate the cost of a query, without the cost of its response.
+     *
+     * @param query                     the query
+     * @return                          the estimated cost
+     */
+    public Hbar estimateCost(Query<?, ?> query) {
+        var request = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
+        query.onMakeRequest(request, QueryHeader.getDefaultInstance());
+
+        var requestType = QUERY_REQUEST_TYPES.get(request.getQueryCase());
+        if (requestType == null) {
+            throw new IllegalArgumentException(
+                    "no fee schedule is known for queries of type " + request.getQueryCase());
+        }
+
+        // queries are only priced by the node answering them
+        var nodeUsage = new FeeComponents()
+                .setConstant(1)
+                .setTransactionBandwidthByte(request.build().getSerializedSize());
+
+        return estimate(requestType, FeeDataType.DEFAULT, nodeUsage, new FeeComponents(), new FeeComponents());
+    }
+
+    /**
+     * Price the usage of a request.
+     *
+     * @param requestType               the type of the request
+     * @param type                      the subtype of the request
+     * @param nodeUsage                 the resources used by the node receiving the request
+     * @param networkUsage              the resources used by the network to reach consensus on the request
+     * @param serviceUsage              the resources used by the service processing the request
+     * @return                          the fee
+     */
+    Hbar estimate(
+            RequestType requestType,
+            FeeDataType type,
+            FeeComponents nodeUsage,
+            FeeComponents networkUsage,
+            FeeComponents serviceUsage) {
+        var prices = prices(requestType, type);
+
+        var tinycents = componentFee(prices.getNodeData(), nodeUsage)
+                + componentFee(prices.getNetworkData(), networkUsage)
+                + componentFee(prices.getServiceData(), serviceUsage);
+
+        // rounded up, so the fee is enough for the network
+        var tinybars = (Math.multiplyExact(tinycents, (long) exchangeRate.hbars) + exchangeRate.cents - 1)
+                / exchangeRate.cents;
+
+        return Hbar.fromTinybars(tinybars);
+    }
+
+    private FeeData prices(RequestType requestType, FeeDataType type) {
+        var transactionFeeSchedule = transactionFeeSchedules.get(requestType);
+        if (transactionFeeSchedule == null) {
+            throw new IllegalArgumentException("the fee schedule has no fees for " + requestType);
+        }
+
+        FeeData defaultPrices = null;
+        for (var fee : transactionFeeSchedule.getFees()) {
+            if (fee.getType() == type) {
+                return fee;
+            } else if (fee.getType() == FeeDataType.DEFAULT) {
+                defaultPrices = fee;
+            }
+        }
+
+        if (defaultPrices == null) {
+            // fee schedules from before subtypes have a single price
+            @SuppressWarnings("deprecation")
+            var feeData = transactionFeeSchedule.getFeeData();
+            defaultPrices = feeData;
+        }
+
+        if (defaultPrices == null) {
+            throw new IllegalArgumentException("the fee schedule has no fees for " + requestType);
+        }
+
+        return defaultPrices;
+    }
+
+    private static long componentFee(@Nullable FeeComponents prices, FeeComponents usage) {
+        if (prices == null) {
+            return 0;
+        }
+
+        var fee = prices.getConstant() * usage.getConstant()
+                + prices.getTransactionBandwidthByte() * usage.getTransactionBandwidthByte()
+                + prices.getTransactionVerification() * usage.getTransactionVerification()
+                + prices.getTransactionRamByteHour() * usage.getTransactionRamByteHour()
+                + prices.getTransactionStorageByteHour() * usage.getTransactionStorageByteHour()
+                + prices.getContractTransactionGas() * usage.getContractTransactionGas()
+                + prices.getTransferVolumeHbar() * usage.getTransferVolumeHbar()
+                + prices.getResponseMemoryByte() * usage.getResponseMemoryByte()
+                + prices.getResponseDiskByte() * usage.getResponseDiskByte();
+
+        fee = Math.max(Math.min(fee, prices.getMax()), prices.getMin());
+
+        // any non-zero fee costs at least a tinycent
+        return Math.max(fee > 0 ? 1 : 0, fee / FEE_DIVISOR_FACTOR);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("exchangeRate", exchangeRate)
+                .add("expirationTime", expirationTime)
+                .toString();
+    }
+}
@@ -62,6 +62,11 @@ public final class FileContentsQuery extends Query<ByteString, FileContentsQuery
         return super.getCostAsync(client).thenApply((cost) -> Hbar.fromTinybars(Math.max(cost.toTinybars(), 25)));
     }
 
+    @Override
+    boolean isResultCacheable() {
+        return true;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (fileId != null) {
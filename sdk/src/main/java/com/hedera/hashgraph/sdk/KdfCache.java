@@ -0,0 +1,132 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.bouncycastle.crypto.params.KeyParameter;
+
+/**
+ * Bounded in-process cache of the keys derived from the passphrases of unlocked keystores.
+ * <p>
+ * Entries are looked up by the identity of a keystore: its KDF parameters, IV, ciphertext and MAC, which are all
+ * stored in the keystore in the clear. Nothing is derived from the passphrase but the key itself, so the cache offers
+ * no faster way to test a passphrase than the key derivation. A cached key is only used once it passes the MAC of the
+ * keystore, and the passphrase is not derived again, so a cached keystore stays unlocked for the process.
+ * <p>
+ * The least recently used entry is evicted once the cache is full; the key of an evicted entry is zeroed, as are all
+ * keys when the cache is cleared.
+ */
+final class KdfCache {
+    private final int maxEntries;
+
+    private final LinkedHashMap<ByteBuffer, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries                the maximum number of derived keys to keep
+     */
+    KdfCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Create the identity of a keystore, from the parameters which are stored in it in the clear.
+     *
+     * @param salt                      the salt of the key derivation
+     * @param iterations                the iterations of the key derivation
+     * @param dkLenBytes                the key length in bytes
+     * @param iv                        the IV of the cipher, if the MAC covers it
+     * @param cipherText                the encrypted private key
+     * @param mac                       the MAC of the keystore
+     * @return                          the identity
+     */
+    static ByteBuffer keystoreId(
+            byte[] salt, int iterations, int dkLenBytes, @Nullable byte[] iv, byte[] cipherText, byte[] mac) {
+        var ivBytes = iv != null ? iv : new byte[0];
+        var id = ByteBuffer.allocate(24 + salt.length + ivBytes.length + cipherText.length + mac.length);
+
+        // the lengths make the encoding of the parameters unambiguous
+        id.putInt(salt.length)
+                .putInt(iterations)
+                .putInt(dkLenBytes)
+                .putInt(ivBytes.length)
+                .putInt(cipherText.length)
+                .putInt(mac.length)
+                .put(salt)
+                .put(ivBytes)
+                .put(cipherText)
+                .put(mac);
+
+        return id.flip();
+    }
+
+    /**
+     * Extract the key of a keystore which was unlocked before.
+     *
+     * @param keystoreId                the identity of the keystore
+     * @return                          a copy of the key; null if it isn't cached
+     */
+    @Nullable
+    KeyParameter get(ByteBuffer keystoreId) {
+        synchronized (entries) {
+            var cached = entries.get(keystoreId);
+
+            // copied, so zeroing the entry later doesn't affect the caller
+            return cached != null ? new KeyParameter(cached) : null;
+        }
+    }
+
+    /**
+     * Keep the key of a keystore which was unlocked with it.
+     *
+     * @param keystoreId                the identity of the keystore
+     * @param key                       the key, which passed the MAC of the keystore
+     */
+    void put(ByteBuffer keystoreId, KeyParameter key) {
+        synchronized (entries) {
+            var previous = entries.put(keystoreId, key.getKey().clone());
+            if (previous != null) {
+                // another thread unlocked the same keystore in the meantime
+                Arrays.fill(previous, (byte) 0);
+            }
+
+            var iterator = entries.entrySet().iterator();
+            while (entries.size() > maxEntries) {
+                Arrays.fill(iterator.next().getValue(), (byte) 0);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Extract the number of cached keys.
+     *
+     * @return                          the number of cached keys
+     */
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Zero and remove every cached key.
+     */
+    void clear() {
+        synchronized (entries) {
+            for (Map.Entry<ByteBuffer, byte[]> entry : entries.entrySet()) {
+                Arrays.fill(entry.getValue(), (byte) 0);
+            }
+
+            entries.clear();
+        }
+    }
+}
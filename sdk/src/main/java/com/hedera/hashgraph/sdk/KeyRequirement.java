@@ -0,0 +1,336 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.SignatureMap;
+import com.hedera.hashgraph.sdk.proto.SignaturePair;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * A compiled signing requirement which checks, without contacting the network, whether the signatures of a transaction
+ * satisfy a {@link Key}.
+ * <p>
+ * A {@link PublicKey} is satisfied by a valid signature of that key, and an {@link EvmAddress} by a valid signature of
+ * an ECDSA key with that address. A {@link KeyList} is satisfied when at least {@link KeyList#getThreshold()} of its
+ * keys are satisfied, or all of them when it has no threshold; an empty key list can never be satisfied. Contract IDs
+ * cannot be satisfied by signatures and are therefore always reported as missing.
+ * <p>
+ * The key structure is compiled once so that the same requirement can cheaply be checked against many transactions.
+ * Instances are immutable and may be shared between threads.
+ */
+public final class KeyRequirement {
+    /**
+     * Size of the smallest raw public key, an Ed25519 key.
+     */
+    private static final int MIN_KEY_SIZE = 32;
+
+    private final Node root;
+
+    // the distinct public keys of the requirement, by their raw bytes
+    private final HashMap<ByteString, Integer> leafIndexByKey = new HashMap<>();
+
+    // the distinct EVM addresses of the requirement
+    private final HashMap<EvmAddress, Integer> leafIndexByEvmAddress = new HashMap<>();
+
+    private final List<Key> leafKeys = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param key                       the required key
+     */
+    private KeyRequirement(Key key) {
+        this.root = compile(key);
+    }
+
+    /**
+     * Compile the signing requirement of a key.
+     *
+     * @param key                       the required key
+     * @return                          the compiled requirement
+     */
+    public static KeyRequirement of(Key key) {
+        return new KeyRequirement(Objects.requireNonNull(key));
+    }
+
+    private Node compile(@Nullable Key key) {
+        if (key instanceof KeyList keyList) {
+            var children = new Node[keyList.size()];
+            var i = 0;
+            for (var child : keyList) {
+                children[i++] = compile(child);
+            }
+
+            var threshold = keyList.getThreshold();
+            return new ThresholdNode(threshold != null ? threshold : children.length, children);
+        }
+
+        if (key instanceof PublicKey publicKey) {
+            var index = leafIndexByKey.computeIfAbsent(ByteString.copyFrom(publicKey.toBytesRaw()), k -> addLeaf(key));
+            return new LeafNode(index, key);
+        }
+
+        if (key instanceof EvmAddress evmAddress) {
+            var index = leafIndexByEvmAddress.computeIfAbsent(evmAddress, k -> addLeaf(key));
+            return new LeafNode(index, key);
+        }
+
+        // contract IDs and unset keys can't be satisfied by a signature
+        return new LeafNode(-1, key);
+    }
+
+    private int addLeaf(Key key) {
+        leafKeys.add(key);
+        return leafKeys.size() - 1;
+    }
+
+    /**
+     * Check the signatures of a transaction against this requirement.
+     * <p>
+     * The requirement must be satisfied for every node and chunk of the transaction. Signatures of keys which are not
+     * part of the requirement are ignored. The transaction is not modified: only the signatures it already holds are
+     * checked, and signers added with {@link Transaction#sign(PrivateKey)} or
+     * {@link Transaction#signWith(PublicKey, java.util.function.UnaryOperator)} which have not been applied yet, as
+     * {@link Transaction#toBytes()} does, are not called and their keys count as missing.
+     *
+     * @param transaction               the transaction
+     * @return                          the result of the check
+     * @throws IllegalStateException when the transaction is not frozen
+     */
+    public Result check(Transaction<?> transaction) {
+        if (!transaction.isFrozen()) {
+            throw new IllegalStateException("transaction must be frozen to check its signatures");
+        }
+
+        var entryCount = transaction.innerSignedTransactions.size();
+        var batch = new SignatureBatch();
+        var verifications = new ArrayList<Verification>();
+
+        for (var i = 0; i < entryCount; i++) {
+            var bodyBytes = transaction.innerSignedTransactions.get(i).getBodyBytes();
+            collectVerifications(i, bodyBytes, transaction.sigPairLists.get(i).build(), batch, verifications);
+        }
+
+        var results = batch.verify();
+        var valid = new boolean[entryCount][leafKeys.size()];
+        var invalidKeys = new LinkedHashSet<Key>();
+
+        for (var i = 0; i < results.length; i++) {
+            if (results[i]) {
+                valid[verifications.get(i).entry][verifications.get(i).leaf] = true;
+            }
+        }
+
+        for (var verification : verifications) {
+            if (!valid[verification.entry][verification.leaf]) {
+                invalidKeys.add(leafKeys.get(verification.leaf));
+            }
+        }
+
+        var satisfied = entryCount > 0;
+        var missingKeys = new LinkedHashSet<Key>();
+
+        for (var i = 0; i < entryCount; i++) {
+            satisfied &= root.evaluate(valid[i], missingKeys);
+        }
+
+        return new Result(satisfied, missingKeys, invalidKeys);
+    }
+
+    private void collectVerifications(
+            int entry,
+            ByteString bodyBytes,
+            SignatureMap sigMap,
+            SignatureBatch batch,
+            List<Verification> verifications) {
+        var message = bodyBytes.toByteArray();
+
+        for (var sigPair : sigMap.getSigPairList()) {
+            var signature = signatureOf(sigPair);
+            if (signature == null) {
+                continue;
+            }
+
+            var prefix = sigPair.getPubKeyPrefix();
+            var index = leafIndexByKey.get(prefix);
+
+            if (index != null) {
+                batch.add(leafKey(index), message, signature);
+                verifications.add(new Verification(entry, index));
+            } else if (!prefix.isEmpty() && prefix.size() < MIN_KEY_SIZE) {
+                // the network also accepts unique prefixes of a key
+                for (var keyEntry : leafIndexByKey.entrySet()) {
+                    if (keyEntry.getKey().startsWith(prefix)) {
+                        batch.add(leafKey(keyEntry.getValue()), message, signature);
+                        verifications.add(new Verification(entry, keyEntry.getValue()));
+                    }
+                }
+            }
+
+            if (!leafIndexByEvmAddress.isEmpty()
+                    && sigPair.getSignatureCase() == SignaturePair.SignatureCase.ECDSA_SECP256K1) {
+                try {
+                    var publicKey = PublicKey.fromBytesECDSA(prefix.toByteArray());
+                    var leaf = leafIndexByEvmAddress.get(publicKey.toEvmAddress());
+                    if (leaf != null) {
+                        batch.add(publicKey, message, signature);
+                        verifications.add(new Verification(entry, leaf));
+                    }
+                } catch (RuntimeException e) {
+                    // the prefix is not a complete ECDSA key, so it can't be matched to an EVM address
+                }
+            }
+        }
+    }
+
+    private PublicKey leafKey(int index) {
+        return (PublicKey) leafKeys.get(index);
+    }
+
+    @Nullable
+    private static byte[] signatureOf(SignaturePair sigPair) {
+        return switch (sigPair.getSignatureCase()) {
+            case ED25519 -> sigPair.getEd25519().toByteArray();
+            case ECDSA_SECP256K1 -> sigPair.getECDSASecp256K1().toByteArray();
+            default -> null;
+        };
+    }
+
+    /**
+     * The result of checking the signatures of a transaction against a {@link KeyRequirement}.
+     */
+    public static final class Result {
+        private final boolean satisfied;
+
+        private final Set<Key> missingKeys;
+
+        private final Set<Key> invalidKeys;
+
+        private Result(boolean satisfied, Set<Key> missingKeys, Set<Key> invalidKeys) {
+            this.satisfied = satisfied;
+            this.missingKeys = Collections.unmodifiableSet(missingKeys);
+            this.invalidKeys = Collections.unmodifiableSet(invalidKeys);
+        }
+
+        /**
+         * Extract whether the signatures satisfy the requirement for every node and chunk of the transaction.
+         *
+         * @return                          whether the requirement is satisfied
+         */
+        public boolean isSatisfied() {
+            return satisfied;
+        }
+
+        /**
+         * Extract the keys which still need to sign for the requirement to be satisfied.
+         * <p>
+         * Only keys of the parts of the requirement which are not satisfied are reported; an unsigned key of a
+         * threshold key list whose threshold is already met isn't missing.
+         *
+         * @return                          the missing keys
+         */
+        public Set<Key> getMissingKeys() {
+            return missingKeys;
+        }
+
+        /**
+         * Extract the keys of the requirement for which the transaction has a signature which doesn't verify.
+         *
+         * @return                          the keys with an invalid signature
+         */
+        public Set<Key> getInvalidKeys() {
+            return invalidKeys;
+        }
+
+        @Override
+        public String toString() {
+            return "KeyRequirement.Result{satisfied=" + satisfied + ", missingKeys=" + missingKeys + ", invalidKeys="
+                    + invalidKeys + "}";
+        }
+    }
+
+    private static final class Verification {
+        final int entry;
+
+        final int leaf;
+
+        Verification(int entry, int leaf) {
+            this.entry = entry;
+            this.leaf = leaf;
+        }
+    }
+
+    private abstract static class Node {
+        /**
+         * Evaluate this node for one node and chunk of a transaction.
+         *
+         * @param valid                 which leaves have a valid signature
+         * @param missingKeys           the set to add the missing keys to, if this node is not satisfied
+         * @return                      whether this node is satisfied
+         */
+        abstract boolean evaluate(boolean[] valid, Set<Key> missingKeys);
+    }
+
+    private static final class LeafNode extends Node {
+        // -1 if the key can't be satisfied by a signature
+        final int index;
+
+        @Nullable
+        final Key key;
+
+        LeafNode(int index, @Nullable Key key) {
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        boolean evaluate(boolean[] valid, Set<Key> missingKeys) {
+            if (index >= 0 && valid[index]) {
+                return true;
+            }
+
+            if (key != null) {
+                missingKeys.add(key);
+            }
+
+            return false;
+        }
+    }
+
+    private static final class ThresholdNode extends Node {
+        final int threshold;
+
+        final Node[] children;
+
+        ThresholdNode(int threshold, Node[] children) {
+            this.threshold = threshold;
+            this.children = children;
+        }
+
+        @Override
+        boolean evaluate(boolean[] valid, Set<Key> missingKeys) {
+            var childMissingKeys = new LinkedHashSet<Key>();
+            var satisfiedCount = 0;
+
+            for (var child : children) {
+                if (child.evaluate(valid, childMissingKeys)) {
+                    satisfiedCount++;
+                }
+            }
+
+            if (threshold > 0 && satisfiedCount >= threshold) {
+                return true;
+            }
+
+            missingKeys.addAll(childMissingKeys);
+            return false;
+        }
+    }
+}
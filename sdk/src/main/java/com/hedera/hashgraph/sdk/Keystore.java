@@ -12,10 +12,13 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.util.encoders.Hex;
 
@@ -26,6 +29,10 @@ final class Keystore {
     private static final Gson gson = new Gson();
     private static final JsonParser jsonParser = new JsonParser();
 
+    // derived keys of unlocked keystores, only kept when enabled with `setKdfCacheSize()`
+    @Nullable
+    private static volatile KdfCache kdfCache = null;
+
     private byte[] keyBytes;
 
     private Keystore(byte[] keyBytes) {
@@ -54,6 +61,88 @@ final class Keystore {
         }
     }
 
+    /**
+     * Decrypt many keystores at once.
+     * <p>
+     * Every keystore costs a key derivation with hundreds of thousands of iterations; the keystores are decrypted in
+     * parallel so those run on all cores.
+     *
+     * @param streams                   the keystores to read
+     * @param passphrase                the passphrase of the keystores
+     * @return                          the keystores, in the order of the streams
+     * @throws IOException              if reading one of the streams fails
+     */
+    public static List<Keystore> fromStreams(List<? extends InputStream> streams, String passphrase)
+            throws IOException {
+        try {
+            return streams.parallelStream()
+                    .map(stream -> {
+                        try {
+                            return fromStream(stream, passphrase);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Keep the keys derived from the passphrases of decrypted keystores, so that unlocking the same keystore again
+     * skips the key derivation.
+     * <p>
+     * The cache is off by default. A cached keystore is unlocked without deriving its key from the passphrase again.
+     * Replacing or disabling the cache zeroes the keys it held.
+     *
+     * @param maxEntries                the maximum number of keys to keep, or 0 to disable the cache
+     */
+    static synchronized void setKdfCacheSize(int maxEntries) {
+        var previous = kdfCache;
+        kdfCache = maxEntries > 0 ? new KdfCache(maxEntries) : null;
+
+        if (previous != null) {
+            previous.clear();
+        }
+    }
+
+    /**
+     * Derive the key of a keystore from its passphrase, or take it from the cache if the keystore was unlocked before,
+     * and check it against the MAC of the keystore.
+     */
+    private static KeyParameter unlock(
+            String passphrase,
+            byte[] salt,
+            int iterations,
+            int dkLen,
+            @Nullable byte[] iv,
+            byte[] cipherBytes,
+            byte[] mac) {
+        var cache = kdfCache;
+        var keystoreId = cache != null ? KdfCache.keystoreId(salt, iterations, dkLen, iv, cipherBytes, mac) : null;
+
+        if (cache != null) {
+            var cachedKey = cache.get(keystoreId);
+            if (cachedKey != null && MessageDigest.isEqual(mac, Crypto.calcHmacSha384(cachedKey, iv, cipherBytes))) {
+                return cachedKey;
+            }
+        }
+
+        KeyParameter cipherKey = Crypto.deriveKeySha256(passphrase, salt, iterations, dkLen);
+
+        if (!MessageDigest.isEqual(mac, Crypto.calcHmacSha384(cipherKey, iv, cipherBytes))) {
+            throw new BadKeyException("HMAC mismatch; passphrase is incorrect");
+        }
+
+        if (cache != null) {
+            // only a key which unlocks the keystore is cached
+            cache.put(keystoreId, cipherKey);
+        }
+
+        return cipherKey;
+    }
+
     private static Keystore fromJson(JsonObject object, String passphrase) {
         int version = expectInt(object, "version");
 
@@ -98,13 +187,7 @@ final class Keystore {
         byte[] mac = Hex.decode(macString);
         byte[] salt = Hex.decode(saltStr);
 
-        KeyParameter cipherKey = Crypto.deriveKeySha256(passphrase, salt, count, dkLen);
-
-        byte[] testHmac = Crypto.calcHmacSha384(cipherKey, null, cipherBytes);
-
-        if (!MessageDigest.isEqual(mac, testHmac)) {
-            throw new BadKeyException("HMAC mismatch; passphrase is incorrect");
-        }
+        KeyParameter cipherKey = unlock(passphrase, salt, count, dkLen, null, cipherBytes, mac);
 
         return new Keystore(Crypto.decryptAesCtr128(cipherKey, iv, cipherBytes));
     }
@@ -139,13 +222,7 @@ final class Keystore {
         byte[] mac = Hex.decode(macString);
         byte[] salt = Hex.decode(saltStr);
 
-        KeyParameter cipherKey = Crypto.deriveKeySha256(passphrase, salt, count, dkLen);
-
-        byte[] testHmac = Crypto.calcHmacSha384(cipherKey, iv, cipherBytes);
-
-        if (!MessageDigest.isEqual(mac, testHmac)) {
-            throw new BadKeyException("HMAC mismatch; passphrase is incorrect");
-        }
+        KeyParameter cipherKey = unlock(passphrase, salt, count, dkLen, iv, cipherBytes, mac);
 
         return new Keystore(Crypto.decryptAesCtr128(cipherKey, iv, cipherBytes));
     }
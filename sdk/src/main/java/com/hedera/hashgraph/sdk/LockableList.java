@@ -60,6 +60,18 @@ class LockableList<T> implements Iterable<T> {
         return this;
     }
 
+    /**
+     * Create a copy with its own list, position and lock.
+     *
+     * @return                          the copy
+     */
+    LockableList<T> copy() {
+        var copy = new LockableList<>(new ArrayList<>(list));
+        copy.index = index;
+        copy.locked = locked;
+        return copy;
+    }
+
     /**
      * Extract the lockable list.
      *
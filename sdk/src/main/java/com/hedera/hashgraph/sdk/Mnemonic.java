@@ -17,7 +17,10 @@ import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -41,6 +44,18 @@ public final class Mnemonic {
     @Nullable
     private static SoftReference<List<String>> legacyWordList = null;
 
+    // word -> index lookups for the lists above, held the same way
+    @Nullable
+    private static SoftReference<Map<String, Integer>> bip39WordIndex = null;
+
+    @Nullable
+    private static SoftReference<Map<String, Integer>> legacyWordIndex = null;
+
+    /**
+     * Maximum number of derived keys kept by {@link #derivationCache}.
+     */
+    private static final int DERIVATION_CACHE_SIZE = 64;
+
     /**
      * The list of words in this mnemonic.
      */
@@ -49,6 +64,16 @@ public final class Mnemonic {
     @Nullable
     private String asString;
 
+    // keys derived from this mnemonic, by key type, passphrase and derivation path; the master keys (empty path) stand
+    // in for the seeds, so neither PBKDF2 nor the shared path prefixes are recomputed for every derived child
+    private final Map<DerivationPath, PrivateKey> derivationCache =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<DerivationPath, PrivateKey> eldest) {
+                    return size() > DERIVATION_CACHE_SIZE;
+                }
+            };
+
     @SuppressWarnings("StaticAssignmentInConstructor")
     private Mnemonic(List<? extends CharSequence> words) {
         this.words = Collections.unmodifiableList(words);
@@ -174,39 +199,56 @@ public final class Mnemonic {
     }
 
     private static int getWordIndex(CharSequence word, boolean isLegacy) {
-        var wordList = getWordList(isLegacy);
-        var found = -1;
+        var index = getWordIndexMap(isLegacy).get(word.toString());
+        return index != null ? index : -1;
+    }
+
+    private static Map<String, Integer> getWordIndexMap(boolean isLegacy) {
+        if (isLegacy) {
+            return getSoftlyCached(
+                    () -> legacyWordIndex,
+                    () -> indexWordList(getWordList(true)),
+                    (newWordIndex) -> legacyWordIndex = newWordIndex);
+        } else {
+            return getSoftlyCached(
+                    () -> bip39WordIndex,
+                    () -> indexWordList(getWordList(false)),
+                    (newWordIndex) -> bip39WordIndex = newWordIndex);
+        }
+    }
+
+    private static Map<String, Integer> indexWordList(List<String> wordList) {
+        var wordIndex = new HashMap<String, Integer>(wordList.size() * 2);
         for (var i = 0; i < wordList.size(); i++) {
-            if (word.toString().equals(wordList.get(i))) {
-                found = i;
-            }
+            // a word listed twice resolves to its last index, as the linear search this replaces did
+            wordIndex.put(wordList.get(i), i);
         }
-        return found;
+        return Collections.unmodifiableMap(wordIndex);
     }
 
     private static List<String> getWordList(boolean isLegacy) {
         if (isLegacy) {
-            return getSpecificWordList(
+            return getSoftlyCached(
                     () -> legacyWordList, () -> readWordList(true), (newWordList) -> legacyWordList = newWordList);
         } else {
-            return getSpecificWordList(
+            return getSoftlyCached(
                     () -> bip39WordList, () -> readWordList(false), (newWordList) -> bip39WordList = newWordList);
         }
     }
 
-    private static synchronized List<String> getSpecificWordList(
-            Supplier<SoftReference<List<String>>> getCurrentWordList,
-            Supplier<List<String>> getNewWordList,
-            Consumer<SoftReference<List<String>>> setCurrentWordList) {
-        var localWordList = getCurrentWordList.get();
-        if (localWordList == null || localWordList.get() == null) {
-            List<String> words = getNewWordList.get();
-            setCurrentWordList.accept(new SoftReference<>(words));
-            // immediately return the strong reference
-            return words;
+    private static synchronized <T> T getSoftlyCached(
+            Supplier<SoftReference<T>> getCurrentValue,
+            Supplier<T> getNewValue,
+            Consumer<SoftReference<T>> setCurrentValue) {
+        var localValue = getCurrentValue.get();
+        var value = localValue != null ? localValue.get() : null;
+        if (value == null) {
+            value = getNewValue.get();
+            setCurrentValue.accept(new SoftReference<>(value));
         }
 
-        return localWordList.get();
+        // return the strong reference, the referent may be cleared again as soon as we let go of it
+        return value;
     }
 
     private static List<String> readWordList(boolean isLegacy) {
@@ -520,16 +562,71 @@ public final class Mnemonic {
      * @return the private key
      */
     public PrivateKey toStandardEd25519PrivateKey(String passphrase, int index) {
-        var seed = this.toSeed(passphrase);
-        PrivateKey derivedKey = PrivateKey.fromSeedED25519(seed);
+        return derive(false, passphrase, new int[] {44, 3030, 0, 0}).derive(index);
+    }
 
-        for (int i : new int[] {44, 3030, 0, 0, index}) {
-            derivedKey = derivedKey.derive(i);
+    /**
+     * Recover a range of Ed25519 private keys from this mnemonic phrase, with an
+     * optional passphrase.
+     * <p>
+     * The seed and the keys of the shared derivation path are computed once, and the
+     * keys of the range are derived in parallel.
+     *
+     * @param passphrase    the passphrase used to protect the mnemonic
+     * @param fromIndex     the first derivation index, inclusive
+     * @param toIndex       the last derivation index, exclusive
+     * @return the private keys, in the order of their indices
+     * @see #toStandardEd25519PrivateKey(String, int)
+     */
+    public List<PrivateKey> toStandardEd25519PrivateKeys(String passphrase, int fromIndex, int toIndex) {
+        return derive(false, passphrase, new int[] {44, 3030, 0, 0}).deriveRange(fromIndex, toIndex);
+    }
+
+    /**
+     * Forget the keys which were derived from this mnemonic and kept to speed up
+     * further derivations.
+     */
+    public void clearDerivationCache() {
+        synchronized (derivationCache) {
+            derivationCache.clear();
         }
+    }
 
-        return derivedKey;
+    /**
+     * Derive the key at a path from the seed of this mnemonic, reusing the
+     * cached keys of the path and of its prefixes.
+     *
+     * @param isEcdsa       whether to derive secp256k1 (BIP-32) or Ed25519 (SLIP-10) keys
+     * @param passphrase    the passphrase used to protect the mnemonic
+     * @param path          the derivation path
+     * @return the private key
+     */
+    private PrivateKey derive(boolean isEcdsa, String passphrase, int[] path) {
+        var key = new DerivationPath(isEcdsa, passphrase, Arrays.stream(path).boxed().toList());
+
+        // derivations of the same mnemonic are serialized, which also keeps concurrent callers from repeating them
+        synchronized (derivationCache) {
+            var derivedKey = derivationCache.get(key);
+            if (derivedKey == null) {
+                if (path.length == 0) {
+                    var seed = toSeed(passphrase);
+                    derivedKey =
+                            isEcdsa ? PrivateKey.fromSeedECDSAsecp256k1(seed) : PrivateKey.fromSeedED25519(seed);
+                    Arrays.fill(seed, (byte) 0);
+                } else {
+                    derivedKey = derive(isEcdsa, passphrase, Arrays.copyOf(path, path.length - 1))
+                            .derive(path[path.length - 1]);
+                }
+
+                derivationCache.put(key, derivedKey);
+            }
+
+            return derivedKey;
+        }
     }
 
+    private record DerivationPath(boolean isEcdsa, String passphrase, List<Integer> path) {}
+
     /**
      * Converts a derivation path from string to an array of integers.
      * Note that this expects precisely 5 components in the derivation path,
@@ -592,13 +689,9 @@ public final class Mnemonic {
      * @return a private key
      */
     private PrivateKey toStandardECDSAsecp256k1PrivateKeyImpl(String passphrase, int[] derivationPathValues) {
-        var seed = this.toSeed(passphrase);
-        PrivateKey derivedKey = PrivateKey.fromSeedECDSAsecp256k1(seed);
-
-        for (int derivationPathValue : derivationPathValues) {
-            derivedKey = derivedKey.derive(derivationPathValue);
-        }
-        return derivedKey;
+        // only the parent is cached, caching every leaf would just evict it
+        var parentPath = Arrays.copyOf(derivationPathValues, derivationPathValues.length - 1);
+        return derive(true, passphrase, parentPath).derive(derivationPathValues[derivationPathValues.length - 1]);
     }
 
     /**
@@ -619,6 +712,28 @@ public final class Mnemonic {
         return toStandardECDSAsecp256k1PrivateKeyImpl(passphrase, derivationPathValues);
     }
 
+    /**
+     * Recover a range of ECDSAsecp256k1 private keys from this mnemonic phrase,
+     * with an optional passphrase.
+     * Uses the default derivation path of `m/44'/3030'/0'/0/${index}`.
+     * <p>
+     * The seed and the keys of the shared derivation path are computed once, and the
+     * keys of the range are derived in parallel.
+     *
+     * @param passphrase    the passphrase used to protect the mnemonic,
+     *                      use "" for none
+     * @param fromIndex     the first derivation index, inclusive
+     * @param toIndex       the last derivation index, exclusive
+     * @return the private keys, in the order of their indices
+     * @see #toStandardECDSAsecp256k1PrivateKey(String, int)
+     */
+    public List<PrivateKey> toStandardECDSAsecp256k1PrivateKeys(String passphrase, int fromIndex, int toIndex) {
+        final int[] parentPathValues = new int[] {
+            Bip32Utils.toHardenedIndex(44), Bip32Utils.toHardenedIndex(3030), Bip32Utils.toHardenedIndex(0), 0
+        };
+        return derive(true, passphrase, parentPathValues).deriveRange(fromIndex, toIndex);
+    }
+
     /**
      * Recover an ECDSAsecp256k1 private key from this mnemonic phrase and
      * derivation path, with an optional passphrase.
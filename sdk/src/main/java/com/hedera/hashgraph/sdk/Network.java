@@ -237,6 +237,25 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
         return new Node(entry.getValue(), entry.getKey(), executor).setVerifyCertificates(verifyCertificates);
     }
 
+    /**
+     * Extract the account IDs of the healthy nodes, each once.
+     *
+     * @return                          the node account IDs
+     */
+    synchronized List<AccountId> getHealthyNodeAccountIds() {
+        readmitNodes();
+
+        var nodeAccountIds = new ArrayList<AccountId>(healthyNodes.size());
+
+        for (var node : healthyNodes) {
+            if (!nodeAccountIds.contains(node.getAccountId())) {
+                nodeAccountIds.add(node.getAccountId());
+            }
+        }
+
+        return nodeAccountIds;
+    }
+
     /**
      * Pick 1/3 of the nodes sorted by health and expected delay from the network.
      * This is used by Query and Transaction for selecting node AccountId's.
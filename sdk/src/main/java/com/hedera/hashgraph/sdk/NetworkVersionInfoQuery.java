@@ -17,6 +17,11 @@ public class NetworkVersionInfoQuery extends Query<NetworkVersionInfo, NetworkVe
      */
     public NetworkVersionInfoQuery() {}
 
+    @Override
+    boolean isCoalescable() {
+        return true;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         queryBuilder.setNetworkGetVersionInfo(
@@ -1,8 +1,11 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
 import javax.annotation.Nullable;
 import javax.crypto.Cipher;
@@ -39,6 +42,7 @@ import org.bouncycastle.util.io.pem.PemWriter;
 final class Pem {
     private static final String TYPE_PRIVATE_KEY = "PRIVATE KEY";
     private static final String TYPE_ENCRYPTED_PRIVATE_KEY = "ENCRYPTED PRIVATE KEY";
+    private static final String TYPE_EC_PRIVATE_KEY = "EC PRIVATE KEY";
 
     /**
      * Constructor.
@@ -86,6 +90,29 @@ final class Pem {
         writer.flush();
     }
 
+    /**
+     * Encode an unencrypted private key as PEM.
+     * <p>
+     * Ed25519 keys are written as PKCS#8 {@code PRIVATE KEY}s and ECDSA keys as SEC1
+     * {@code EC PRIVATE KEY}s, matching what {@link PrivateKey#toBytesDER()} produces for each.
+     *
+     * @param privateKey                the private key
+     * @return                          the PEM bytes
+     */
+    static byte[] encodePrivateKey(PrivateKey privateKey) {
+        var type = privateKey.isECDSA() ? TYPE_EC_PRIVATE_KEY : TYPE_PRIVATE_KEY;
+        var out = new StringWriter();
+
+        try (var writer = new PemWriter(out)) {
+            writer.writeObject(new PemObject(type, privateKey.toBytesDER()));
+        } catch (IOException e) {
+            // a StringWriter doesn't throw
+            throw new RuntimeException(e);
+        }
+
+        return out.toString().getBytes(UTF_8);
+    }
+
     /**
      * Create a private key info object from a reader.
      *
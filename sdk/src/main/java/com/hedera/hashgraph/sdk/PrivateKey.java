@@ -1,10 +1,15 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
+import com.hedera.hashgraph.sdk.utils.Bip32Utils;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
@@ -53,6 +58,64 @@ public abstract class PrivateKey extends Key {
         return PrivateKeyECDSA.generateInternal();
     }
 
+    /**
+     * Generate many new ED25519 private keys at once.
+     * <p>
+     * The keys are generated in parallel, and their public keys are derived with them.
+     *
+     * @param count                     the number of keys
+     * @return                          the new ED25519 private keys
+     */
+    public static List<PrivateKey> generateBatchED25519(int count) {
+        return PrivateKeyBatch.generate(PrivateKeyED25519::generateInternal, count);
+    }
+
+    /**
+     * Generate many new ECDSA private keys at once.
+     * <p>
+     * The keys are generated in parallel, and their public keys are derived with them.
+     *
+     * @param count                     the number of keys
+     * @return                          the new ECDSA private keys
+     */
+    public static List<PrivateKey> generateBatchECDSA(int count) {
+        return PrivateKeyBatch.generate(PrivateKeyECDSA::generateInternal, count);
+    }
+
+    /**
+     * Generate many new ED25519 private keys and write them to a channel.
+     * <p>
+     * The keys are written one after the other, as DER (see {@link #toBytesDER()}) or as PEM
+     * ({@code PRIVATE KEY}, readable by {@link #readPem(Reader)}). They are generated and encoded in parallel,
+     * in chunks, so the keys never have to be held in memory all at once.
+     *
+     * @param count                     the number of keys
+     * @param channel                   the channel to write to
+     * @param asPem                     whether to write PEM instead of DER
+     * @throws IOException              if writing to the channel fails
+     */
+    public static void generateBatchED25519(int count, WritableByteChannel channel, boolean asPem)
+            throws IOException {
+        PrivateKeyBatch.write(PrivateKeyED25519::generateInternal, count, channel, asPem);
+    }
+
+    /**
+     * Generate many new ECDSA private keys and write them to a channel.
+     * <p>
+     * The keys are written one after the other, as DER (see {@link #toBytesDER()}) or as PEM
+     * ({@code EC PRIVATE KEY}, readable by {@link #readPem(Reader)}). They are generated and encoded in parallel,
+     * in chunks, so the keys never have to be held in memory all at once.
+     *
+     * @param count                     the number of keys
+     * @param channel                   the channel to write to
+     * @param asPem                     whether to write PEM instead of DER
+     * @throws IOException              if writing to the channel fails
+     */
+    public static void generateBatchECDSA(int count, WritableByteChannel channel, boolean asPem)
+            throws IOException {
+        PrivateKeyBatch.write(PrivateKeyECDSA::generateInternal, count, channel, asPem);
+    }
+
     /**
      * Extract the ED25519 private key from a seed.
      *
@@ -302,6 +365,46 @@ public abstract class PrivateKey extends Key {
         return readPem(new StringReader(encodedPem), password);
     }
 
+    /**
+     * Decrypt the private keys of many keystores, as exported by the Hedera SDKs, at once.
+     * <p>
+     * Every keystore costs a key derivation with hundreds of thousands of iterations; the keystores are decrypted in
+     * parallel so those run on all cores. See {@link #setKeystoreKdfCacheSize(int)} to skip the derivation when the
+     * same keystores are decrypted again.
+     *
+     * @param keystores                 the keystores to read
+     * @param passphrase                the passphrase of the keystores
+     * @return                          the private keys, in the order of the keystores
+     * @throws IOException              if reading one of the keystores fails
+     * @throws BadKeyException          if a keystore is malformed or the passphrase is incorrect
+     */
+    public static List<PrivateKey> fromKeystores(List<? extends InputStream> keystores, String passphrase)
+            throws IOException {
+        return Keystore.fromStreams(keystores, passphrase).stream()
+                .map(Keystore::getEd25519)
+                .toList();
+    }
+
+    /**
+     * Keep the keys derived from the passphrases of decrypted keystores, so that decrypting the same keystore again
+     * skips the key derivation.
+     * <p>
+     * The cache is off by default, and is shared by every keystore decrypted in this JVM. Keys are cached by the
+     * contents of their keystores and hold nothing else derived from the passphrase. A cached keystore stays unlocked:
+     * it is decrypted again without deriving its key from the passphrase, so only enable the cache where every
+     * caller may decrypt the keystores it holds. Replacing or disabling the cache zeroes the keys it held.
+     *
+     * @param maxEntries                the maximum number of derived keys to keep, or 0 to disable the cache
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static void setKeystoreKdfCacheSize(@Nonnegative int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must be non-negative");
+        }
+
+        Keystore.setKdfCacheSize(maxEntries);
+    }
+
     /**
      * Derive a child key based on the index.
      *
@@ -341,6 +444,32 @@ public abstract class PrivateKey extends Key {
      */
     public abstract PrivateKey derive(int index);
 
+    /**
+     * Derive the child keys for a range of indices.
+     * <p>
+     * The children are derived in parallel; this is equivalent to, and much faster than, calling
+     * {@link #derive(int)} for every index of the range.
+     *
+     * @param fromIndex the first index, inclusive
+     * @param toIndex   the last index, exclusive
+     * @return the derived keys, in the order of their indices
+     * @throws IllegalStateException if this key does not support derivation.
+     * @throws IllegalArgumentException if the range is reversed or mixes hardened and non-hardened indices.
+     * @see Bip32Utils#checkIndexRange(int, int)
+     */
+    public List<PrivateKey> deriveRange(int fromIndex, int toIndex) {
+        if (!isDerivable()) {
+            throw new IllegalStateException("this private key does not support derivation");
+        }
+
+        Bip32Utils.checkIndexRange(fromIndex, toIndex);
+
+        // non-hardened children of an ECDSA key are derived from the public key; compute it once, up front
+        getPublicKey();
+
+        return IntStream.range(fromIndex, toIndex).parallel().mapToObj(this::derive).toList();
+    }
+
     /**
      * Derive a public key from this private key.
      *
@@ -0,0 +1,89 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Internal utility class for generating many private keys at once.
+ * <p>
+ * Keys are generated on the common fork-join pool. Each worker draws its entropy from its own
+ * {@link ThreadLocalSecureRandom}, so the workers don't contend on a shared generator.
+ */
+final class PrivateKeyBatch {
+    /**
+     * Number of keys which are generated and encoded together when the keys are written out.
+     */
+    static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Constructor.
+     */
+    private PrivateKeyBatch() {}
+
+    /**
+     * Generate keys in parallel, with their public keys.
+     *
+     * @param generator                 creates a single key
+     * @param count                     the number of keys
+     * @return                          the keys
+     */
+    static List<PrivateKey> generate(Supplier<PrivateKey> generator, int count) {
+        requireCount(count);
+
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> {
+                    var key = generator.get();
+                    // derive the public key on the worker, it is needed next for almost any use of a new key
+                    key.getPublicKey();
+                    return key;
+                })
+                .toList();
+    }
+
+    /**
+     * Generate keys in parallel and write their encodings to a channel, one after the other.
+     * <p>
+     * Only {@link #CHUNK_SIZE} keys are held in memory at once.
+     *
+     * @param generator                 creates a single key
+     * @param count                     the number of keys
+     * @param channel                   the channel to write to
+     * @param asPem                     whether to write the keys as PEM instead of DER
+     * @throws IOException              if writing to the channel fails
+     */
+    static void write(Supplier<PrivateKey> generator, int count, WritableByteChannel channel, boolean asPem)
+            throws IOException {
+        requireCount(count);
+
+        Function<PrivateKey, byte[]> encoder = asPem ? Pem::encodePrivateKey : PrivateKey::toBytesDER;
+
+        for (var offset = 0; offset < count; offset += CHUNK_SIZE) {
+            var encodedKeys = IntStream.range(0, Math.min(CHUNK_SIZE, count - offset))
+                    .parallel()
+                    .mapToObj(i -> encoder.apply(generator.get()))
+                    .toList();
+
+            var buffer = ByteBuffer.allocate(
+                    encodedKeys.stream().mapToInt(encodedKey -> encodedKey.length).sum());
+            encodedKeys.forEach(buffer::put);
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static void requireCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+    }
+}
@@ -11,7 +11,6 @@ import org.bouncycastle.asn1.*;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.sec.ECPrivateKey;
 import org.bouncycastle.asn1.x9.X962Parameters;
-import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.crypto.generators.ECKeyPairGenerator;
 import org.bouncycastle.crypto.macs.HMac;
@@ -19,9 +18,6 @@ import org.bouncycastle.crypto.params.ECKeyGenerationParameters;
 import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
 import org.bouncycastle.crypto.params.ECPublicKeyParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.crypto.signers.ECDSASigner;
-import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
-import org.bouncycastle.util.Arrays;
 
 /**
  * Encapsulate the ECDSA private key.
@@ -33,6 +29,10 @@ public class PrivateKeyECDSA extends PrivateKey {
     @Nullable
     private final KeyParameter chainCode;
 
+    // created on first use, racing threads create equivalent contexts
+    @Nullable
+    private volatile EcdsaSigningContext signingContext = null;
+
     /**
      * Constructor.
      *
@@ -54,7 +54,11 @@ public class PrivateKeyECDSA extends PrivateKey {
         generator.init(keygenParams);
         var keypair = generator.generateKeyPair();
         var privParams = (ECPrivateKeyParameters) keypair.getPrivate();
-        return new PrivateKeyECDSA(privParams.getD(), null);
+        var privateKey = new PrivateKeyECDSA(privParams.getD(), null);
+        // the generator already computed the public point, keep it instead of multiplying again
+        var pubParams = (ECPublicKeyParameters) keypair.getPublic();
+        privateKey.publicKey = PublicKeyECDSA.fromPointInternal(pubParams.getQ());
+        return privateKey;
     }
 
     /**
@@ -220,12 +224,21 @@ public class PrivateKeyECDSA extends PrivateKey {
             return publicKey;
         }
 
-        var q = ECDSA_SECP256K1_DOMAIN.getG().multiply(keyData);
-        var publicParams = new ECPublicKeyParameters(q, ECDSA_SECP256K1_DOMAIN);
-        publicKey = PublicKeyECDSA.fromBytesInternal(publicParams.getQ().getEncoded(true));
+        publicKey = PublicKeyECDSA.fromBytesInternal(
+                getSigningContext().publicPoint().getEncoded(true));
         return publicKey;
     }
 
+    private EcdsaSigningContext getSigningContext() {
+        var context = signingContext;
+        if (context == null) {
+            context = new EcdsaSigningContext(keyData);
+            signingContext = context;
+        }
+
+        return context;
+    }
+
     public KeyParameter getChainCode() {
         return chainCode;
     }
@@ -234,14 +247,22 @@ public class PrivateKeyECDSA extends PrivateKey {
     public byte[] sign(byte[] message) {
         var hash = Crypto.calcKeccak256(message);
 
-        var signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
-        signer.init(true, new ECPrivateKeyParameters(keyData, ECDSA_SECP256K1_DOMAIN));
-        BigInteger[] bigSig = signer.generateSignature(hash);
-
-        byte[] sigBytes = Arrays.copyOf(bigIntTo32Bytes(bigSig[0]), 64);
-        System.arraycopy(bigIntTo32Bytes(bigSig[1]), 0, sigBytes, 32, 32);
+        return getSigningContext().sign(hash).toBytes();
+    }
 
-        return sigBytes;
+    /**
+     * Sign a message and keep the recovery ID of the signature, as needed for Ethereum transactions.
+     * <p>
+     * The signature is the one returned by {@link #sign(byte[])}, with its S value replaced by {@code n - S} when it is
+     * larger than half the curve order {@code n}, since Ethereum rejects such signatures (EIP-2). The recovery ID is
+     * taken from the nonce point while signing, which is much cheaper than
+     * {@link #getRecoveryId(byte[], byte[], byte[])}.
+     *
+     * @param message                   the message to sign
+     * @return                          the signature with its recovery ID
+     */
+    public RecoverableSignature signRecoverable(byte[] message) {
+        return getSigningContext().sign(Crypto.calcKeccak256(message)).toLowS();
     }
 
     public int getRecoveryId(byte[] r, byte[] s, byte[] message) {
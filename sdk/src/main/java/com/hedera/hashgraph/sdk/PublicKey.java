@@ -4,6 +4,8 @@ package com.hedera.hashgraph.sdk;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.proto.SignaturePair;
+import java.util.Collection;
+import java.util.Collections;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
@@ -165,37 +167,53 @@ public abstract class PublicKey extends Key {
      * @return                          is it valid
      */
     public boolean verifyTransaction(Transaction<?> transaction) {
-        if (!transaction.isFrozen()) {
-            transaction.freeze();
-        }
+        return verifyTransactions(Collections.singletonList(transaction));
+    }
+
+    /**
+     * Are all the given transactions valid?
+     * <p>
+     * A transaction is valid when it has a valid signature of this key for every node and chunk. The signatures of all
+     * transactions are verified as one batch, in parallel when there are many of them.
+     *
+     * @param transactions              the transactions
+     * @return                          are they all valid
+     */
+    public boolean verifyTransactions(Collection<? extends Transaction<?>> transactions) {
+        var prefix = ByteString.copyFrom(toBytesRaw());
+        var batch = new SignatureBatch();
 
-        for (var publicKey : transaction.publicKeys) {
-            if (publicKey.equals(this)) {
-                return true;
+        for (var transaction : transactions) {
+            if (!transaction.isFrozen()) {
+                transaction.freeze();
+            }
+
+            if (transaction.publicKeys.contains(this)) {
+                // signed by this key through the SDK, so the signature is valid
+                continue;
             }
-        }
 
-        for (var signedTransaction : transaction.innerSignedTransactions) {
-            var found = false;
+            for (var signedTransaction : transaction.innerSignedTransactions) {
+                byte[] bodyBytes = null;
 
-            for (var sigPair : signedTransaction.getSigMap().getSigPairList()) {
-                if (sigPair.getPubKeyPrefix().equals(ByteString.copyFrom(toBytesRaw()))) {
-                    found = true;
+                for (var sigPair : signedTransaction.getSigMap().getSigPairList()) {
+                    if (sigPair.getPubKeyPrefix().equals(prefix)) {
+                        if (bodyBytes == null) {
+                            bodyBytes = signedTransaction.getBodyBytes().toByteArray();
+                        }
 
-                    if (!verify(
-                            signedTransaction.getBodyBytes().toByteArray(),
-                            extractSignatureFromProtobuf(sigPair).toByteArray())) {
-                        return false;
+                        batch.add(this, bodyBytes, extractSignatureFromProtobuf(sigPair).toByteArray());
                     }
                 }
-            }
 
-            if (!found) {
-                return false;
+                if (bodyBytes == null) {
+                    // no signature of this key at all
+                    return false;
+                }
             }
         }
 
-        return true;
+        return batch.verifyAll();
     }
 
     /**
@@ -8,10 +8,12 @@ import com.hedera.hashgraph.sdk.proto.SignaturePair;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.Arrays;
+import javax.annotation.Nullable;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.crypto.params.ECPublicKeyParameters;
 import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.math.ec.ECPoint;
 
 /**
  * Encapsulate the ECDSA public key.
@@ -20,6 +22,11 @@ class PublicKeyECDSA extends PublicKey {
     // Compressed 33 byte form
     private byte[] keyData;
 
+    // Decoded form of keyData, created on first use. Reusing the same point lets BouncyCastle keep its precomputation
+    // for the point across verifications.
+    @Nullable
+    private volatile ECPublicKeyParameters publicParameters = null;
+
     /**
      * Constructor.
      *
@@ -50,6 +57,16 @@ class PublicKeyECDSA extends PublicKey {
         return fromSubjectKeyInfoInternal(SubjectPublicKeyInfo.getInstance(publicKey));
     }
 
+    /**
+     * Create a key from a point of the curve.
+     *
+     * @param point                     the public point
+     * @return                          the new key
+     */
+    static PublicKeyECDSA fromPointInternal(ECPoint point) {
+        return new PublicKeyECDSA(point.getEncoded(true));
+    }
+
     /**
      * Create a key from a subject public key info object.
      *
@@ -62,7 +79,7 @@ class PublicKeyECDSA extends PublicKey {
 
     @Override
     ByteString extractSignatureFromProtobuf(SignaturePair pair) {
-        return pair.getECDSA384();
+        return pair.getECDSASecp256K1();
     }
 
     @Override
@@ -70,10 +87,7 @@ class PublicKeyECDSA extends PublicKey {
         var hash = calcKeccak256(message);
 
         ECDSASigner signer = new ECDSASigner();
-        signer.init(
-                false,
-                new ECPublicKeyParameters(
-                        Key.ECDSA_SECP256K1_CURVE.getCurve().decodePoint(keyData), Key.ECDSA_SECP256K1_DOMAIN));
+        signer.init(false, getPublicParameters());
 
         BigInteger r = new BigInteger(1, Arrays.copyOf(signature, 32));
         BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, 32, 64));
@@ -81,6 +95,17 @@ class PublicKeyECDSA extends PublicKey {
         return signer.verifySignature(hash, r, s);
     }
 
+    private ECPublicKeyParameters getPublicParameters() {
+        var parameters = publicParameters;
+        if (parameters == null) {
+            parameters = new ECPublicKeyParameters(
+                    Key.ECDSA_SECP256K1_CURVE.getCurve().decodePoint(keyData), Key.ECDSA_SECP256K1_DOMAIN);
+            publicParameters = parameters;
+        }
+
+        return parameters;
+    }
+
     @Override
     com.hedera.hashgraph.sdk.proto.Key toProtobufKey() {
         return com.hedera.hashgraph.sdk.proto.Key.newBuilder()
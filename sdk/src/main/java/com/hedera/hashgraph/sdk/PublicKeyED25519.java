@@ -5,6 +5,7 @@ import com.google.protobuf.ByteString;
 import com.hedera.hashgraph.sdk.proto.SignaturePair;
 import java.io.IOException;
 import java.util.Arrays;
+import javax.annotation.Nullable;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters;
@@ -16,6 +17,13 @@ import org.bouncycastle.math.ec.rfc8032.Ed25519;
 class PublicKeyED25519 extends PublicKey {
     private final byte[] keyData;
 
+    // Decoded form of keyData, created on first use so that verify() doesn't decode the point on every call
+    @Nullable
+    private volatile Ed25519PublicKeyParameters publicParameters = null;
+
+    // set when keyData is not a valid point, e.g. the all zero key of HIP-540
+    private volatile boolean undecodable = false;
+
     /**
      * Constructor.
      *
@@ -63,7 +71,29 @@ class PublicKeyED25519 extends PublicKey {
 
     @Override
     public boolean verify(byte[] message, byte[] signature) {
-        return Ed25519.verify(signature, 0, keyData, 0, message, 0, message.length);
+        var parameters = getPublicParameters();
+        if (parameters == null) {
+            return Ed25519.verify(signature, 0, keyData, 0, message, 0, message.length);
+        }
+
+        return parameters.verify(Ed25519.Algorithm.Ed25519, null, message, 0, message.length, signature, 0);
+    }
+
+    @Nullable
+    private Ed25519PublicKeyParameters getPublicParameters() {
+        var parameters = publicParameters;
+        if (parameters != null || undecodable) {
+            return parameters;
+        }
+
+        try {
+            parameters = new Ed25519PublicKeyParameters(keyData, 0);
+            publicParameters = parameters;
+        } catch (RuntimeException e) {
+            undecodable = true;
+        }
+
+        return parameters;
     }
 
     @Override
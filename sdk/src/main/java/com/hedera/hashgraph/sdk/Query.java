@@ -29,16 +29,16 @@ import javax.annotation.Nullable;
  * @param <T> The type of the query itself. Used to enable chaining.
  */
 public abstract class Query<O, T extends Query<O, T>>
-        extends Executable<T, com.hedera.hashgraph.sdk.proto.Query, Response, O> {
-    private final com.hedera.hashgraph.sdk.proto.Query.Builder builder;
+        extends Executable<T, com.hedera.hashgraph.sdk.proto.Query, Response, O> implements Cloneable {
+    private com.hedera.hashgraph.sdk.proto.Query.Builder builder;
 
-    private final QueryHeader.Builder headerBuilder;
+    private QueryHeader.Builder headerBuilder;
 
     /**
      * The transaction ID
      */
     @Nullable
-    protected TransactionId paymentTransactionId = null;
+    protected volatile TransactionId paymentTransactionId = null;
 
     /**
      * List of payment transactions
@@ -49,6 +49,9 @@ public abstract class Query<O, T extends Query<O, T>>
     @Nullable
     private Client.Operator paymentOperator = null;
 
+    @Nullable
+    private QueryPaymentPool paymentPool = null;
+
     @Nullable
     private Hbar queryPayment = null;
 
@@ -58,6 +61,10 @@ public abstract class Query<O, T extends Query<O, T>>
     @Nullable
     private Hbar chosenQueryPayment = null;
 
+    // set when the chosen payment is based on a cached cost
+    @Nullable
+    private GrpcCostQuery cachedCostQuery = null;
+
     /**
      * Constructor.
      */
@@ -75,7 +82,7 @@ public abstract class Query<O, T extends Query<O, T>>
      * @param paymentAmount             the amount
      * @return                          the new payment transaction
      */
-    private static Transaction makePaymentTransaction(
+    static Transaction makePaymentTransaction(
             TransactionId paymentTransactionId, AccountId nodeId, Client.Operator operator, Hbar paymentAmount) {
         return new TransferTransaction()
                 .setTransactionId(paymentTransactionId)
@@ -235,6 +242,26 @@ public abstract class Query<O, T extends Query<O, T>>
         return true;
     }
 
+    /**
+     * Can the result of this query be served from the {@link QueryResultCache} of the client? The derived class should
+     * override this when it fetches data which changes slowly.
+     *
+     * @return                          whether the result can be cached
+     */
+    boolean isResultCacheable() {
+        return false;
+    }
+
+    /**
+     * Can identical executions of this query share a single request, within the coalescing window of the client? The
+     * derived class should override this when it is cheap and often executed concurrently.
+     *
+     * @return                          whether the query can be coalesced
+     */
+    boolean isCoalescable() {
+        return false;
+    }
+
     /**
      * Called in {@link #makeRequest} just before the query is built. The intent is for the derived
      * class to assign their data variant to the query.
@@ -265,6 +292,29 @@ public abstract class Query<O, T extends Query<O, T>>
      */
     abstract void validateChecksums(Client client) throws BadEntityIdException;
 
+    /**
+     * Extract a property of the query its cost depends on beyond the size of its request. The derived class should
+     * override this when two requests of the same size can have very different costs.
+     *
+     * @return                          the property
+     */
+    long getCostShapeHint() {
+        return 0;
+    }
+
+    /**
+     * Create the signature of the query under which its cost is cached.
+     *
+     * @return                          the signature
+     */
+    QueryCostCache.Key getCostCacheKey() {
+        var request = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
+        onMakeRequest(request, QueryHeader.getDefaultInstance());
+
+        return new QueryCostCache.Key(
+                request.getQueryCase(), request.build().getSerializedSize(), getCostShapeHint());
+    }
+
     /**
      * Retrieve the operator from the configured client.
      *
@@ -282,6 +332,106 @@ public abstract class Query<O, T extends Query<O, T>>
         return operator;
     }
 
+    /**
+     * Execute this query with a timeout.
+     * <p>
+     * The query is executed on a copy which holds the state of this execution, such as the chosen nodes and the
+     * payments, so the same query can be executed concurrently from many threads once it is configured.
+     *
+     * @param client  The client with which this will be executed.
+     * @param timeout The timeout after which the execution attempt will be cancelled.
+     * @return Result of execution
+     * @throws TimeoutException        when the transaction times out
+     * @throws PrecheckStatusException when the precheck fails
+     */
+    @Override
+    public O execute(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        var resultCache = getResultCache(client);
+        var execution = copyForExecution();
+
+        try {
+            if (resultCache == null) {
+                return execution.executeCopy(client, timeout);
+            }
+
+            return resultCache.execute(this, timeout, () -> execution.executeCopy(client, timeout));
+        } finally {
+            paymentTransactionId = execution.paymentTransactionId;
+        }
+    }
+
+    /**
+     * Execute this query asynchronously.
+     * <p>
+     * The query is executed on a copy which holds the state of this execution, such as the chosen nodes and the
+     * payments, so the same query can be executed concurrently from many threads once it is configured.
+     *
+     * @param client  The client with which this will be executed.
+     * @param timeout The timeout after which the execution attempt will be cancelled.
+     * @return Future result of execution
+     */
+    @Override
+    public CompletableFuture<O> executeAsync(Client client, Duration timeout) {
+        var resultCache = getResultCache(client);
+        var execution = copyForExecution();
+
+        var result = resultCache == null
+                ? execution.executeCopyAsync(client, timeout)
+                : resultCache.executeAsync(this, timeout, () -> execution.executeCopyAsync(client, timeout));
+
+        return result.whenComplete((output, error) -> paymentTransactionId = execution.paymentTransactionId);
+    }
+
+    /**
+     * Create a copy of this query to execute. The copy shares the configuration of this query, which an execution
+     * doesn't modify, and has its own execution state.
+     *
+     * @return                          the copy
+     */
+    Query<O, T> copyForExecution() {
+        Query<O, T> copy;
+        try {
+            // noinspection unchecked
+            copy = (Query<O, T>) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        copy.builder = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
+        copy.headerBuilder = QueryHeader.newBuilder();
+        copy.nodeAccountIds = nodeAccountIds.copy();
+        copy.nodes = new LockableList<>();
+        copy.attemptedAllNodes = false;
+        copy.paymentTransactions = paymentTransactions != null ? new ArrayList<>(paymentTransactions) : null;
+        copy.cachedCostQuery = null;
+        return copy;
+    }
+
+    private O executeCopy(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        return super.execute(client, timeout);
+    }
+
+    private CompletableFuture<O> executeCopyAsync(Client client, Duration timeout) {
+        return super.executeAsync(client, timeout);
+    }
+
+    /**
+     * Pick the cache the result of this query is shared through, if any.
+     *
+     * @param client                    the client
+     * @return                          the cache; null when the query goes to the network
+     */
+    @Nullable
+    private QueryResultCache getResultCache(Client client) {
+        if (isResultCacheable() && client.getQueryResultCache().isEnabled()) {
+            return client.getQueryResultCache();
+        } else if (isCoalescable() && client.queryCoalescer.isEnabled()) {
+            return client.queryCoalescer;
+        }
+
+        return null;
+    }
+
     @Override
     void onExecute(Client client) throws TimeoutException, PrecheckStatusException {
         var grpcCostQuery = new GrpcCostQuery(client);
@@ -364,13 +514,24 @@ public abstract class Query<O, T extends Query<O, T>>
      * @return                          the transaction
      */
     Transaction getPaymentTransaction(int index) {
-        paymentTransactionId = TransactionId.generate(Objects.requireNonNull(paymentOperator).accountId);
+        Transaction newPaymentTx;
+
+        if (paymentPool != null) {
+            var payment = paymentPool.take(
+                    Objects.requireNonNull(paymentOperator),
+                    nodeAccountIds.get(index),
+                    Objects.requireNonNull(chosenQueryPayment));
+            paymentTransactionId = payment.transactionId();
+            newPaymentTx = payment.transaction();
+        } else {
+            paymentTransactionId = TransactionId.generate(Objects.requireNonNull(paymentOperator).accountId);
+            newPaymentTx = makePaymentTransaction(
+                    paymentTransactionId,
+                    nodeAccountIds.get(index),
+                    paymentOperator,
+                    Objects.requireNonNull(chosenQueryPayment));
+        }
 
-        var newPaymentTx = makePaymentTransaction(
-                paymentTransactionId,
-                nodeAccountIds.get(index),
-                paymentOperator,
-                Objects.requireNonNull(chosenQueryPayment));
         paymentTransactions.set(index, newPaymentTx);
         return newPaymentTx;
     }
@@ -390,6 +551,20 @@ public abstract class Query<O, T extends Query<O, T>>
         return builder.build();
     }
 
+    @Override
+    ExecutionState getExecutionState(Status status, Response response) {
+        if (status == Status.INSUFFICIENT_TX_FEE && cachedCostQuery != null) {
+            var costQuery = cachedCostQuery;
+            cachedCostQuery = null;
+
+            if (costQuery.retryWithReportedCost(response)) {
+                return ExecutionState.RETRY;
+            }
+        }
+
+        return super.getExecutionState(status, response);
+    }
+
     @Override
     Status mapResponseStatus(Response response) {
         var preCheckCode = mapResponseHeader(response).getNodeTransactionPrecheckCode();
@@ -456,21 +631,43 @@ public abstract class Query<O, T extends Query<O, T>>
     }
 
     private class GrpcCostQuery {
+        private final Client client;
         private final Hbar maxCost;
         private final boolean notRequired;
+        private final QueryCostCache costCache;
+        private final QueryPaymentPool paymentPool;
 
         private Client.Operator operator;
         private Hbar cost;
 
+        @Nullable
+        private QueryCostCache.Key costCacheKey = null;
+
+        private boolean costFromCache = false;
+
         GrpcCostQuery(Client client) {
+            this.client = client;
             Query.this.initWithNodeIds(client);
 
             cost = Query.this.queryPayment;
             notRequired = (Query.this.paymentTransactions != null) || !Query.this.isPaymentRequired();
             maxCost = MoreObjects.firstNonNull(Query.this.maxQueryPayment, client.defaultMaxQueryPayment);
+            costCache = client.queryCostCache;
+            paymentPool = client.queryPaymentPool;
 
             if (!notRequired) {
                 operator = Query.this.getOperatorFromClient(client);
+
+                if (cost == null && costCache.isEnabled()) {
+                    costCacheKey = Query.this.getCostCacheKey();
+
+                    // a cached cost above the maximum is fetched again, to fail on the current cost
+                    var cachedCost = costCache.get(costCacheKey);
+                    if (cachedCost != null && cachedCost.compareTo(maxCost) <= 0) {
+                        cost = cachedCost;
+                        costFromCache = true;
+                    }
+                }
             }
         }
 
@@ -488,6 +685,11 @@ public abstract class Query<O, T extends Query<O, T>>
 
         GrpcCostQuery setCost(Hbar cost) {
             this.cost = cost;
+
+            if (costCacheKey != null) {
+                costCache.put(costCacheKey, cost);
+            }
+
             return this;
         }
 
@@ -500,9 +702,49 @@ public abstract class Query<O, T extends Query<O, T>>
             return new MaxQueryPaymentExceededException(Query.this, cost, maxCost);
         }
 
+        /**
+         * Forget the cached cost after the node rejected the payment based on it, and pay the cost the node reported
+         * instead, or the cost fetched again when the node reported none.
+         *
+         * @param response                  the response of the node
+         * @return                          whether the query should be retried with the new cost
+         */
+        boolean retryWithReportedCost(Response response) {
+            costCache.invalidate(Objects.requireNonNull(costCacheKey));
+
+            var reportedCost = Hbar.fromTinybars(Query.this.mapResponseHeader(response).getCost());
+            if (reportedCost.toTinybars() <= 0) {
+                // fetch the cost as if it had never been cached, so the stale cost doesn't fail the query; this
+                // blocks an asynchronous execution too, which is acceptable as it only follows a rejected payment
+                try {
+                    reportedCost = Query.this.getCost(client);
+                } catch (TimeoutException | PrecheckStatusException e) {
+                    return false;
+                }
+            }
+
+            if (reportedCost.compareTo(maxCost) > 0) {
+                return false;
+            }
+
+            costCache.put(costCacheKey, reportedCost);
+            Query.this.chosenQueryPayment = reportedCost;
+            return true;
+        }
+
         void finish() {
             Query.this.chosenQueryPayment = cost;
+            Query.this.cachedCostQuery = null;
+
+            if (costFromCache) {
+                // the response may be larger than the one the cost was fetched for
+                var costWithMargin = costCache.withMargin(cost);
+                Query.this.chosenQueryPayment = costWithMargin.compareTo(maxCost) > 0 ? maxCost : costWithMargin;
+                Query.this.cachedCostQuery = this;
+            }
+
             Query.this.paymentOperator = operator;
+            Query.this.paymentPool = paymentPool.isEnabled() ? paymentPool : null;
             Query.this.paymentTransactions = new ArrayList<>(Query.this.nodeAccountIds.size());
 
             for (int i = 0; i < Query.this.nodeAccountIds.size(); i++) {
@@ -0,0 +1,183 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * Cache of query costs, shared by the queries executed with a client.
+ * <p>
+ * The cost of a query depends on its type and on the size of its request and response, not on the entities it
+ * refers to, and fee schedules change rarely. A cost fetched for one query is therefore reused, for a limited time,
+ * by the queries of the same type and request size instead of sending another cost query first. A reused cost is
+ * raised by a safety margin, since the response may be larger; a cost which turns out to be too low anyway is
+ * invalidated.
+ */
+final class QueryCostCache {
+    /**
+     * The default safety margin added to a cached cost, in percent.
+     */
+    static final int DEFAULT_MARGIN_PERCENT = 10;
+
+    /**
+     * The maximum number of cached costs; the cache is cleared when it is full.
+     */
+    static final int MAX_ENTRIES = 1024;
+
+    /**
+     * The signature of a query which determines its cost.
+     *
+     * @param queryCase                 the type of the query
+     * @param requestSize               the serialized size of the query without its payment
+     * @param shapeHint                 a property of the query its cost depends on beyond its size, like the gas of
+     *                                  a contract call
+     */
+    record Key(com.hedera.hashgraph.sdk.proto.Query.QueryCase queryCase, int requestSize, long shapeHint) {}
+
+    private record Entry(Hbar cost, long expiresAtNanos) {}
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongSupplier nanoClock;
+
+    private volatile Duration ttl = Duration.ZERO;
+
+    private volatile int marginPercent = DEFAULT_MARGIN_PERCENT;
+
+    /**
+     * Constructor.
+     */
+    QueryCostCache() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param nanoClock                 the source of the current time in nanoseconds
+     */
+    QueryCostCache(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Extract the time a cost is reused for.
+     *
+     * @return                          the time to live; zero when the cache is disabled
+     */
+    Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Assign the time a cost is reused for, clearing the cache.
+     *
+     * @param ttl                       the time to live; zero to disable the cache
+     */
+    void setTtl(Duration ttl) {
+        Objects.requireNonNull(ttl);
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must be non-negative");
+        }
+
+        this.ttl = ttl;
+        entries.clear();
+    }
+
+    /**
+     * Extract the safety margin added to a cached cost.
+     *
+     * @return                          the margin in percent
+     */
+    int getMarginPercent() {
+        return marginPercent;
+    }
+
+    /**
+     * Assign the safety margin added to a cached cost.
+     *
+     * @param marginPercent             the margin in percent
+     */
+    void setMarginPercent(int marginPercent) {
+        if (marginPercent < 0) {
+            throw new IllegalArgumentException("marginPercent must be non-negative");
+        }
+
+        this.marginPercent = marginPercent;
+    }
+
+    /**
+     * Is the cache enabled.
+     *
+     * @return                          whether costs are cached
+     */
+    boolean isEnabled() {
+        return !ttl.isZero();
+    }
+
+    /**
+     * Look up the cost of a query.
+     *
+     * @param key                       the signature of the query
+     * @return                          the cached cost, without the margin; null if none is cached
+     */
+    @Nullable
+    Hbar get(Key key) {
+        var entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (nanoClock.getAsLong() - entry.expiresAtNanos >= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+
+        return entry.cost;
+    }
+
+    /**
+     * Cache the cost of a query.
+     *
+     * @param key                       the signature of the query
+     * @param cost                      the cost fetched from the network
+     */
+    void put(Key key, Hbar cost) {
+        var ttl = this.ttl;
+
+        if (ttl.isZero()) {
+            return;
+        }
+
+        if (entries.size() >= MAX_ENTRIES) {
+            // the shapes of the queries of an application are few, so this is only hit by unusual workloads
+            entries.clear();
+        }
+
+        entries.put(key, new Entry(cost, nanoClock.getAsLong() + ttl.toNanos()));
+    }
+
+    /**
+     * Forget the cost of a query, after it turned out to be too low.
+     *
+     * @param key                       the signature of the query
+     */
+    void invalidate(Key key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Add the safety margin to a cost.
+     *
+     * @param cost                      the cost
+     * @return                          the cost with the margin, rounded up
+     */
+    Hbar withMargin(Hbar cost) {
+        var tinybars = cost.toTinybars();
+        return Hbar.fromTinybars(tinybars + (tinybars * marginPercent + 99) / 100);
+    }
+}
@@ -0,0 +1,224 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * Pool of query payment transactions which are signed ahead of time, shared by the queries executed with a client.
+ * <p>
+ * Payments are pooled per operator, node and amount. Only an operator, node and amount which is paid again within
+ * {@link #MAX_AGE} gets pooled payments: taking such a payment schedules the signing of its replacement on the
+ * executor of the client, so a query which finds a pooled payment does no signing at all, while amounts which are
+ * paid once cost no signing ahead of time. A payment is only handed out while it is younger than {@link #MAX_AGE},
+ * well within the validity of its transaction; older payments are discarded unused, and so are the pools which were
+ * not taken from for that long.
+ */
+final class QueryPaymentPool {
+    /**
+     * The age after which a pooled payment is discarded; payments are valid for 120 seconds.
+     */
+    static final Duration MAX_AGE = Duration.ofSeconds(60);
+
+    private record Key(Client.Operator operator, AccountId nodeId, long amount) {}
+
+    /**
+     * A signed payment.
+     *
+     * @param transactionId             the id of the payment transaction
+     * @param transaction               the payment transaction
+     * @param createdAtNanos            when the payment was signed
+     */
+    record Payment(TransactionId transactionId, Transaction transaction, long createdAtNanos) {}
+
+    private static final class Slot {
+        private final ConcurrentLinkedDeque<Payment> payments = new ConcurrentLinkedDeque<>();
+
+        private final AtomicBoolean refilling = new AtomicBoolean();
+
+        // when a payment was last taken from this slot, or null before the first one
+        @Nullable
+        private volatile Long takenAtNanos = null;
+    }
+
+    private final ConcurrentHashMap<Key, Slot> slots = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong evictedAtNanos;
+
+    private volatile int size = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param executor                  the executor the payments are signed on
+     */
+    QueryPaymentPool(Executor executor) {
+        this(executor, System::nanoTime);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor                  the executor the payments are signed on
+     * @param nanoClock                 the source of the current time in nanoseconds
+     */
+    QueryPaymentPool(Executor executor, LongSupplier nanoClock) {
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+        this.evictedAtNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Extract the number of payments kept ready per operator, node and amount.
+     *
+     * @return                          the number of payments; zero when the pool is disabled
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Assign the number of payments kept ready per operator, node and amount.
+     *
+     * @param size                      the number of payments; zero to disable the pool
+     */
+    void setSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must be non-negative");
+        }
+
+        this.size = size;
+
+        if (size == 0) {
+            clear();
+        }
+    }
+
+    /**
+     * Is the pool enabled.
+     *
+     * @return                          whether payments are signed ahead of time
+     */
+    boolean isEnabled() {
+        return size > 0;
+    }
+
+    /**
+     * Take a payment, and schedule the signing of its replacement if the same payment was taken before within
+     * {@link #MAX_AGE}.
+     * <p>
+     * When no payment is ready, one is signed on the calling thread.
+     *
+     * @param operator                  the operator paying
+     * @param nodeId                    the node paid
+     * @param amount                    the amount paid
+     * @return                          the payment
+     */
+    Payment take(Client.Operator operator, AccountId nodeId, Hbar amount) {
+        var now = nanoClock.getAsLong();
+        evictIdleSlots(now);
+
+        var key = new Key(operator, nodeId, amount.toTinybars());
+        var slot = slots.computeIfAbsent(key, k -> new Slot());
+
+        var previousTakenAtNanos = slot.takenAtNanos;
+        var isRepeated = previousTakenAtNanos != null && now - previousTakenAtNanos < MAX_AGE.toNanos();
+        slot.takenAtNanos = now;
+
+        // the oldest payments are at the head, so expired ones are dropped on the way
+        Payment payment;
+        do {
+            payment = slot.payments.pollFirst();
+        } while (payment != null && isExpired(payment));
+
+        if (payment == null) {
+            payment = sign(key);
+        }
+
+        if (isRepeated) {
+            refill(key, slot);
+        }
+
+        return payment;
+    }
+
+    /**
+     * Discard all payments, like when the operator of the client changes.
+     */
+    void clear() {
+        slots.clear();
+    }
+
+    /**
+     * Extract the number of operator, node and amount combinations which are tracked.
+     *
+     * @return                          the number of slots
+     */
+    @VisibleForTesting
+    int getSlotCount() {
+        return slots.size();
+    }
+
+    /**
+     * Remove the slots which were not taken from within {@link #MAX_AGE}, at most once per {@link #MAX_AGE}. Their
+     * payments are expired or about to be, so the slots only hold memory.
+     */
+    private void evictIdleSlots(long now) {
+        var previous = evictedAtNanos.get();
+        if (now - previous < MAX_AGE.toNanos() || !evictedAtNanos.compareAndSet(previous, now)) {
+            return;
+        }
+
+        slots.values().removeIf(slot -> {
+            var takenAtNanos = slot.takenAtNanos;
+            return takenAtNanos == null || now - takenAtNanos >= MAX_AGE.toNanos();
+        });
+    }
+
+    private boolean isExpired(Payment payment) {
+        return nanoClock.getAsLong() - payment.createdAtNanos >= MAX_AGE.toNanos();
+    }
+
+    private Payment sign(Key key) {
+        var transactionId = TransactionId.generate(key.operator.accountId);
+        var createdAtNanos = nanoClock.getAsLong();
+        var transaction = Query.makePaymentTransaction(
+                transactionId, key.nodeId, key.operator, Hbar.fromTinybars(key.amount));
+
+        return new Payment(transactionId, transaction, createdAtNanos);
+    }
+
+    private void refill(Key key, Slot slot) {
+        if (slot.payments.size() >= size || !slot.refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    while (slot.payments.size() < size && slots.get(key) == slot) {
+                        slot.payments.addLast(sign(key));
+                    }
+                } finally {
+                    slot.refilling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the client is closing; the next query signs its payment itself
+            slot.refilling.set(false);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.QueryHeader;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the results of queries for data which changes slowly, shared by the queries executed with a
+ * client: {@link AccountInfoQuery}, {@link TokenInfoQuery}, {@link ContractByteCodeQuery} and
+ * {@link FileContentsQuery}.
+ * <p>
+ * The cache is disabled until {@link #setMaxEntries(int)} is set. A result is then reused by identical queries until
+ * its time to live runs out or it is invalidated, and the least recently used result is evicted when the cache is
+ * full. Identical queries executed while the result is being fetched wait for that result, up to their own timeout,
+ * instead of sending another request. Failures are not cached.
+ * <p>
+ * Queries are identical when they are of the same class, request the same data and are pinned to the same nodes, if
+ * any, so a query which is pinned to a node to observe that node is always answered by that node.
+ * <p>
+ * The cached results are shared between the callers and must not be modified.
+ */
+public final class QueryResultCache {
+    /**
+     * The default time a result is reused for.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+    /**
+     * Fetches a result on a cache miss.
+     *
+     * @param <O>                       the type of the result
+     */
+    @FunctionalInterface
+    interface Loader<O> {
+        O load() throws TimeoutException, PrecheckStatusException;
+    }
+
+    private record Key(Class<?> queryClass, ByteString request, List<AccountId> nodeAccountIds) {}
+
+    private static final class Entry {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        // set once the result is there; a pending entry doesn't expire
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+    }
+
+    private record Lookup(Entry entry, boolean isLeader) {}
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private int maxEntries = 0;
+
+    private Duration ttl = DEFAULT_TTL;
+
+    /**
+     * Constructor.
+     */
+    QueryResultCache() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param nanoClock                 the source of the current time in nanoseconds
+     */
+    QueryResultCache(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Extract the maximum number of cached results.
+     *
+     * @return                          the maximum number of results; zero when the cache is disabled
+     */
+    public synchronized int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Assign the maximum number of cached results.
+     *
+     * @param maxEntries                the maximum number of results; zero to disable the cache
+     * @return {@code this}
+     */
+    public synchronized QueryResultCache setMaxEntries(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must be non-negative");
+        }
+
+        this.maxEntries = maxEntries;
+        evict();
+        return this;
+    }
+
+    /**
+     * Extract the time a result is reused for.
+     *
+     * @return                          the time to live
+     */
+    public synchronized Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Assign the time a result is reused for. Results which are already cached keep their time to live.
+     * <p>
+     * With a time to live of zero, a result is only shared by the identical queries executed while it is being
+     * fetched.
+     *
+     * @param ttl                       the time to live
+     * @return {@code this}
+     */
+    public synchronized QueryResultCache setTtl(Duration ttl) {
+        Objects.requireNonNull(ttl);
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must be non-negative");
+        }
+
+        this.ttl = ttl;
+        return this;
+    }
+
+    /**
+     * Extract the number of queries which were answered from the cache, including those which waited for a result
+     * which was being fetched.
+     *
+     * @return                          the number of hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Extract the number of queries which were sent to the network.
+     *
+     * @return                          the number of misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Forget the result of a query, after the data it returned was changed.
+     *
+     * @param query                     the query
+     */
+    public synchronized void invalidate(Query<?, ?> query) {
+        entries.remove(keyOf(query));
+    }
+
+    /**
+     * Forget all results.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Is the cache enabled.
+     *
+     * @return                          whether results are cached
+     */
+    synchronized boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Execute a query through the cache.
+     *
+     * @param query                     the query
+     * @param timeout                   the time to wait for a result which is being fetched by another caller
+     * @param loader                    executes the query on a miss
+     * @param <O>                       the type of the result
+     * @return                          the result
+     * @throws TimeoutException         when the query times out
+     * @throws PrecheckStatusException  when the precheck fails
+     */
+    <O> O execute(Query<O, ?> query, Duration timeout, Loader<O> loader)
+            throws TimeoutException, PrecheckStatusException {
+        var key = keyOf(query);
+        var lookup = lookup(key);
+
+        if (lookup.isLeader) {
+            try {
+                var result = loader.load();
+                succeeded(lookup.entry, result);
+                return result;
+            } catch (Throwable e) {
+                failed(key, lookup.entry, e);
+                throw e;
+            }
+        }
+
+        try {
+            // noinspection unchecked
+            return (O) lookup.entry.result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new TimeoutException("timed out waiting for the result of an identical query");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+
+            if (cause instanceof TimeoutException timeoutException) {
+                throw timeoutException;
+            } else if (cause instanceof PrecheckStatusException precheckStatusException) {
+                throw precheckStatusException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Execute a query asynchronously through the cache.
+     *
+     * @param query                     the query
+     * @param timeout                   the time to wait for a result which is being fetched by another caller
+     * @param loader                    executes the query on a miss
+     * @param <O>                       the type of the result
+     * @return                          future result
+     */
+    <O> CompletableFuture<O> executeAsync(
+            Query<O, ?> query, Duration timeout, Supplier<CompletableFuture<O>> loader) {
+        var key = keyOf(query);
+        var lookup = lookup(key);
+
+        if (lookup.isLeader) {
+            CompletableFuture<O> future;
+            try {
+                future = loader.get();
+            } catch (RuntimeException e) {
+                failed(key, lookup.entry, e);
+                throw e;
+            }
+
+            future.whenComplete((result, error) -> {
+                if (error == null) {
+                    succeeded(lookup.entry, result);
+                } else {
+                    failed(key, lookup.entry, error);
+                }
+            });
+        }
+
+        // a dependent future, so a caller cancelling it or timing out doesn't affect the others
+        // noinspection unchecked
+        var future = lookup.entry.result.thenApply(result -> (O) result);
+        return lookup.isLeader ? future : future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized Lookup lookup(Key key) {
+        var entry = entries.get(key);
+
+        if (entry != null && nanoClock.getAsLong() - entry.expiresAtNanos < 0) {
+            hitCount.incrementAndGet();
+            return new Lookup(entry, false);
+        }
+
+        missCount.incrementAndGet();
+        entry = new Entry();
+        entries.put(key, entry);
+        evict();
+        return new Lookup(entry, true);
+    }
+
+    private void succeeded(Entry entry, Object result) {
+        long ttlNanos;
+        synchronized (this) {
+            ttlNanos = ttl.toNanos();
+        }
+
+        entry.expiresAtNanos = nanoClock.getAsLong() + ttlNanos;
+        entry.result.complete(result);
+    }
+
+    private void failed(Key key, Entry entry, Throwable error) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+
+        entry.result.completeExceptionally(error);
+    }
+
+    private void evict() {
+        var iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static Key keyOf(Query<?, ?> query) {
+        // the same query without its payment
+        var request = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
+        query.onMakeRequest(request, QueryHeader.getDefaultInstance());
+
+        return new Key(query.getClass(), request.build().toByteString(), List.copyOf(query.nodeAccountIds.getList()));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxEntries", maxEntries)
+                .add("ttl", ttl)
+                .add("size", entries.size())
+                .add("hitCount", hitCount.get())
+                .add("missCount", missCount.get())
+                .toString();
+    }
+}
@@ -0,0 +1,346 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * Client-level poller which resolves the receipts of many outstanding transactions at once.
+ * <p>
+ * Instead of every {@link TransactionResponse} running its own {@link TransactionReceiptQuery} with an exponential
+ * backoff, all pending transaction IDs are tracked here and polled together on a fixed cadence. The first poll of a
+ * transaction happens after {@link #getInitialDelay()}, which should roughly match the expected consensus latency of
+ * the network, and then every {@link #getPollInterval()} until the receipt is available. Each poll is sent to a single
+ * node; the first goes to the node which accepted the transaction and later polls are spread over the healthy nodes of
+ * the client's network.
+ * <p>
+ * Requests for the same transaction ID share a single pending entry and therefore a single future.
+ * <p>
+ * Obtain an instance through {@link Client#getReceiptPoller()}.
+ */
+public final class ReceiptPoller {
+    static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(2L);
+    static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(250L);
+    static final int DEFAULT_MAX_POLLS_PER_INTERVAL = 500;
+
+    private final Client client;
+
+    private final ConcurrentHashMap<TransactionId, PendingReceipt> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean tickScheduled = new AtomicBoolean(false);
+
+    private final AtomicInteger nextNodeIndex = new AtomicInteger(0);
+
+    private volatile Duration initialDelay = DEFAULT_INITIAL_DELAY;
+
+    private volatile Duration pollInterval = DEFAULT_POLL_INTERVAL;
+
+    private volatile int maxPollsPerInterval = DEFAULT_MAX_POLLS_PER_INTERVAL;
+
+    /**
+     * Constructor.
+     *
+     * @param client                    the client used to execute the receipt queries
+     */
+    ReceiptPoller(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Extract the delay before a newly tracked transaction is polled for the first time.
+     *
+     * @return                          the initial delay
+     */
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * Assign the delay before a newly tracked transaction is polled for the first time.
+     * <p>
+     * Polling earlier than consensus can be reached only adds load to the nodes, so this should be close to the
+     * expected consensus latency.
+     *
+     * @param initialDelay              the initial delay
+     * @return {@code this}
+     */
+    public ReceiptPoller setInitialDelay(Duration initialDelay) {
+        Objects.requireNonNull(initialDelay);
+        if (initialDelay.isNegative()) {
+            throw new IllegalArgumentException("initialDelay must be non-negative");
+        }
+
+        this.initialDelay = initialDelay;
+        return this;
+    }
+
+    /**
+     * Extract the interval between two polls of a transaction whose receipt is not yet available.
+     *
+     * @return                          the poll interval
+     */
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * Assign the interval between two polls of a transaction whose receipt is not yet available.
+     *
+     * @param pollInterval              the poll interval
+     * @return {@code this}
+     */
+    public ReceiptPoller setPollInterval(Duration pollInterval) {
+        Objects.requireNonNull(pollInterval);
+        if (pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("pollInterval must be a positive duration");
+        }
+
+        this.pollInterval = pollInterval;
+        return this;
+    }
+
+    /**
+     * Extract the maximum number of receipt queries sent per poll interval.
+     *
+     * @return                          the maximum number of polls per interval
+     */
+    public int getMaxPollsPerInterval() {
+        return maxPollsPerInterval;
+    }
+
+    /**
+     * Assign the maximum number of receipt queries sent per poll interval. Transactions which are due but exceed this
+     * limit are polled in the next interval.
+     *
+     * @param maxPollsPerInterval       the maximum number of polls per interval
+     * @return {@code this}
+     */
+    public ReceiptPoller setMaxPollsPerInterval(int maxPollsPerInterval) {
+        if (maxPollsPerInterval <= 0) {
+            throw new IllegalArgumentException("maxPollsPerInterval must be greater than zero");
+        }
+
+        this.maxPollsPerInterval = maxPollsPerInterval;
+        return this;
+    }
+
+    /**
+     * Extract the number of transactions whose receipt is still outstanding.
+     *
+     * @return                          the number of pending transactions
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Track the transaction of the given response and resolve its receipt.
+     * <p>
+     * The receipt status is validated according to {@link TransactionResponse#getValidateStatus()}.
+     *
+     * @param response                  the response of the submitted transaction
+     * @return                          future result of the transaction receipt
+     */
+    public CompletableFuture<TransactionReceipt> getReceiptAsync(TransactionResponse response) {
+        return getReceiptAsync(response, client.getRequestTimeout());
+    }
+
+    /**
+     * Track the transaction of the given response and resolve its receipt.
+     * <p>
+     * The receipt status is validated according to {@link TransactionResponse#getValidateStatus()}.
+     *
+     * @param response                  the response of the submitted transaction
+     * @param timeout                   the timeout after which the receipt will no longer be polled
+     * @return                          future result of the transaction receipt
+     */
+    public CompletableFuture<TransactionReceipt> getReceiptAsync(TransactionResponse response, Duration timeout) {
+        var validateStatus = response.getValidateStatus();
+
+        return getReceiptAsync(response.transactionId, response.nodeId, timeout).thenCompose(receipt -> {
+            try {
+                return CompletableFuture.completedFuture(receipt.validateStatus(validateStatus));
+            } catch (ReceiptStatusException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    /**
+     * Track the given transaction ID and resolve its receipt. The receipt status is not validated.
+     *
+     * @param transactionId             the ID of the submitted transaction
+     * @param nodeId                    the node which accepted the transaction, polled first if not null
+     * @param timeout                   the timeout after which the receipt will no longer be polled
+     * @return                          future result of the transaction receipt
+     */
+    public CompletableFuture<TransactionReceipt> getReceiptAsync(
+            TransactionId transactionId, @Nullable AccountId nodeId, Duration timeout) {
+        Objects.requireNonNull(transactionId);
+        Objects.requireNonNull(timeout);
+
+        var now = System.nanoTime();
+        var entry = pending.computeIfAbsent(
+                transactionId,
+                id -> new PendingReceipt(id, nodeId, now + initialDelay.toNanos(), now + timeout.toNanos()));
+
+        scheduleTick();
+
+        return entry.future;
+    }
+
+    /**
+     * Stop tracking all pending transactions and fail their futures.
+     */
+    void close() {
+        var error = new IllegalStateException("receipt poller was closed before the receipt was available");
+
+        for (var entry : new ArrayList<>(pending.values())) {
+            complete(entry, null, error);
+        }
+    }
+
+    private void scheduleTick() {
+        if (pending.isEmpty() || !tickScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        Delayer.delayFor(pollInterval.toMillis(), client.executor).thenRun(this::tick);
+    }
+
+    @VisibleForTesting
+    void tick() {
+        tickScheduled.set(false);
+
+        var now = System.nanoTime();
+        var nodes = getNodesForPolling();
+        var polls = 0;
+
+        for (var entry : pending.values()) {
+            if (now - entry.deadline >= 0) {
+                complete(
+                        entry,
+                        null,
+                        new TimeoutException("timed out waiting for the receipt of " + entry.transactionId));
+                continue;
+            }
+
+            if (polls >= maxPollsPerInterval || now - entry.nextPollAt < 0) {
+                continue;
+            }
+
+            if (entry.inFlight.compareAndSet(false, true)) {
+                poll(entry, nodes, now);
+                polls++;
+            }
+        }
+
+        scheduleTick();
+    }
+
+    private void poll(PendingReceipt entry, List<AccountId> nodes, long now) {
+        var nodeId = selectNode(entry, nodes);
+        var remaining = Duration.ofNanos(entry.deadline - now);
+        var timeout = remaining.compareTo(client.getGrpcDeadline()) < 0 ? remaining : client.getGrpcDeadline();
+
+        entry.attempts++;
+
+        new TransactionReceiptQuery()
+                .setTransactionId(entry.transactionId)
+                .setNodeAccountIds(Collections.singletonList(nodeId))
+                .setMaxAttempts(1)
+                .executeAsync(client, timeout)
+                .whenComplete((receipt, error) -> {
+                    if (error == null) {
+                        complete(entry, receipt, null);
+                        return;
+                    }
+
+                    var cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+
+                    if (cause instanceof PrecheckStatusException) {
+                        // the node rejected the query itself, e.g. INVALID_TRANSACTION_ID; polling again won't help
+                        complete(entry, null, cause);
+                        return;
+                    }
+
+                    // the receipt is not available yet or the node could not be reached, try again later
+                    entry.nextPollAt = System.nanoTime() + pollInterval.toNanos();
+                    entry.inFlight.set(false);
+                });
+    }
+
+    private AccountId selectNode(PendingReceipt entry, List<AccountId> nodes) {
+        if (entry.attempts == 0 && entry.nodeId != null) {
+            return entry.nodeId;
+        }
+
+        if (nodes.isEmpty()) {
+            return Objects.requireNonNull(entry.nodeId, "no nodes available to poll for receipts");
+        }
+
+        return nodes.get(Math.floorMod(nextNodeIndex.getAndIncrement(), nodes.size()));
+    }
+
+    private List<AccountId> getNodesForPolling() {
+        try {
+            return client.network.getNodeAccountIdsForExecute();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } catch (IllegalStateException e) {
+            // no healthy node right now, fall back to the node which accepted the transaction
+            return Collections.emptyList();
+        }
+    }
+
+    private void complete(PendingReceipt entry, @Nullable TransactionReceipt receipt, @Nullable Throwable error) {
+        if (!pending.remove(entry.transactionId, entry)) {
+            return;
+        }
+
+        if (error != null) {
+            entry.future.completeExceptionally(error);
+        } else {
+            entry.future.complete(receipt);
+        }
+    }
+
+    private static final class PendingReceipt {
+        final TransactionId transactionId;
+
+        @Nullable
+        final AccountId nodeId;
+
+        final long deadline;
+
+        final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+
+        final AtomicBoolean inFlight = new AtomicBoolean(false);
+
+        volatile long nextPollAt;
+
+        // only touched by the thread which set inFlight
+        int attempts = 0;
+
+        PendingReceipt(TransactionId transactionId, @Nullable AccountId nodeId, long nextPollAt, long deadline) {
+            this.transactionId = transactionId;
+            this.nodeId = nodeId;
+            this.nextPollAt = nextPollAt;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.math.BigInteger;
+import java.util.Arrays;
+import org.bouncycastle.util.BigIntegers;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * An ECDSA (secp256k1) signature together with the recovery ID which identifies the signing public key among the
+ * candidates that can be recovered from it.
+ * <p>
+ * Created by {@link PrivateKeyECDSA#signRecoverable(byte[])}.
+ */
+public final class RecoverableSignature {
+    private final byte[] r;
+
+    private final byte[] s;
+
+    private final int recoveryId;
+
+    /**
+     * Constructor.
+     *
+     * @param r                         the 32 byte R value
+     * @param s                         the 32 byte S value
+     * @param recoveryId                the recovery ID
+     */
+    RecoverableSignature(byte[] r, byte[] s, int recoveryId) {
+        this.r = r;
+        this.s = s;
+        this.recoveryId = recoveryId;
+    }
+
+    /**
+     * Create the equivalent signature whose S value is at most half the curve order, as Ethereum requires
+     * (<a href="https://github.com/ethereum/EIPs/blob/master/EIPS/eip-2.md">EIP-2</a>).
+     * <p>
+     * Replacing S by {@code n - S} gives the signature of the negated nonce point, whose Y coordinate has the other
+     * parity, so the lowest bit of the recovery ID flips.
+     *
+     * @return                          the signature with a low S value
+     */
+    RecoverableSignature toLowS() {
+        var n = Key.ECDSA_SECP256K1_DOMAIN.getN();
+        var sValue = new BigInteger(1, s);
+
+        if (sValue.compareTo(n.shiftRight(1)) <= 0) {
+            return this;
+        }
+
+        return new RecoverableSignature(r, BigIntegers.asUnsignedByteArray(32, n.subtract(sValue)), recoveryId ^ 1);
+    }
+
+    /**
+     * Extract the R value of the signature.
+     *
+     * @return                          the 32 byte R value
+     */
+    public byte[] getR() {
+        return r.clone();
+    }
+
+    /**
+     * Extract the S value of the signature.
+     *
+     * @return                          the 32 byte S value
+     */
+    public byte[] getS() {
+        return s.clone();
+    }
+
+    /**
+     * Extract the recovery ID of the signature.
+     * <p>
+     * This is the parity of the Y coordinate of the nonce point, plus 2 in the negligibly rare case where its X
+     * coordinate is not smaller than the curve order. Ethereum encodes it as {@code v = 27 + recoveryId} in legacy
+     * transactions without a chain ID, as {@code v = chainId * 2 + 35 + recoveryId} in legacy transactions with a
+     * chain ID (EIP-155), and as is in typed transactions.
+     *
+     * @return                          the recovery ID
+     */
+    public int getRecoveryId() {
+        return recoveryId;
+    }
+
+    /**
+     * Create the 64 byte {@code r || s} representation of the signature, as returned by
+     * {@link PrivateKeyECDSA#sign(byte[])}.
+     *
+     * @return                          the signature bytes
+     */
+    public byte[] toBytes() {
+        var bytes = Arrays.copyOf(r, 64);
+        System.arraycopy(s, 0, bytes, 32, 32);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("r", Hex.toHexString(r))
+                .add("s", Hex.toHexString(s))
+                .add("recoveryId", recoveryId)
+                .toString();
+    }
+}
@@ -0,0 +1,93 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A batch of signatures to verify at once.
+ * <p>
+ * Small batches are verified on the calling thread. From {@link #PARALLEL_THRESHOLD} signatures on, the batch is
+ * split over the common fork-join pool; signature verification doesn't share any state, so it scales with the
+ * number of cores.
+ */
+final class SignatureBatch {
+    /**
+     * Number of signatures from which a batch is verified in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 32;
+
+    private final List<PublicKey> publicKeys = new ArrayList<>();
+
+    private final List<byte[]> messages = new ArrayList<>();
+
+    private final List<byte[]> signatures = new ArrayList<>();
+
+    /**
+     * Add a signature to verify.
+     *
+     * @param publicKey                 the key which created the signature
+     * @param message                   the signed message; may be shared between signatures
+     * @param signature                 the signature
+     * @return                          the index of the signature in the results of {@link #verify()}
+     */
+    int add(PublicKey publicKey, byte[] message, byte[] signature) {
+        publicKeys.add(publicKey);
+        messages.add(message);
+        signatures.add(signature);
+        return publicKeys.size() - 1;
+    }
+
+    /**
+     * Extract the number of signatures in the batch.
+     *
+     * @return                          the number of signatures
+     */
+    int size() {
+        return publicKeys.size();
+    }
+
+    /**
+     * Verify all signatures of the batch.
+     *
+     * @return                          whether each signature is valid, in the order they were added
+     */
+    boolean[] verify() {
+        var results = new boolean[size()];
+        var indices = IntStream.range(0, results.length);
+
+        if (results.length >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+
+        // the terminal operation only returns once every element was processed, which makes the writes visible
+        indices.forEach(i -> results[i] = verify(i));
+
+        return results;
+    }
+
+    /**
+     * Verify all signatures of the batch.
+     *
+     * @return                          whether every signature is valid
+     */
+    boolean verifyAll() {
+        for (var valid : verify()) {
+            if (!valid) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean verify(int index) {
+        try {
+            return publicKeys.get(index).verify(messages.get(index), signatures.get(index));
+        } catch (RuntimeException e) {
+            // a malformed signature is just not valid
+            return false;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.SignatureMap;
+import com.hedera.hashgraph.sdk.proto.SignaturePair;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Combines several serialized copies of the same transaction, each signed by different keys, into one.
+ * <p>
+ * The first copy added defines the transaction: its entries (one per node and chunk) are kept in order. Every later
+ * copy must have exactly the same entries, matched by their body bytes, since signatures are only valid for those
+ * bytes. The signature pairs of matching entries are unioned. Two pairs are from the same signer when the public key
+ * prefix of one starts with the prefix of the other, and then only the pair with the longer prefix is kept.
+ * <p>
+ * Each copy is read once. Bodies are compared by their bytes, and only the signature maps are parsed, so merging
+ * takes time linear in the size of the input and in the number of signers per entry.
+ * <p>
+ * See {@link Transaction#mergeSignatures(byte[]...)}.
+ */
+final class SignatureMerger {
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final HashMap<ByteString, Entry> entriesByBody = new HashMap<>();
+
+    /**
+     * Add a serialized copy of the transaction.
+     *
+     * @param bytes                     the bytes of the transaction, as returned by {@link Transaction#toBytes()}
+     * @return {@code this}
+     * @throws InvalidProtocolBufferException when there is an issue with the protobuf
+     * @throws IllegalArgumentException when the copy does not contain exactly the bodies of the transaction
+     */
+    SignatureMerger add(byte[] bytes) throws InvalidProtocolBufferException {
+        var signedTransactions = signedTransactionsOf(bytes);
+        var isFirst = entries.isEmpty();
+        var matched = new HashSet<Entry>();
+
+        for (var signedTransaction : signedTransactions) {
+            var bodyBytes = TransactionBytes.bodyBytesOf(signedTransaction);
+            var sigMap = SignatureMap.parseFrom(TransactionBytes.sigMapBytesOf(signedTransaction));
+
+            var entry = entriesByBody.get(bodyBytes);
+            if (entry == null) {
+                if (!isFirst) {
+                    throw new IllegalArgumentException(
+                            "mergeSignatures() failed because the transactions do not have the same bodies");
+                }
+
+                entry = new Entry(bodyBytes);
+                entries.add(entry);
+                entriesByBody.put(bodyBytes, entry);
+            }
+
+            entry.addAll(sigMap);
+            matched.add(entry);
+        }
+
+        if (matched.size() != entries.size()) {
+            throw new IllegalArgumentException(
+                    "mergeSignatures() failed because a transaction is missing some of the signed transactions");
+        }
+
+        return this;
+    }
+
+    /**
+     * Serialize the merged transaction.
+     *
+     * @return                          the bytes of the merged transaction
+     */
+    byte[] toBytes() {
+        if (entries.isEmpty()) {
+            throw new IllegalStateException("no transactions to merge");
+        }
+
+        var list = TransactionList.newBuilder();
+
+        for (var entry : entries) {
+            list.addTransactionList(com.hedera.hashgraph.sdk.proto.Transaction.newBuilder()
+                    .setSignedTransactionBytes(SignedTransaction.newBuilder()
+                            .setBodyBytes(entry.bodyBytes)
+                            .setSigMap(SignatureMap.newBuilder().addAllSigPair(entry.sigPairs.values()))
+                            .build()
+                            .toByteString()));
+        }
+
+        return list.build().toByteArray();
+    }
+
+    private static List<ByteString> signedTransactionsOf(byte[] bytes) throws InvalidProtocolBufferException {
+        var list = TransactionList.parseFrom(bytes);
+        var signedTransactions = new ArrayList<ByteString>(Math.max(1, list.getTransactionListCount()));
+
+        if (list.getTransactionListList().isEmpty()) {
+            // a single transaction, possibly with the deprecated body and signature fields
+            var transaction = com.hedera.hashgraph.sdk.proto.Transaction.parseFrom(bytes);
+
+            if (transaction.getSignedTransactionBytes().isEmpty()) {
+                signedTransactions.add(SignedTransaction.newBuilder()
+                        .setBodyBytes(transaction.getBodyBytes())
+                        .setSigMap(transaction.getSigMap())
+                        .build()
+                        .toByteString());
+            } else {
+                signedTransactions.add(transaction.getSignedTransactionBytes());
+            }
+        } else {
+            for (var transaction : list.getTransactionListList()) {
+                signedTransactions.add(transaction.getSignedTransactionBytes());
+            }
+        }
+
+        return signedTransactions;
+    }
+
+    private static final class Entry {
+        // the size of the shortest public key, an Ed25519 key; a compressed ECDSA key is one byte longer
+        private static final int PUBLIC_KEY_SIZE = 32;
+
+        final ByteString bodyBytes;
+
+        // by public key prefix, in the order they were added
+        final LinkedHashMap<ByteString, SignaturePair> sigPairs = new LinkedHashMap<>();
+
+        // the prefixes in sigPairs which are shorter than a public key
+        private final List<ByteString> truncatedPrefixes = new ArrayList<>();
+
+        Entry(ByteString bodyBytes) {
+            this.bodyBytes = Objects.requireNonNull(bodyBytes);
+        }
+
+        void addAll(SignatureMap other) {
+            for (var sigPair : other.getSigPairList()) {
+                add(sigPair);
+            }
+        }
+
+        private void add(SignaturePair sigPair) {
+            var prefix = sigPair.getPubKeyPrefix();
+
+            if (sigPairs.containsKey(prefix)) {
+                return;
+            }
+
+            // a full public key only needs to be compared with the truncated prefixes, a truncated prefix with all
+            var candidates = prefix.size() < PUBLIC_KEY_SIZE ? sigPairs.keySet() : truncatedPrefixes;
+
+            for (var existingPrefix : candidates) {
+                if (isSameSigner(prefix, existingPrefix)) {
+                    if (prefix.size() > existingPrefix.size()) {
+                        sigPairs.remove(existingPrefix);
+                        truncatedPrefixes.remove(existingPrefix);
+                        put(prefix, sigPair);
+                    }
+
+                    return;
+                }
+            }
+
+            put(prefix, sigPair);
+        }
+
+        private void put(ByteString prefix, SignaturePair sigPair) {
+            sigPairs.put(prefix, sigPair);
+
+            if (prefix.size() < PUBLIC_KEY_SIZE) {
+                truncatedPrefixes.add(prefix);
+            }
+        }
+
+        private static boolean isSameSigner(ByteString prefix, ByteString otherPrefix) {
+            // an empty prefix is only used when there is a single signer, and it says nothing about who that is
+            if (prefix.isEmpty() || otherPrefix.isEmpty()) {
+                return prefix.isEmpty() && otherPrefix.isEmpty();
+            }
+
+            return prefix.size() <= otherPrefix.size()
+                    ? otherPrefix.startsWith(prefix)
+                    : prefix.startsWith(otherPrefix);
+        }
+    }
+}
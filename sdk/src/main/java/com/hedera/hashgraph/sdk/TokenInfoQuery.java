@@ -46,6 +46,11 @@ public class TokenInfoQuery extends com.hedera.hashgraph.sdk.Query<TokenInfo, To
         return this;
     }
 
+    @Override
+    boolean isResultCacheable() {
+        return true;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (tokenId != null) {
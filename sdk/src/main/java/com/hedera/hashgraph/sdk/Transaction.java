@@ -1,15 +1,21 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
+import com.google.protobuf.ByteOutput;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
 import com.hedera.hashgraph.sdk.proto.SchedulableTransactionBody;
 import com.hedera.hashgraph.sdk.proto.SignatureMap;
 import com.hedera.hashgraph.sdk.proto.SignaturePair;
 import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -113,6 +119,16 @@ public abstract class Transaction<T extends Transaction<T>>
      */
     protected List<Function<byte[], byte[]>> signers = new ArrayList<>();
 
+    /**
+     * SHA-384 hashes of the built {@link #outerTransactions}, memoized per entry. A hash is only used while the entry at
+     * the same index is the exact instance it was computed from. Adding a signature nullifies and later rebuilds the
+     * entries, which invalidates their hashes.
+     */
+    private com.hedera.hashgraph.sdk.proto.Transaction[] hashedTransactions =
+            new com.hedera.hashgraph.sdk.proto.Transaction[0];
+
+    private byte[][] transactionHashes = new byte[0][];
+
     /**
      * The maximum transaction fee the client is willing to pay
      */
@@ -129,6 +145,14 @@ public abstract class Transaction<T extends Transaction<T>>
 
     private String memo = "";
 
+    // the first attempt of the current execution which failed without a response, so a node may have received it
+    @Nullable
+    private com.hedera.hashgraph.sdk.proto.Transaction unknownOutcomeRequest = null;
+
+    // the request of the latest attempt
+    @Nullable
+    private com.hedera.hashgraph.sdk.proto.Transaction lastRequest = null;
+
     List<CustomFeeLimit> customFeeLimits = new ArrayList<>();
 
     /**
@@ -212,16 +236,21 @@ public abstract class Transaction<T extends Transaction<T>>
 
             // Verify that transaction bodies match
             for (int i = 0; i < txCount; i++) {
-                TransactionBody firstTxBody = null;
-                for (int j = 0; j < nodeCount; j++) {
-                    int k = i * nodeCount + j;
-                    var txBody = TransactionBody.parseFrom(
-                            innerSignedTransactions.get(k).getBodyBytes());
-                    if (firstTxBody == null) {
-                        firstTxBody = txBody;
-                    } else {
+                var firstBodyBytes = innerSignedTransactions.get(i * nodeCount).getBodyBytes();
+                ByteString firstComparableBytes = null;
+                for (int j = 1; j < nodeCount; j++) {
+                    var bodyBytes = innerSignedTransactions.get(i * nodeCount + j).getBodyBytes();
+                    if (firstComparableBytes == null) {
+                        firstComparableBytes = TransactionBytes.withoutNodeAccountId(firstBodyBytes);
+                    }
+                    if (!firstComparableBytes.equals(TransactionBytes.withoutNodeAccountId(bodyBytes))) {
+                        // Different bytes may still encode equal bodies (e.g. fields written in another order),
+                        // so only the parsed messages can tell whether they really differ.
                         requireProtoMatches(
-                                firstTxBody, txBody, new HashSet<>(List.of("NodeAccountID")), "TransactionBody");
+                                TransactionBody.parseFrom(firstBodyBytes),
+                                TransactionBody.parseFrom(bodyBytes),
+                                new HashSet<>(List.of("NodeAccountID")),
+                                "TransactionBody");
                     }
                 }
             }
@@ -291,18 +320,19 @@ public abstract class Transaction<T extends Transaction<T>>
             txs.put(transactionId, linked);
         } else {
             for (var transaction : list.getTransactionListList()) {
-                var signedTransaction = SignedTransaction.parseFrom(transaction.getSignedTransactionBytes());
-                var txBody = TransactionBody.parseFrom(signedTransaction.getBodyBytes());
+                // Only the header of each body is needed here, the bodies are parsed by the constructor
+                var header = TransactionBytes.readHeader(
+                        TransactionBytes.bodyBytesOf(transaction.getSignedTransactionBytes()));
 
                 if (dataCase.getNumber() == TransactionBody.DataCase.DATA_NOT_SET.getNumber()) {
-                    dataCase = txBody.getDataCase();
+                    dataCase = header.dataCase;
                 }
 
-                var account = txBody.hasNodeAccountID()
-                        ? AccountId.fromProtobuf(txBody.getNodeAccountID())
+                var account = header.nodeAccountId != null
+                        ? AccountId.fromProtobuf(header.nodeAccountId)
                         : DUMMY_ACCOUNT_ID;
-                var transactionId = txBody.hasTransactionID()
-                        ? TransactionId.fromProtobuf(txBody.getTransactionID())
+                var transactionId = header.transactionId != null
+                        ? TransactionId.fromProtobuf(header.transactionId)
                         : DUMMY_TRANSACTION_ID;
 
                 var linked = txs.containsKey(transactionId)
@@ -370,6 +400,32 @@ public abstract class Transaction<T extends Transaction<T>>
         };
     }
 
+    /**
+     * Combine several copies of the same transaction, each signed by different keys, into one transaction which holds
+     * all the signatures.
+     * <p>
+     * The copies must have been serialized from the same frozen transaction, e.g. with {@link #toBytes()}. Signatures
+     * are merged per node and chunk, and duplicate signatures of the same key are only kept once. This is much cheaper
+     * than calling {@link #fromBytes(byte[])} and {@link #addSignature(PublicKey, byte[])} for every copy.
+     *
+     * @param transactionBytes the bytes of each copy of the transaction
+     * @return the new transaction
+     * @throws InvalidProtocolBufferException when there is an issue with the protobuf
+     * @throws IllegalArgumentException when the copies are not of the same transaction
+     */
+    public static Transaction<?> mergeSignatures(byte[]... transactionBytes) throws InvalidProtocolBufferException {
+        if (transactionBytes.length == 0) {
+            throw new IllegalArgumentException("mergeSignatures() requires at least one transaction");
+        }
+
+        var merger = new SignatureMerger();
+        for (var bytes : transactionBytes) {
+            merger.add(bytes);
+        }
+
+        return fromBytes(merger.toBytes());
+    }
+
     /**
      * Create the correct transaction from a scheduled transaction.
      *
@@ -602,6 +658,27 @@ public abstract class Transaction<T extends Transaction<T>>
         return hash;
     }
 
+    /**
+     * Generate a hash from a byte string without copying it into a new byte array.
+     *
+     * @param bytes the byte string
+     * @return the hash
+     */
+    static byte[] hash(ByteString bytes) {
+        var digest = new SHA384Digest();
+        var hash = new byte[digest.getDigestSize()];
+
+        try {
+            // the digest only reads the backing arrays and never keeps a reference to them
+            UnsafeByteOperations.unsafeWriteTo(bytes, new DigestByteOutput(digest));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        digest.doFinal(hash, 0);
+
+        return hash;
+    }
+
     private static boolean publicKeyIsInSigPairList(ByteString publicKeyBytes, List<SignaturePair> sigPairList) {
         for (var pair : sigPairList) {
             if (pair.getPubKeyPrefix().equals(publicKeyBytes)) {
@@ -818,9 +895,7 @@ public abstract class Transaction<T extends Transaction<T>>
 
         var index = transactionIds.getIndex() * nodeAccountIds.size() + nodeAccountIds.getIndex();
 
-        buildTransaction(index);
-
-        return hash(outerTransactions.get(index).getSignedTransactionBytes().toByteArray());
+        return getTransactionHashAt(index);
     }
 
     /**
@@ -839,14 +914,39 @@ public abstract class Transaction<T extends Transaction<T>>
         var hashes = new HashMap<AccountId, byte[]>();
 
         for (var i = 0; i < outerTransactions.size(); i++) {
-            hashes.put(
-                    nodeAccountIds.get(i),
-                    hash(outerTransactions.get(i).getSignedTransactionBytes().toByteArray()));
+            hashes.put(nodeAccountIds.get(i), getTransactionHashAt(i));
         }
 
         return hashes;
     }
 
+    /**
+     * Extract the hash of the outer transaction at {@code index}, building it first if needed. This function is only
+     * ever called after the transaction is frozen.
+     *
+     * @param index the index of the outer transaction
+     * @return a copy of the memoized hash
+     */
+    final byte[] getTransactionHashAt(int index) {
+        buildTransaction(index);
+
+        return getTransactionHash(index, outerTransactions.get(index)).clone();
+    }
+
+    private byte[] getTransactionHash(int index, com.hedera.hashgraph.sdk.proto.Transaction transaction) {
+        if (hashedTransactions.length != outerTransactions.size()) {
+            hashedTransactions = new com.hedera.hashgraph.sdk.proto.Transaction[outerTransactions.size()];
+            transactionHashes = new byte[outerTransactions.size()][];
+        }
+
+        if (hashedTransactions[index] != transaction) {
+            transactionHashes[index] = hash(transaction.getSignedTransactionBytes());
+            hashedTransactions[index] = transaction;
+        }
+
+        return transactionHashes[index];
+    }
+
     @Override
     final TransactionId getTransactionIdInternal() {
         return transactionIds.getCurrent();
@@ -1311,7 +1411,8 @@ public abstract class Transaction<T extends Transaction<T>>
 
         buildTransaction(index);
 
-        return outerTransactions.get(index);
+        lastRequest = outerTransactions.get(index);
+        return lastRequest;
     }
 
     @Override
@@ -1320,12 +1421,34 @@ public abstract class Transaction<T extends Transaction<T>>
             AccountId nodeId,
             com.hedera.hashgraph.sdk.proto.Transaction request) {
         var transactionId = Objects.requireNonNull(getTransactionIdInternal());
-        var hash = hash(request.getSignedTransactionBytes().toByteArray());
+
+        // a duplicate is the transaction an earlier attempt submitted, whose body names the node it was sent to, so
+        // its hash is reported; the node which answered is kept, as it is known to be reachable
+        var submitted = transactionResponse.getNodeTransactionPrecheckCode() == ResponseCodeEnum.DUPLICATE_TRANSACTION
+                        && unknownOutcomeRequest != null
+                ? unknownOutcomeRequest
+                : request;
+
+        var index = outerTransactionIndexOf(submitted);
+        var hash = index < 0
+                ? hash(submitted.getSignedTransactionBytes())
+                : getTransactionHash(index, submitted).clone();
         // advance is needed for chunked transactions
         transactionIds.advance();
         return new TransactionResponse(nodeId, transactionId, hash, null, this);
     }
 
+    private int outerTransactionIndexOf(com.hedera.hashgraph.sdk.proto.Transaction transaction) {
+        // identity rather than equals(), which would compare the serialized bytes of every entry
+        for (var i = 0; i < outerTransactions.size(); i++) {
+            if (outerTransactions.get(i) == transaction) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     @Override
     final Status mapResponseStatus(com.hedera.hashgraph.sdk.proto.TransactionResponse transactionResponse) {
         return Status.valueOf(transactionResponse.getNodeTransactionPrecheckCode());
@@ -1339,6 +1462,9 @@ public abstract class Transaction<T extends Transaction<T>>
      * @param client the configured client
      */
     void onExecute(Client client) {
+        unknownOutcomeRequest = null;
+        lastRequest = null;
+
         if (!isFrozen()) {
             freezeWith(client);
         }
@@ -1370,8 +1496,18 @@ public abstract class Transaction<T extends Transaction<T>>
 
     @Override
     ExecutionState getExecutionState(Status status, com.hedera.hashgraph.sdk.proto.TransactionResponse response) {
+        if (status == Status.DUPLICATE_TRANSACTION && unknownOutcomeRequest != null) {
+            // an earlier attempt reached a node after all; the receipt of the transaction ID tells its outcome
+            logger.debug("Transaction {} was already submitted by an earlier attempt", getTransactionIdInternal());
+            return ExecutionState.SUCCESS;
+        }
+
         if (status == Status.TRANSACTION_EXPIRED) {
-            if ((regenerateTransactionId != null && !regenerateTransactionId) || transactionIds.isLocked()) {
+            if (unknownOutcomeRequest != null) {
+                // an earlier attempt may still reach consensus under this transaction ID, so resubmitting under a new
+                // ID could execute the transaction twice; the receipt of this ID tells its outcome
+                return ExecutionState.REQUEST_ERROR;
+            } else if ((regenerateTransactionId != null && !regenerateTransactionId) || transactionIds.isLocked()) {
                 return ExecutionState.REQUEST_ERROR;
             } else {
                 var firstTransactionId = Objects.requireNonNull(transactionIds.get(0));
@@ -1384,6 +1520,18 @@ public abstract class Transaction<T extends Transaction<T>>
         return super.getExecutionState(status, response);
     }
 
+    @Override
+    boolean shouldRetryExceptionally(@Nullable Throwable error) {
+        var retry = super.shouldRetryExceptionally(error);
+
+        // the call may have failed after the node received the transaction
+        if (retry && unknownOutcomeRequest == null) {
+            unknownOutcomeRequest = lastRequest;
+        }
+
+        return retry;
+    }
+
     Transaction regenerateTransactionId(Client client) {
         Objects.requireNonNull(client.getOperatorAccountId());
         transactionIds.setLocked(false);
@@ -1410,4 +1558,51 @@ public abstract class Transaction<T extends Transaction<T>>
 
         return body.buildPartial().toString().replaceAll("@[A-Za-z0-9]+", "");
     }
+
+    /**
+     * Feeds the chunks of a {@link ByteString} straight into a digest.
+     */
+    private static final class DigestByteOutput extends ByteOutput {
+        private final SHA384Digest digest;
+
+        DigestByteOutput(SHA384Digest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(byte value) {
+            digest.update(value);
+        }
+
+        @Override
+        public void write(byte[] value, int offset, int length) {
+            digest.update(value, offset, length);
+        }
+
+        @Override
+        public void writeLazy(byte[] value, int offset, int length) {
+            digest.update(value, offset, length);
+        }
+
+        @Override
+        public void write(ByteBuffer value) {
+            if (value.hasArray()) {
+                digest.update(value.array(), value.arrayOffset() + value.position(), value.remaining());
+                value.position(value.limit());
+                return;
+            }
+
+            var chunk = new byte[Math.min(value.remaining(), 8192)];
+            while (value.hasRemaining()) {
+                var length = Math.min(value.remaining(), chunk.length);
+                value.get(chunk, 0, length);
+                digest.update(chunk, 0, length);
+            }
+        }
+
+        @Override
+        public void writeLazy(ByteBuffer value) {
+            write(value);
+        }
+    }
 }
@@ -0,0 +1,192 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import java.io.IOException;
+import javax.annotation.Nullable;
+
+/**
+ * Utility class used internally by the sdk.
+ * <p>
+ * Reads the few fields of serialized {@code SignedTransaction} and {@code TransactionBody} messages that are needed
+ * while deserializing a transaction, without parsing the whole message. Length-delimited fields which are not needed
+ * are skipped, and the returned byte strings are views into the input rather than copies.
+ */
+final class TransactionBytes {
+    private static final int SIGNED_TRANSACTION_BODY_BYTES_FIELD = 1;
+
+    private static final int SIGNED_TRANSACTION_SIG_MAP_FIELD = 2;
+
+    private static final int BODY_TRANSACTION_ID_FIELD = 1;
+
+    private static final int BODY_NODE_ACCOUNT_ID_FIELD = 2;
+
+    /**
+     * Constructor.
+     */
+    private TransactionBytes() {}
+
+    /**
+     * Extract the {@code bodyBytes} of a serialized {@code SignedTransaction} without parsing its signature map.
+     *
+     * @param signedTransactionBytes    the serialized SignedTransaction
+     * @return                          the body bytes
+     * @throws InvalidProtocolBufferException when there is an issue with the protobuf
+     */
+    static ByteString bodyBytesOf(ByteString signedTransactionBytes) throws InvalidProtocolBufferException {
+        return readField(signedTransactionBytes, SIGNED_TRANSACTION_BODY_BYTES_FIELD, false);
+    }
+
+    /**
+     * Extract the serialized {@code sigMap} of a serialized {@code SignedTransaction} without copying its body.
+     * <p>
+     * A message field which occurs more than once is merged by protobuf, so the occurrences are concatenated.
+     *
+     * @param signedTransactionBytes    the serialized SignedTransaction
+     * @return                          the serialized signature map
+     * @throws InvalidProtocolBufferException when there is an issue with the protobuf
+     */
+    static ByteString sigMapBytesOf(ByteString signedTransactionBytes) throws InvalidProtocolBufferException {
+        return readField(signedTransactionBytes, SIGNED_TRANSACTION_SIG_MAP_FIELD, true);
+    }
+
+    /**
+     * Remove the {@code nodeAccountID} field from a serialized {@code TransactionBody}.
+     * <p>
+     * The SDK serializes every per-node body from the same builder, so two bodies which only differ in their node
+     * are equal byte for byte once this field is removed.
+     *
+     * @param bodyBytes                 the serialized TransactionBody
+     * @return                          the body bytes without the node account ID
+     * @throws InvalidProtocolBufferException when there is an issue with the protobuf
+     */
+    static ByteString withoutNodeAccountId(ByteString bodyBytes) throws InvalidProtocolBufferException {
+        var input = bodyBytes.newCodedInput();
+        var result = ByteString.EMPTY;
+        var segmentStart = 0;
+
+        try {
+            while (true) {
+                var fieldStart = input.getTotalBytesRead();
+                var tag = input.readTag();
+
+                if (tag == 0) {
+                    break;
+                }
+
+                input.skipField(tag);
+
+                if (WireFormat.getTagFieldNumber(tag) == BODY_NODE_ACCOUNT_ID_FIELD) {
+                    result = result.concat(bodyBytes.substring(segmentStart, fieldStart));
+                    segmentStart = input.getTotalBytesRead();
+                }
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+
+        return segmentStart == 0 ? bodyBytes : result.concat(bodyBytes.substring(segmentStart));
+    }
+
+    /**
+     * Read the transaction ID, node account ID and data case of a serialized {@code TransactionBody}. The transaction
+     * data itself is skipped.
+     *
+     * @param bodyBytes                 the serialized TransactionBody
+     * @return                          the header fields of the body
+     * @throws InvalidProtocolBufferException when there is an issue with the protobuf
+     */
+    static Header readHeader(ByteString bodyBytes) throws InvalidProtocolBufferException {
+        var input = aliasingInput(bodyBytes);
+        var header = new Header();
+
+        try {
+            while (true) {
+                var tag = input.readTag();
+
+                if (tag == 0) {
+                    break;
+                }
+
+                var fieldNumber = WireFormat.getTagFieldNumber(tag);
+
+                if (fieldNumber == BODY_TRANSACTION_ID_FIELD) {
+                    header.transactionId = TransactionID.parseFrom(input.readBytes());
+                } else if (fieldNumber == BODY_NODE_ACCOUNT_ID_FIELD) {
+                    header.nodeAccountId = AccountID.parseFrom(input.readBytes());
+                } else {
+                    var dataCase = TransactionBody.DataCase.forNumber(fieldNumber);
+                    if (dataCase != null) {
+                        // the last member of a oneof on the wire wins
+                        header.dataCase = dataCase;
+                    }
+
+                    input.skipField(tag);
+                }
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+
+        return header;
+    }
+
+    private static ByteString readField(ByteString bytes, int fieldNumber, boolean isMessage)
+            throws InvalidProtocolBufferException {
+        var input = aliasingInput(bytes);
+        var value = ByteString.EMPTY;
+
+        try {
+            while (true) {
+                var tag = input.readTag();
+
+                if (tag == 0) {
+                    break;
+                }
+
+                if (WireFormat.getTagFieldNumber(tag) == fieldNumber) {
+                    // the last occurrence of a scalar wins, while the occurrences of a message are merged
+                    value = isMessage ? value.concat(input.readBytes()) : input.readBytes();
+                } else {
+                    input.skipField(tag);
+                }
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+
+        return value;
+    }
+
+    private static CodedInputStream aliasingInput(ByteString bytes) {
+        // byte strings are immutable, so the values read can safely share their storage
+        var input = bytes.newCodedInput();
+        input.enableAliasing(true);
+        return input;
+    }
+
+    /**
+     * The header fields of a serialized {@code TransactionBody}.
+     */
+    static final class Header {
+        @Nullable
+        TransactionID transactionId = null;
+
+        @Nullable
+        AccountID nodeAccountId = null;
+
+        TransactionBody.DataCase dataCase = TransactionBody.DataCase.DATA_NOT_SET;
+    }
+}
@@ -12,7 +12,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
@@ -51,7 +51,20 @@ public final class TransactionId implements Comparable<TransactionId> {
 
     private static final long NANOSECONDS_TO_REMOVE = 10000000000L;
 
-    private static final AtomicLong monotonicTime = new AtomicLong();
+    /**
+     * Number of independent clocks for generated valid start times, selected by the payer account.
+     */
+    private static final int MONOTONIC_TIME_STRIPES = 64;
+
+    /**
+     * Distance between the clocks in {@link #monotonicTimes}, so that each clock sits on its own cache line.
+     */
+    private static final int MONOTONIC_TIME_PADDING = 16;
+
+    // IDs only have to be unique and increasing per payer, so each payer's IDs are taken from one of many clocks
+    // instead of all threads contending on a single one
+    private static final AtomicLongArray monotonicTimes =
+            new AtomicLongArray(MONOTONIC_TIME_STRIPES * MONOTONIC_TIME_PADDING);
 
     /**
      * No longer part of the public API. Use `Transaction.withValidStart()` instead.
@@ -82,10 +95,14 @@ public final class TransactionId implements Comparable<TransactionId> {
      * <p>Note that transaction IDs are made of the valid start of the transaction and the account
      * that will be charged the transaction fees for the transaction.
      *
+     * <p>The valid starts of the IDs generated for an account are unique and strictly increasing, across all
+     * threads.
+     *
      * @param accountId the ID of the Hedera account that will be charge the transaction fees.
      * @return {@link com.hedera.hashgraph.sdk.TransactionId}
      */
     public static TransactionId generate(AccountId accountId) {
+        var index = monotonicTimeIndex(accountId);
         long currentTime;
         long lastTime;
 
@@ -98,14 +115,14 @@ public final class TransactionId implements Comparable<TransactionId> {
             currentTime = System.currentTimeMillis() * NANOSECONDS_PER_MILLISECOND - NANOSECONDS_TO_REMOVE;
 
             // Get the last recorded timestamp.
-            lastTime = monotonicTime.get();
+            lastTime = monotonicTimes.get(index);
 
             // If the current time is less than or equal to the last recorded time,
             // adjust the timestamp to ensure it is strictly increasing.
             if (currentTime <= lastTime) {
                 currentTime = lastTime + TIMESTAMP_INCREMENT_NANOSECONDS;
             }
-        } while (!monotonicTime.compareAndSet(lastTime, currentTime));
+        } while (!monotonicTimes.compareAndSet(index, lastTime, currentTime));
 
         // NOTE: using ThreadLocalRandom because it's compatible with Android SDK version 26
         return new TransactionId(
@@ -114,6 +131,25 @@ public final class TransactionId implements Comparable<TransactionId> {
                         0, currentTime + ThreadLocalRandom.current().nextLong(1_000)));
     }
 
+    /**
+     * Select the clock for the valid starts of an account.
+     * <p>
+     * Equal account IDs have equal numbers, so an account always uses the same clock.
+     *
+     * @param accountId                 the payer account
+     * @return                          the index of the clock in {@link #monotonicTimes}
+     */
+    private static int monotonicTimeIndex(@Nullable AccountId accountId) {
+        if (accountId == null) {
+            return 0;
+        }
+
+        // Fibonacci hashing, as account numbers are mostly sequential; the top bits of the product select the stripe
+        var stripe = (int) ((accountId.num * 0x9E3779B97F4A7C15L)
+                >>> (Long.SIZE - Integer.numberOfTrailingZeros(MONOTONIC_TIME_STRIPES)));
+        return stripe * MONOTONIC_TIME_PADDING;
+    }
+
     /**
      * Create a transaction id from a protobuf.
      *
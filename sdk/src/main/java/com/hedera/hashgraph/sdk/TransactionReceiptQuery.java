@@ -106,6 +106,11 @@ public final class TransactionReceiptQuery extends Query<TransactionReceipt, Tra
         return false;
     }
 
+    @Override
+    boolean isCoalescable() {
+        return true;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (transactionId != null) {
@@ -5,6 +5,7 @@ import com.google.common.base.MoreObjects;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
@@ -29,6 +30,9 @@ public final class TransactionResponse {
 
     /**
      * The transaction hash
+     * <p>
+     * When an attempt whose outcome was unknown was found to have been submitted after all, this is the hash of the
+     * transaction sent by that attempt, which may be to another node than {@link #nodeId}.
      */
     public final byte[] transactionHash;
 
@@ -44,6 +48,8 @@ public final class TransactionResponse {
     @Deprecated
     public final TransactionId scheduledTransactionId;
 
+    // the executed transaction, to resubmit it when it was throttled at consensus; null once compacted
+    @Nullable
     private final Transaction transaction;
 
     private boolean validateStatus = true;
@@ -55,13 +61,14 @@ public final class TransactionResponse {
      * @param transactionId          the transaction id
      * @param transactionHash        the transaction hash
      * @param scheduledTransactionId the scheduled transaction id
+     * @param transaction            the executed transaction
      */
     TransactionResponse(
             AccountId nodeId,
             TransactionId transactionId,
             byte[] transactionHash,
             @Nullable TransactionId scheduledTransactionId,
-            Transaction transaction) {
+            @Nullable Transaction transaction) {
         this.nodeId = nodeId;
         this.transactionId = transactionId;
         this.transactionHash = transactionHash;
@@ -86,6 +93,31 @@ public final class TransactionResponse {
         return this;
     }
 
+    /**
+     * Create a copy of this response which doesn't keep the executed transaction.
+     * <p>
+     * A response keeps the transaction it came from, including its signed bytes for every node and chunk, to submit
+     * it again when it is throttled at consensus. Applications which hold on to many responses, for instance to fetch
+     * their receipts later, can keep the compact copies instead. {@link #getReceipt(Client)} on a compact response
+     * throws a {@link ReceiptStatusException} with {@link Status#THROTTLED_AT_CONSENSUS} instead of resubmitting
+     * the transaction.
+     *
+     * @return the compact copy
+     */
+    public TransactionResponse compact() {
+        return new TransactionResponse(nodeId, transactionId, transactionHash, scheduledTransactionId, null)
+                .setValidateStatus(validateStatus);
+    }
+
+    /**
+     * Is this a compact response, which doesn't keep the executed transaction?
+     *
+     * @return whether the response is compact
+     */
+    public boolean isCompact() {
+        return transaction == null;
+    }
+
     /**
      * Fetch the receipt of the transaction.
      *
@@ -117,8 +149,8 @@ public final class TransactionResponse {
                 // Attempt to execute the receipt query
                 return getReceiptQuery().execute(client, timeout).validateStatus(validateStatus);
             } catch (ReceiptStatusException e) {
-                // Check if the exception status indicates throttling
-                if (e.receipt.status == Status.THROTTLED_AT_CONSENSUS) {
+                // Check if the exception status indicates throttling, and the transaction is still there to retry
+                if (e.receipt.status == Status.THROTTLED_AT_CONSENSUS && transaction != null) {
                     // Retry the transaction
                     return retryTransaction(client);
                 } else {
@@ -130,11 +162,13 @@ public final class TransactionResponse {
     }
 
     private TransactionReceipt retryTransaction(Client client) throws PrecheckStatusException, TimeoutException {
+        var transaction = Objects.requireNonNull(this.transaction);
+
         // reset the transaction body
         transaction.frozenBodyBuilder = null;
         // regenerate the transaction id
         transaction.regenerateTransactionId(client);
-        TransactionResponse transactionResponse = (TransactionResponse) this.transaction.execute(client);
+        TransactionResponse transactionResponse = (TransactionResponse) transaction.execute(client);
         return new TransactionReceiptQuery()
                 .setTransactionId(transactionResponse.transactionId)
                 .setNodeAccountIds(List.of(transactionResponse.nodeId))
@@ -170,6 +204,10 @@ public final class TransactionResponse {
      * @return the transaction receipt
      */
     public CompletableFuture<TransactionReceipt> getReceiptAsync(Client client, Duration timeout) {
+        if (client.isReceiptPollingEnabled()) {
+            return client.getReceiptPoller().getReceiptAsync(this, timeout);
+        }
+
         return getReceiptQuery().executeAsync(client, timeout).thenCompose(receipt -> {
             try {
                 return CompletableFuture.completedFuture(receipt.validateStatus(validateStatus));
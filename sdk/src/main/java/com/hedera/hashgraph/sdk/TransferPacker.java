@@ -0,0 +1,422 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Turns a large set of payments into as few {@link TransferTransaction}s as possible.
+ * <p>
+ * Payments are netted first: the hbar and token amounts are summed per account, and NFTs which are passed along
+ * (A to B, then B to C) move directly from their first sender to their last receiver, or not at all if they come
+ * back. The net balances are then settled with as few transfers as possible, and the transfers are packed into
+ * transactions that stay within the transfer-count limits of the network and within a size limit for the transfer
+ * body, which is measured on the serialized protobuf.
+ * <p>
+ * The created transactions are not frozen; set the transaction IDs and nodes, then sign them with the keys of the
+ * senders they contain. Each transaction is balanced on its own, so they can be submitted in any order.
+ */
+public final class TransferPacker {
+    /**
+     * The default maximum number of hbar transfers in a transaction ({@code ledger.transfers.maxLen}).
+     */
+    public static final int DEFAULT_MAX_HBAR_TRANSFERS = 10;
+
+    /**
+     * The default maximum number of fungible token transfers in a transaction
+     * ({@code ledger.tokenTransfers.maxLen}).
+     */
+    public static final int DEFAULT_MAX_TOKEN_TRANSFERS = 10;
+
+    /**
+     * The default maximum number of NFT transfers in a transaction ({@code ledger.nftTransfers.maxLen}).
+     */
+    public static final int DEFAULT_MAX_NFT_TRANSFERS = 10;
+
+    /**
+     * The default maximum size of the serialized transfer body of a transaction. The network accepts transactions of
+     * up to 6144 bytes; the rest is left for the transaction ID, the other fields of the body and the signatures.
+     */
+    public static final int DEFAULT_MAX_TRANSFER_BYTES = 4096;
+
+    private final LinkedHashMap<AccountId, Long> hbarBalances = new LinkedHashMap<>();
+
+    private final LinkedHashMap<TokenId, LinkedHashMap<AccountId, Long>> tokenBalances = new LinkedHashMap<>();
+
+    private final LinkedHashMap<NftId, NftMove> nftMoves = new LinkedHashMap<>();
+
+    private int maxHbarTransfers = DEFAULT_MAX_HBAR_TRANSFERS;
+
+    private int maxTokenTransfers = DEFAULT_MAX_TOKEN_TRANSFERS;
+
+    private int maxNftTransfers = DEFAULT_MAX_NFT_TRANSFERS;
+
+    private int maxTransferBytes = DEFAULT_MAX_TRANSFER_BYTES;
+
+    /**
+     * Constructor.
+     */
+    public TransferPacker() {}
+
+    /**
+     * Add a payment of hbars.
+     *
+     * @param sender                    the paying account
+     * @param receiver                  the paid account
+     * @param amount                    the amount, must not be negative
+     * @return {@code this}
+     */
+    public TransferPacker addHbarTransfer(AccountId sender, AccountId receiver, Hbar amount) {
+        var tinybars = requireNonNegative(amount.toTinybars());
+
+        hbarBalances.merge(sender, -tinybars, Math::addExact);
+        hbarBalances.merge(receiver, tinybars, Math::addExact);
+        return this;
+    }
+
+    /**
+     * Add a payment of a fungible token.
+     *
+     * @param tokenId                   the token
+     * @param sender                    the paying account
+     * @param receiver                  the paid account
+     * @param amount                    the amount in the smallest denomination of the token, must not be negative
+     * @return {@code this}
+     */
+    public TransferPacker addTokenTransfer(TokenId tokenId, AccountId sender, AccountId receiver, long amount) {
+        requireNonNegative(amount);
+
+        var balances = tokenBalances.computeIfAbsent(tokenId, id -> new LinkedHashMap<>());
+        balances.merge(sender, -amount, Math::addExact);
+        balances.merge(receiver, amount, Math::addExact);
+        return this;
+    }
+
+    /**
+     * Add a transfer of an NFT.
+     * <p>
+     * If the NFT was already added, the sender must be its receiver so far.
+     *
+     * @param nftId                     the NFT
+     * @param sender                    the account holding the NFT
+     * @param receiver                  the account receiving the NFT
+     * @return {@code this}
+     * @throws IllegalArgumentException if the NFT was already added with another receiver
+     */
+    public TransferPacker addNftTransfer(NftId nftId, AccountId sender, AccountId receiver) {
+        var previous = nftMoves.remove(nftId);
+
+        if (previous == null) {
+            if (!sender.equals(receiver)) {
+                nftMoves.put(nftId, new NftMove(nftId, sender, receiver));
+            }
+        } else if (!previous.receiver.equals(sender)) {
+            nftMoves.put(nftId, previous);
+            throw new IllegalArgumentException(
+                    "NFT " + nftId + " is transferred by " + sender + " but was transferred to " + previous.receiver);
+        } else if (!previous.sender.equals(receiver)) {
+            // an NFT which returns to its original holder isn't transferred at all
+            nftMoves.put(nftId, new NftMove(nftId, previous.sender, receiver));
+        }
+
+        return this;
+    }
+
+    /**
+     * Set the maximum number of hbar transfers in a transaction.
+     *
+     * @param maxHbarTransfers          the maximum, at least 2
+     * @return {@code this}
+     */
+    public TransferPacker setMaxHbarTransfers(int maxHbarTransfers) {
+        this.maxHbarTransfers = requireAtLeast(maxHbarTransfers, 2);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of fungible token transfers in a transaction.
+     *
+     * @param maxTokenTransfers         the maximum, at least 2
+     * @return {@code this}
+     */
+    public TransferPacker setMaxTokenTransfers(int maxTokenTransfers) {
+        this.maxTokenTransfers = requireAtLeast(maxTokenTransfers, 2);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of NFT transfers in a transaction.
+     *
+     * @param maxNftTransfers           the maximum, at least 1
+     * @return {@code this}
+     */
+    public TransferPacker setMaxNftTransfers(int maxNftTransfers) {
+        this.maxNftTransfers = requireAtLeast(maxNftTransfers, 1);
+        return this;
+    }
+
+    /**
+     * Set the maximum size of the serialized transfer body ({@code CryptoTransferTransactionBody}) of a transaction.
+     *
+     * @param maxTransferBytes          the maximum size in bytes
+     * @return {@code this}
+     */
+    public TransferPacker setMaxTransferBytes(int maxTransferBytes) {
+        // a single settlement always has to fit
+        this.maxTransferBytes = requireAtLeast(maxTransferBytes, 256);
+        return this;
+    }
+
+    /**
+     * Net the payments and pack them into transactions.
+     *
+     * @return the transactions, empty if the payments cancel out
+     */
+    public List<TransferTransaction> pack() {
+        var transactions = new ArrayList<TransferTransaction>();
+        var current = new Pack();
+
+        for (var settlement : settle()) {
+            if (!current.tryAdd(settlement)) {
+                transactions.add(current.toTransaction());
+                current = new Pack();
+
+                if (!current.tryAdd(settlement)) {
+                    throw new IllegalStateException("(BUG) a single transfer doesn't fit in an empty transaction");
+                }
+            }
+        }
+
+        if (!current.isEmpty()) {
+            transactions.add(current.toTransaction());
+        }
+
+        return transactions;
+    }
+
+    /**
+     * Settle the net balances with as few transfers as possible: hbars first, then each token, then the NFTs, so
+     * that the transfers of a token end up next to each other.
+     *
+     * @return the transfers
+     */
+    private List<Settlement> settle() {
+        var settlements = new ArrayList<Settlement>();
+
+        settle(null, hbarBalances, settlements);
+        for (var entry : tokenBalances.entrySet()) {
+            settle(entry.getKey(), entry.getValue(), settlements);
+        }
+        for (var move : nftMoves.values()) {
+            settlements.add(new Settlement(move.nftId.tokenId, move.sender, move.receiver, 0, move.nftId.serial));
+        }
+
+        return settlements;
+    }
+
+    private static void settle(@Nullable TokenId tokenId, Map<AccountId, Long> balances, List<Settlement> out) {
+        var debtors = new ArrayList<Map.Entry<AccountId, Long>>();
+        var creditors = new ArrayList<Map.Entry<AccountId, Long>>();
+
+        for (var entry : balances.entrySet()) {
+            if (entry.getValue() < 0) {
+                debtors.add(Map.entry(entry.getKey(), -entry.getValue()));
+            } else if (entry.getValue() > 0) {
+                creditors.add(entry);
+            }
+        }
+
+        // every step settles a debtor or a creditor in full, so there are fewer transfers than accounts
+        var i = 0;
+        var j = 0;
+        var owed = !debtors.isEmpty() ? debtors.get(0).getValue() : 0;
+        var due = !creditors.isEmpty() ? creditors.get(0).getValue() : 0;
+
+        while (i < debtors.size() && j < creditors.size()) {
+            var amount = Math.min(owed, due);
+            out.add(new Settlement(tokenId, debtors.get(i).getKey(), creditors.get(j).getKey(), amount, -1));
+
+            owed -= amount;
+            due -= amount;
+
+            if (owed == 0 && ++i < debtors.size()) {
+                owed = debtors.get(i).getValue();
+            }
+
+            if (due == 0 && ++j < creditors.size()) {
+                due = creditors.get(j).getValue();
+            }
+        }
+    }
+
+    private static int newLegs(Map<AccountId, Long> transfers, Settlement settlement) {
+        return (transfers.containsKey(settlement.sender) ? 0 : 1)
+                + (transfers.containsKey(settlement.receiver) ? 0 : 1);
+    }
+
+    /**
+     * Add or remove a transfer. After netting, an account only ever pays or only ever receives an asset, so its
+     * leg only reaches zero again when the transfer is removed.
+     */
+    private static void apply(Map<AccountId, Long> transfers, Settlement settlement, int sign) {
+        var amount = sign * settlement.amount;
+
+        for (var leg : List.of(Map.entry(settlement.sender, -amount), Map.entry(settlement.receiver, amount))) {
+            var total = transfers.merge(leg.getKey(), leg.getValue(), Long::sum);
+            if (total == 0) {
+                transfers.remove(leg.getKey());
+            }
+        }
+    }
+
+    private static long requireNonNegative(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("amount must not be negative");
+        }
+
+        return amount;
+    }
+
+    private static int requireAtLeast(int value, int minimum) {
+        if (value < minimum) {
+            throw new IllegalArgumentException("value must be at least " + minimum);
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("hbarBalances", hbarBalances)
+                .add("tokenBalances", tokenBalances)
+                .add("nftMoves", nftMoves.values())
+                .add("maxHbarTransfers", maxHbarTransfers)
+                .add("maxTokenTransfers", maxTokenTransfers)
+                .add("maxNftTransfers", maxNftTransfers)
+                .add("maxTransferBytes", maxTransferBytes)
+                .toString();
+    }
+
+    /**
+     * The net transfer of an NFT.
+     */
+    private record NftMove(NftId nftId, AccountId sender, AccountId receiver) {}
+
+    /**
+     * A transfer between two accounts.
+     *
+     * @param tokenId                   the token, or {@code null} for hbars
+     * @param sender                    the paying account
+     * @param receiver                  the paid account
+     * @param amount                    the amount of hbars or fungible tokens
+     * @param serial                    the serial of the NFT, or -1 for fungible transfers
+     */
+    private record Settlement(
+            @Nullable TokenId tokenId, AccountId sender, AccountId receiver, long amount, long serial) {
+        boolean isNft() {
+            return serial >= 0;
+        }
+    }
+
+    /**
+     * The transfers of a transaction being packed.
+     */
+    private final class Pack {
+        private final LinkedHashMap<AccountId, Long> hbarTransfers = new LinkedHashMap<>();
+
+        private final LinkedHashMap<TokenId, LinkedHashMap<AccountId, Long>> tokenTransfers = new LinkedHashMap<>();
+
+        private final ArrayList<Settlement> nftTransfers = new ArrayList<>();
+
+        private int tokenTransferCount = 0;
+
+        boolean isEmpty() {
+            return hbarTransfers.isEmpty() && tokenTransfers.isEmpty() && nftTransfers.isEmpty();
+        }
+
+        /**
+         * Add a transfer if the transaction stays within the limits.
+         *
+         * @param settlement            the transfer
+         * @return                      whether the transfer was added
+         */
+        boolean tryAdd(Settlement settlement) {
+            if (settlement.isNft()) {
+                if (nftTransfers.size() >= maxNftTransfers) {
+                    return false;
+                }
+
+                nftTransfers.add(settlement);
+                return fitsOrUndo(() -> nftTransfers.remove(nftTransfers.size() - 1));
+            }
+
+            if (settlement.tokenId == null) {
+                var newLegs = newLegs(hbarTransfers, settlement);
+                if (hbarTransfers.size() + newLegs > maxHbarTransfers) {
+                    return false;
+                }
+
+                apply(hbarTransfers, settlement, 1);
+                return fitsOrUndo(() -> apply(hbarTransfers, settlement, -1));
+            }
+
+            var transfers = tokenTransfers.computeIfAbsent(settlement.tokenId, id -> new LinkedHashMap<>());
+            var newLegs = newLegs(transfers, settlement);
+            if (tokenTransferCount + newLegs > maxTokenTransfers) {
+                if (transfers.isEmpty()) {
+                    tokenTransfers.remove(settlement.tokenId);
+                }
+                return false;
+            }
+
+            apply(transfers, settlement, 1);
+            tokenTransferCount += newLegs;
+
+            return fitsOrUndo(() -> {
+                apply(transfers, settlement, -1);
+                tokenTransferCount -= newLegs;
+                if (transfers.isEmpty()) {
+                    tokenTransfers.remove(settlement.tokenId);
+                }
+            });
+        }
+
+        private boolean fitsOrUndo(Runnable undo) {
+            if (toTransaction().build().build().getSerializedSize() <= maxTransferBytes) {
+                return true;
+            }
+
+            undo.run();
+            return false;
+        }
+
+        TransferTransaction toTransaction() {
+            var transaction = new TransferTransaction();
+
+            for (var entry : hbarTransfers.entrySet()) {
+                transaction.addHbarTransfer(entry.getKey(), Hbar.fromTinybars(entry.getValue()));
+            }
+
+            for (var token : tokenTransfers.entrySet()) {
+                for (var entry : token.getValue().entrySet()) {
+                    transaction.addTokenTransfer(token.getKey(), entry.getKey(), entry.getValue());
+                }
+            }
+
+            for (var transfer : nftTransfers) {
+                transaction.addNftTransfer(
+                        new NftId(Objects.requireNonNull(transfer.tokenId), transfer.serial),
+                        transfer.sender,
+                        transfer.receiver);
+            }
+
+            return transaction;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * A transaction that transfers hbars and tokens between Hedera accounts. You can enter multiple transfers in a single
@@ -27,6 +28,23 @@ import java.util.Map;
 public class TransferTransaction extends AbstractTokenTransferTransaction<TransferTransaction> {
     private final ArrayList<HbarTransfer> hbarTransfers = new ArrayList<>();
 
+    /**
+     * Order of the hbar transfers in the transaction body: by account and approval.
+     */
+    private static final Comparator<HbarTransfer> HBAR_TRANSFER_ORDER = (a, b) -> {
+        var result = a.accountId.compareTo(b.accountId);
+        return result != 0 ? result : Boolean.compare(a.isApproved, b.isApproved);
+    };
+
+    // lookup for adding to `hbarTransfers` without scanning it; rebuilt when it was changed directly
+    @Nullable
+    private HashMap<HbarTransferKey, HbarTransfer> hbarTransferIndex = null;
+
+    // number of transfers of `hbarTransfers` covered by the index
+    private int hbarTransferIndexSize = 0;
+
+    private record HbarTransferKey(AccountId accountId, boolean isApproved) {}
+
     private static class HbarTransfer {
         final AccountId accountId;
         Hbar amount;
@@ -104,17 +122,35 @@ public class TransferTransaction extends AbstractTokenTransferTransaction<Transf
     private TransferTransaction doAddHbarTransfer(AccountId accountId, Hbar value, boolean isApproved) {
         requireNotFrozen();
 
-        for (var transfer : hbarTransfers) {
-            if (transfer.accountId.equals(accountId) && transfer.isApproved == isApproved) {
-                transfer.amount = Hbar.fromTinybars(transfer.amount.toTinybars() + value.toTinybars());
-                return this;
-            }
+        var index = getHbarTransferIndex();
+        var transfer = index.get(new HbarTransferKey(accountId, isApproved));
+
+        if (transfer != null) {
+            transfer.amount = Hbar.fromTinybars(transfer.amount.toTinybars() + value.toTinybars());
+            return this;
         }
 
-        hbarTransfers.add(new HbarTransfer(accountId, value, isApproved));
+        transfer = new HbarTransfer(accountId, value, isApproved);
+        hbarTransfers.add(transfer);
+        index.put(new HbarTransferKey(accountId, isApproved), transfer);
+        hbarTransferIndexSize += 1;
         return this;
     }
 
+    private HashMap<HbarTransferKey, HbarTransfer> getHbarTransferIndex() {
+        if (hbarTransferIndex == null || hbarTransferIndexSize != hbarTransfers.size()) {
+            hbarTransferIndex = new HashMap<>();
+            hbarTransferIndexSize = hbarTransfers.size();
+
+            for (var transfer : hbarTransfers) {
+                // the first transfer of a key is the one which gets added to, as with a scan of the list
+                hbarTransferIndex.putIfAbsent(new HbarTransferKey(transfer.accountId, transfer.isApproved), transfer);
+            }
+        }
+
+        return hbarTransferIndex;
+    }
+
     /**
      * Add a non approved hbar transfer to an EVM address.
      *
@@ -162,6 +198,8 @@ public class TransferTransaction extends AbstractTokenTransferTransaction<Transf
         for (var transfer : hbarTransfers) {
             if (transfer.accountId.equals(accountId)) {
                 transfer.isApproved = isApproved;
+                // the approval is part of the key of the transfer
+                hbarTransferIndex = null;
                 return this;
             }
         }
@@ -179,8 +217,7 @@ public class TransferTransaction extends AbstractTokenTransferTransaction<Transf
 
         var builder = CryptoTransferTransactionBody.newBuilder();
 
-        this.hbarTransfers.sort(
-                Comparator.comparing((HbarTransfer a) -> a.accountId).thenComparing(a -> a.isApproved));
+        this.hbarTransfers.sort(HBAR_TRANSFER_ORDER);
         var hbarTransfersList = TransferList.newBuilder();
         for (var transfer : hbarTransfers) {
             hbarTransfersList.addAccountAmounts(transfer.toProtobuf());
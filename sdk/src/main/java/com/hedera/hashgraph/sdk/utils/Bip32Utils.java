@@ -34,4 +34,23 @@ public class Bip32Utils {
     public static boolean isHardenedIndex(int index) {
         return (index & HARDENED_BIT) != 0;
     }
+
+    /**
+     * Check a range of derivation indices
+     * <p>
+     * The range must not be reversed, and must not mix hardened and non-hardened indices.
+     *
+     * @param fromIndex     the first derivation index, inclusive
+     * @param toIndex       the last derivation index, exclusive
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public static void checkIndexRange(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex must not be greater than toIndex");
+        }
+
+        if (fromIndex != toIndex && isHardenedIndex(fromIndex) != isHardenedIndex(toIndex - 1)) {
+            throw new IllegalArgumentException("the index range must not mix hardened and non-hardened indices");
+        }
+    }
 }
@@ -0,0 +1,62 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.FileGetContentsResponse;
+import com.hedera.hashgraph.sdk.proto.FileServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Response;
+import io.grpc.KnownLength;
+import io.grpc.StatusRuntimeException;
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class AliasingResponseMarshallerTest {
+    private static final Response RESPONSE = Response.newBuilder()
+            .setFileGetContents(FileGetContentsResponse.newBuilder()
+                    .setFileContents(FileGetContentsResponse.FileContents.newBuilder()
+                            .setContents(ByteString.copyFromUtf8("contents".repeat(1000)))))
+            .build();
+
+    private static final class WireInputStream extends ByteArrayInputStream implements KnownLength {
+        WireInputStream(byte[] bytes) {
+            super(bytes);
+        }
+    }
+
+    @Test
+    void descriptorIsWrappedOnce() {
+        var descriptor = FileServiceGrpc.getGetFileContentMethod();
+        var wrapped = AliasingResponseMarshaller.wrap(descriptor);
+
+        assertThat(wrapped.getResponseMarshaller()).isInstanceOf(AliasingResponseMarshaller.class);
+        assertThat(wrapped.getRequestMarshaller()).isSameAs(descriptor.getRequestMarshaller());
+        assertThat(wrapped.getFullMethodName()).isEqualTo(descriptor.getFullMethodName());
+        assertThat(AliasingResponseMarshaller.wrap(descriptor)).isSameAs(wrapped);
+    }
+
+    @Test
+    void responseIsParsedFromTheWire() {
+        var marshaller = AliasingResponseMarshaller.wrap(FileServiceGrpc.getGetFileContentMethod())
+                .getResponseMarshaller();
+
+        assertThat(marshaller.parse(new WireInputStream(RESPONSE.toByteArray()))).isEqualTo(RESPONSE);
+        // a stream of unknown length is left to the generated marshaller
+        assertThat(marshaller.parse(new ByteArrayInputStream(RESPONSE.toByteArray())))
+                .isEqualTo(RESPONSE);
+        assertThat(marshaller.parse(new WireInputStream(new byte[0]))).isEqualTo(Response.getDefaultInstance());
+    }
+
+    @Test
+    void invalidResponseIsRejected() {
+        var marshaller = AliasingResponseMarshaller.wrap(FileServiceGrpc.getGetFileContentMethod())
+                .getResponseMarshaller();
+        var truncated = Arrays.copyOf(RESPONSE.toByteArray(), 100);
+
+        assertThatExceptionOfType(StatusRuntimeException.class)
+                .isThrownBy(() -> marshaller.parse(new WireInputStream(truncated)));
+    }
+}
@@ -0,0 +1,332 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.TransactionList;
+import com.hedera.hashgraph.sdk.proto.TransactionReceipt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BulkMinterTest {
+    private static final TokenId TOKEN = TokenId.fromString("0.0.2001");
+
+    /**
+     * A node which mints the NFTs of every mint transaction it accepts, numbering them from 1, and answers the receipt
+     * queries of those transactions.
+     */
+    private static final class MintNode implements Function<Object, Object> {
+        final Map<TransactionID, TransactionReceipt> receipts = new ConcurrentHashMap<>();
+
+        final Map<Long, ByteString> metadataBySerial = new ConcurrentHashMap<>();
+
+        final List<List<ByteString>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        final AtomicLong nextSerial = new AtomicLong(1);
+
+        // the number of accepted mints which are still to fail at consensus
+        final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public Object apply(Object request) throws Throwable {
+            if (request instanceof com.hedera.hashgraph.sdk.proto.Transaction transaction) {
+                return com.hedera.hashgraph.sdk.proto.TransactionResponse.newBuilder()
+                        .setNodeTransactionPrecheckCode(submit(transaction))
+                        .build();
+            }
+
+            var transactionId = ((com.hedera.hashgraph.sdk.proto.Query) request)
+                    .getTransactionGetReceipt()
+                    .getTransactionID();
+
+            return Response.newBuilder()
+                    .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                            .setHeader(ResponseHeader.newBuilder()
+                                    .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                            .setReceipt(Objects.requireNonNull(receipts.get(transactionId))))
+                    .build();
+        }
+
+        /**
+         * Receive a mint which was submitted by an earlier job.
+         */
+        void receive(byte[] transactionBytes) throws Exception {
+            submit(TransactionList.parseFrom(transactionBytes).getTransactionList(0));
+        }
+
+        private synchronized ResponseCodeEnum submit(com.hedera.hashgraph.sdk.proto.Transaction transaction)
+                throws Exception {
+            var body = TransactionBody.parseFrom(SignedTransaction.parseFrom(transaction.getSignedTransactionBytes())
+                    .getBodyBytes());
+
+            if (receipts.containsKey(body.getTransactionID())) {
+                return ResponseCodeEnum.DUPLICATE_TRANSACTION;
+            }
+
+            var receipt = TransactionReceipt.newBuilder();
+
+            if (failures.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                receipt.setStatus(ResponseCodeEnum.INVALID_SIGNATURE);
+            } else {
+                var metadata = body.getTokenMint().getMetadataList();
+                batches.add(metadata);
+
+                for (var item : metadata) {
+                    var serial = nextSerial.getAndIncrement();
+                    metadataBySerial.put(serial, item);
+                    receipt.addSerialNumbers(serial);
+                }
+
+                receipt.setStatus(ResponseCodeEnum.SUCCESS);
+            }
+
+            receipts.put(body.getTransactionID(), receipt.build());
+            return ResponseCodeEnum.OK;
+        }
+    }
+
+    private static Mocker mockerWith(MintNode node) {
+        return Mocker.withResponses(List.of(Collections.nCopies(1000, node)));
+    }
+
+    private static List<byte[]> metadata(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    var item = new byte[1 + i % 4];
+                    Arrays.fill(item, (byte) i);
+                    return item;
+                })
+                .toList();
+    }
+
+    /**
+     * Assert that every metadata was minted exactly once, as the NFT reported for its index.
+     */
+    private static void assertMintedOnce(MintNode node, List<byte[]> metadata, Map<Long, Long> serialByIndex) {
+        assertThat(serialByIndex).hasSize(metadata.size());
+        assertThat(node.metadataBySerial).hasSize(metadata.size());
+
+        for (var entry : serialByIndex.entrySet()) {
+            assertThat(node.metadataBySerial.get(entry.getValue()))
+                    .isEqualTo(ByteString.copyFrom(metadata.get(entry.getKey().intValue())));
+        }
+    }
+
+    private static byte[] signedMint(Client client, List<byte[]> metadata) {
+        return new TokenMintTransaction()
+                .setTokenId(TOKEN)
+                .setMetadata(metadata)
+                .freezeWith(client)
+                .signWithOperator(client)
+                .toBytes();
+    }
+
+    @Test
+    void metadataIsMintedInBatches() throws Exception {
+        var node = new MintNode();
+        var metadata = metadata(23);
+
+        try (var mocker = mockerWith(node)) {
+            var serialByIndex = new ConcurrentHashMap<Long, Long>();
+            var checkpoints = new ArrayList<BulkMinter.Checkpoint>();
+
+            new BulkMinter(mocker.client, TOKEN)
+                    .setMaxMetadataPerTransaction(4)
+                    .setMaxMetadataBytesPerTransaction(8)
+                    .setMaxInFlight(3)
+                    .setCheckpointListener(checkpoints::add)
+                    .mint(metadata.iterator(), serialByIndex::put);
+
+            assertMintedOnce(node, metadata, serialByIndex);
+
+            for (var batch : node.batches) {
+                assertThat(batch).hasSizeBetween(1, 4);
+                assertThat(batch.stream().mapToInt(ByteString::size).sum()).isLessThanOrEqualTo(8);
+            }
+
+            var last = checkpoints.get(checkpoints.size() - 1);
+            assertThat(last.getNextIndex()).isEqualTo(23);
+            assertThat(last.getPendingBatches()).isEmpty();
+        }
+    }
+
+    @Test
+    void failedMintIsRetriedWithANewTransaction() throws Exception {
+        var node = new MintNode();
+        var metadata = metadata(10);
+        node.failures.set(2);
+
+        try (var mocker = mockerWith(node)) {
+            var serialByIndex = new ConcurrentHashMap<Long, Long>();
+
+            new BulkMinter(mocker.client, TOKEN)
+                    .setMaxMetadataPerTransaction(5)
+                    .setMaxInFlight(1)
+                    .mint(metadata.iterator(), serialByIndex::put);
+
+            assertMintedOnce(node, metadata, serialByIndex);
+            // the first batch failed twice and was minted by its third transaction
+            assertThat(node.receipts).hasSize(4);
+            assertThat(node.batches).hasSize(2);
+        }
+    }
+
+    @Test
+    void mintFailsAfterMaxAttempts() throws Exception {
+        var node = new MintNode();
+        node.failures.set(Integer.MAX_VALUE);
+
+        try (var mocker = mockerWith(node)) {
+            var checkpoints = new ArrayList<BulkMinter.Checkpoint>();
+            var minter = new BulkMinter(mocker.client, TOKEN)
+                    .setMaxAttempts(2)
+                    .setMaxInFlight(1)
+                    .setCheckpointListener(checkpoints::add);
+
+            assertThatExceptionOfType(ReceiptStatusException.class)
+                    .isThrownBy(() -> minter.mint(metadata(3).iterator(), (index, serial) -> {}));
+
+            assertThat(node.receipts).hasSize(2);
+            assertThat(node.batches).isEmpty();
+            assertThat(checkpoints.get(checkpoints.size() - 1).getPendingBatches())
+                    .containsExactly(0L);
+        }
+    }
+
+    @Test
+    void resumedJobResolvesPendingBatches() throws Exception {
+        var node = new MintNode();
+        var metadata = metadata(12);
+
+        try (var mocker = mockerWith(node)) {
+            // minted before the interruption
+            var minted = signedMint(mocker.client, metadata.subList(0, 3));
+            // never reached the network
+            var lost = signedMint(mocker.client, metadata.subList(3, 6));
+            // failed at consensus before the interruption
+            var failed = signedMint(mocker.client, metadata.subList(6, 9));
+
+            node.receive(minted);
+            node.failures.set(1);
+            node.receive(failed);
+
+            var pending = new TreeMap<Long, byte[]>();
+            pending.put(0L, minted);
+            pending.put(3L, lost);
+            pending.put(6L, failed);
+
+            var serialByIndex = new ConcurrentHashMap<Long, Long>();
+
+            new BulkMinter(mocker.client, TOKEN)
+                    .setMaxMetadataPerTransaction(3)
+                    .resumeFrom(new BulkMinter.Checkpoint(9, pending))
+                    .mint(metadata.iterator(), serialByIndex::put);
+
+            assertMintedOnce(node, metadata, serialByIndex);
+            // the failed batch was minted by a new transaction, the others by their checkpointed bytes
+            assertThat(node.receipts).hasSize(5);
+        }
+    }
+
+    @Test
+    void resumedJobMintsAgainALostBatchWhichFailed() throws Exception {
+        var node = new MintNode();
+        var metadata = metadata(6);
+
+        try (var mocker = mockerWith(node)) {
+            // never reached the network before the interruption, and fails at consensus once resubmitted
+            var lost = signedMint(mocker.client, metadata.subList(0, 3));
+            node.failures.set(1);
+
+            var pending = new TreeMap<Long, byte[]>();
+            pending.put(0L, lost);
+
+            var serialByIndex = new ConcurrentHashMap<Long, Long>();
+
+            new BulkMinter(mocker.client, TOKEN)
+                    .setMaxMetadataPerTransaction(3)
+                    .resumeFrom(new BulkMinter.Checkpoint(3, pending))
+                    .mint(metadata.iterator(), serialByIndex::put);
+
+            assertMintedOnce(node, metadata, serialByIndex);
+            // the lost batch, its new transaction and the last batch
+            assertThat(node.receipts).hasSize(3);
+            assertThat(node.batches).hasSize(2);
+        }
+    }
+
+    @Test
+    void checkpointRoundTrips() {
+        var pending = new TreeMap<Long, byte[]>();
+        pending.put(20L, new byte[] {1, 2, 3});
+        pending.put(30L, new byte[0]);
+
+        var checkpoint = BulkMinter.Checkpoint.fromBytes(new BulkMinter.Checkpoint(40, pending).toBytes());
+
+        assertThat(checkpoint.getNextIndex()).isEqualTo(40);
+        assertThat(checkpoint.getPendingBatches()).containsExactly(20L, 30L);
+        assertThat(checkpoint.toBytes()).isEqualTo(new BulkMinter.Checkpoint(40, pending).toBytes());
+    }
+
+    @Test
+    void invalidCheckpointIsRejected() {
+        var bytes = new BulkMinter.Checkpoint(1, new TreeMap<>()).toBytes();
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> BulkMinter.Checkpoint.fromBytes(new byte[] {0, 0, 0, 2}));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> BulkMinter.Checkpoint.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    void completedJobSubmitsNothing() throws Exception {
+        try (var client = Client.forTestnet()) {
+            var checkpoints = new ArrayList<BulkMinter.Checkpoint>();
+            var minted = new ArrayList<Long>();
+
+            new BulkMinter(client, TOKEN)
+                    .resumeFrom(new BulkMinter.Checkpoint(3, new TreeMap<>()))
+                    .setCheckpointListener(checkpoints::add)
+                    .mint(List.of(new byte[] {1}, new byte[] {2}, new byte[] {3}).iterator(), (index, serial) ->
+                            minted.add(index));
+
+            new BulkMinter(client, TOKEN)
+                    .setCheckpointListener(checkpoints::add)
+                    .mint(Collections.emptyIterator(), (index, serial) -> minted.add(index));
+
+            assertThat(checkpoints).isEmpty();
+            assertThat(minted).isEmpty();
+        }
+    }
+
+    @Test
+    void limitsMustBePositive() throws Exception {
+        try (var client = Client.forTestnet()) {
+            var minter = new BulkMinter(client, TOKEN);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> minter.setMaxMetadataPerTransaction(0));
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> minter.setMaxInFlight(-1));
+        }
+    }
+}
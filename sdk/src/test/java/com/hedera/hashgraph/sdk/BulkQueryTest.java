@@ -0,0 +1,190 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class BulkQueryTest {
+    private static final long INVALID_ACCOUNT_NUM = 13;
+
+    // answers every balance query with the account number as the balance
+    private static final Function<Object, Object> BALANCE = BulkQueryTest::balance;
+
+    private static Response balance(Object request) {
+        var accountId =
+                ((com.hedera.hashgraph.sdk.proto.Query) request).getCryptogetAccountBalance().getAccountID();
+        var precheckCode = accountId.getAccountNum() == INVALID_ACCOUNT_NUM
+                ? ResponseCodeEnum.INVALID_ACCOUNT_ID
+                : ResponseCodeEnum.OK;
+
+        return Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(precheckCode))
+                        .setAccountID(accountId)
+                        .setBalance(accountId.getAccountNum()))
+                .build();
+    }
+
+    @Test
+    void everyIdIsQueriedOnce() throws Exception {
+        var responses = List.of(
+                Collections.<Object>nCopies(10, BALANCE), Collections.<Object>nCopies(10, BALANCE));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var ids = LongStream.range(10, 16).mapToObj(num -> new AccountId(0, 0, num)).toList();
+            var balances = new HashMap<AccountId, Long>();
+            var failures = new ArrayList<AccountId>();
+
+            new BulkQuery<AccountId, AccountBalance>(
+                            mocker.client, id -> new AccountBalanceQuery().setAccountId(id))
+                    .setMaxInFlightPerNode(2)
+                    .execute(
+                            ids,
+                            (id, balance) -> balances.put(id, balance.hbars.toTinybars()),
+                            (id, error) -> failures.add(id));
+
+            assertThat(balances)
+                    .containsExactlyInAnyOrderEntriesOf(Map.of(
+                            new AccountId(0, 0, 10), 10L,
+                            new AccountId(0, 0, 11), 11L,
+                            new AccountId(0, 0, 12), 12L,
+                            new AccountId(0, 0, 14), 14L,
+                            new AccountId(0, 0, 15), 15L));
+            assertThat(failures).containsExactly(new AccountId(0, 0, INVALID_ACCOUNT_NUM));
+        }
+    }
+
+    @Test
+    void inFlightQueriesAreCappedPerNode() throws Exception {
+        var arrived = new AtomicInteger();
+        var release = new CompletableFuture<Void>();
+        var inFlight = List.of(new AtomicInteger(), new AtomicInteger());
+        var maxInFlight = List.of(new AtomicInteger(), new AtomicInteger());
+
+        var responses = new ArrayList<List<Object>>();
+        for (var i = 0; i < 2; i++) {
+            var node = i;
+            // holds the response until the queries are released
+            Function<Object, Object> heldBalance = request -> {
+                var count = inFlight.get(node).incrementAndGet();
+                maxInFlight.get(node).accumulateAndGet(count, Math::max);
+                arrived.incrementAndGet();
+
+                return release.thenApply(ignored -> {
+                    inFlight.get(node).decrementAndGet();
+                    return balance(request);
+                });
+            };
+            responses.add(Collections.nCopies(10, (Object) heldBalance));
+        }
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var ids = LongStream.range(20, 30).mapToObj(num -> new AccountId(0, 0, num)).toList();
+            var balances = new ConcurrentHashMap<AccountId, Long>();
+
+            var job = CompletableFuture.runAsync(() -> {
+                try {
+                    new BulkQuery<AccountId, AccountBalance>(
+                                    mocker.client, id -> new AccountBalanceQuery().setAccountId(id))
+                            .setMaxInFlightPerNode(2)
+                            .execute(
+                                    ids,
+                                    (id, balance) -> balances.put(id, balance.hbars.toTinybars()),
+                                    (id, error) -> {});
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            // two queries are held on each node, and no more are sent until they complete
+            while (arrived.get() < 4) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(100);
+            assertThat(arrived).hasValue(4);
+            assertThat(inFlight).allSatisfy(count -> assertThat(count).hasValue(2));
+
+            release.complete(null);
+            job.get(10, TimeUnit.SECONDS);
+
+            assertThat(balances).hasSize(10);
+            assertThat(maxInFlight).allSatisfy(max -> assertThat(max).hasValue(2));
+        }
+    }
+
+    @Test
+    void transientFailureIsRetriedOnAnotherNode() throws Exception {
+        // the first node is busy, the second answers the queries once the first node has answered one, so at least
+        // one query is sent to the busy node whichever node is picked first
+        var busyAnswered = new CompletableFuture<Void>();
+        Function<Object, Object> busy = request -> {
+            busyAnswered.complete(null);
+            return Response.newBuilder()
+                    .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                            .setHeader(ResponseHeader.newBuilder()
+                                    .setNodeTransactionPrecheckCode(ResponseCodeEnum.BUSY)))
+                    .build();
+        };
+        var answered = Collections.synchronizedList(new ArrayList<Long>());
+        Function<Object, Object> heldBalance = request -> busyAnswered.thenApply(ignored -> {
+            answered.add(((com.hedera.hashgraph.sdk.proto.Query) request)
+                    .getCryptogetAccountBalance()
+                    .getAccountID()
+                    .getAccountNum());
+            return balance(request);
+        });
+        var responses =
+                List.of(Collections.nCopies(100, (Object) busy), Collections.nCopies(100, (Object) heldBalance));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var ids = List.of(new AccountId(0, 0, 20), new AccountId(0, 0, 21));
+            var balances = new ConcurrentHashMap<AccountId, Long>();
+            var failures = new ArrayList<AccountId>();
+
+            // one query in flight per node
+            new BulkQuery<AccountId, AccountBalance>(mocker.client, id -> new AccountBalanceQuery().setAccountId(id))
+                    .setMaxInFlightPerNode(1)
+                    .setMaxAttempts(2)
+                    .execute(
+                            ids,
+                            (id, result) -> balances.put(id, result.hbars.toTinybars()),
+                            (id, error) -> failures.add(id));
+
+            assertThat(balances)
+                    .containsExactlyInAnyOrderEntriesOf(
+                            Map.of(new AccountId(0, 0, 20), 20L, new AccountId(0, 0, 21), 21L));
+            assertThat(failures).isEmpty();
+            assertThat(busyAnswered).isDone();
+            assertThat(answered).containsExactlyInAnyOrder(20L, 21L);
+        }
+    }
+
+    @Test
+    void limitsMustBePositive() throws Exception {
+        try (var client = Client.forTestnet()) {
+            var bulkQuery = new BulkQuery<AccountId, AccountBalance>(
+                    client, id -> new AccountBalanceQuery().setAccountId(id));
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> bulkQuery.setMaxInFlightPerNode(0));
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> bulkQuery.setMaxAttempts(-1));
+        }
+    }
+}
@@ -176,4 +176,45 @@ public class CryptoTransferTransactionTest {
 
         assertThat(tx).isInstanceOf(TransferTransaction.class);
     }
+
+    @Test
+    void aggregatesManyTransfersPerAccount() {
+        var tx = new TransferTransaction();
+        var tokenId = TokenId.fromString("0.0.5");
+
+        for (var i = 0; i < 2_000; i++) {
+            var accountId = new AccountId(0, 0, 1_000 + (i % 100));
+            tx.addHbarTransfer(accountId, Hbar.fromTinybars(1))
+                    .addTokenTransfer(tokenId, accountId, 2)
+                    .addApprovedTokenTransfer(tokenId, accountId, 3);
+        }
+
+        assertThat(tx.getHbarTransfers()).hasSize(100).allSatisfy((accountId, amount) -> assertThat(amount)
+                .isEqualTo(Hbar.fromTinybars(20)));
+        assertThat(tx.getTokenTransfers().get(tokenId)).hasSize(100);
+        assertThat(tx.tokenTransfers).hasSize(200);
+
+        // decimals set later apply to the existing transfers of the token as well
+        tx.addTokenTransferWithDecimals(tokenId, new AccountId(0, 0, 1_000), -500, 4);
+        assertThat(tx.tokenTransfers).allSatisfy(transfer -> assertThat(transfer.expectedDecimals)
+                .isEqualTo(4));
+        assertThat(tx.tokenTransfers).hasSize(200);
+    }
+
+    @Test
+    void aggregatesIntoTransfersReadFromBytes() throws Exception {
+        var tokenId = TokenId.fromString("0.0.5");
+        var tx = new TransferTransaction()
+                .addHbarTransfer(AccountId.fromString("0.0.5008"), Hbar.fromTinybars(-1))
+                .addHbarTransfer(AccountId.fromString("0.0.5009"), Hbar.fromTinybars(1))
+                .addTokenTransfer(tokenId, AccountId.fromString("0.0.5008"), -1)
+                .addTokenTransfer(tokenId, AccountId.fromString("0.0.5009"), 1);
+
+        var tx2 = (TransferTransaction) Transaction.fromBytes(tx.toBytes());
+        tx2.addHbarTransfer(AccountId.fromString("0.0.5009"), Hbar.fromTinybars(1))
+                .addTokenTransfer(tokenId, AccountId.fromString("0.0.5009"), 1);
+
+        assertThat(tx2.getHbarTransfers()).containsEntry(AccountId.fromString("0.0.5009"), Hbar.fromTinybars(2));
+        assertThat(tx2.getTokenTransfers().get(tokenId)).containsEntry(AccountId.fromString("0.0.5009"), 2L);
+    }
 }
@@ -4,7 +4,13 @@ package com.hedera.hashgraph.sdk;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.hedera.hashgraph.sdk.utils.Bip32Utils;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -355,4 +361,58 @@ public class ECDSAPrivateKeyTest {
         assertThat(ecdsaPrivateKey4.toStringRaw()).isEqualTo(PRIVATE_KEY4);
         assertThat(ecdsaPrivateKey4.getPublicKey().toStringRaw()).isEqualTo(PUBLIC_KEY4);
     }
+
+    @Test
+    @DisplayName("private key signs deterministically from many threads")
+    void signsConcurrently() throws Exception {
+        var key = PrivateKey.generateECDSA();
+        var message = "hello world".getBytes(StandardCharsets.UTF_8);
+        var expected = key.sign(message);
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<byte[]>>();
+            for (var i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> key.sign(message)));
+            }
+
+            for (var future : futures) {
+                assertThat(future.get()).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(key.getPublicKey().verify(message, expected)).isTrue();
+    }
+
+    @Test
+    @DisplayName("generated batch of keys has distinct keys with their public keys")
+    void generateBatch() {
+        var keys = PrivateKey.generateBatchECDSA(64);
+
+        assertThat(keys).hasSize(64);
+        assertThat(keys.stream().map(PrivateKey::toStringRaw).distinct()).hasSize(64);
+        for (var key : keys) {
+            assertThat(key.isECDSA()).isTrue();
+            assertThat(key.getPublicKey().toStringRaw())
+                    .isEqualTo(PrivateKey.fromStringECDSA(key.toStringRaw())
+                            .getPublicKey()
+                            .toStringRaw());
+        }
+    }
+
+    @Test
+    @DisplayName("generated batch of keys can be written as PEM")
+    void generateBatchAsPem() throws IOException {
+        var out = new ByteArrayOutputStream();
+
+        PrivateKey.generateBatchECDSA(8, Channels.newChannel(out), true);
+
+        var pems = out.toString(StandardCharsets.UTF_8).split("(?<=-----END EC PRIVATE KEY-----)\\s*");
+        assertThat(pems).hasSize(8);
+        for (var pem : pems) {
+            assertThat(PrivateKey.fromPem(pem).isECDSA()).isTrue();
+        }
+    }
 }
@@ -4,11 +4,16 @@ package com.hedera.hashgraph.sdk;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
+import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.math.ec.rfc8032.Ed25519;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.DisplayName;
@@ -523,4 +528,39 @@ class Ed25519PrivateKeyTest {
         assertThat(ed25519PrivateKey1.toStringRaw()).isEqualTo(PRIVATE_KEY1);
         assertThat(ed25519PrivateKey1.getPublicKey().toStringRaw()).isEqualTo(PUBLIC_KEY1);
     }
+
+    @Test
+    @DisplayName("generated batch of keys has distinct keys with their public keys")
+    void generateBatch() {
+        var keys = PrivateKey.generateBatchED25519(64);
+
+        assertThat(keys).hasSize(64);
+        assertThat(keys.stream().map(PrivateKey::toStringRaw).distinct()).hasSize(64);
+        for (var key : keys) {
+            assertThat(key.isED25519()).isTrue();
+            assertThat(key.getPublicKey().toStringRaw())
+                    .isEqualTo(PrivateKey.fromStringED25519(key.toStringRaw())
+                            .getPublicKey()
+                            .toStringRaw());
+        }
+    }
+
+    @Test
+    @DisplayName("generated batch of keys can be written as DER")
+    void generateBatchAsDer() throws IOException {
+        var count = PrivateKeyBatch.CHUNK_SIZE + 3;
+        var out = new ByteArrayOutputStream();
+
+        PrivateKey.generateBatchED25519(count, Channels.newChannel(out), false);
+
+        var keys = new ArrayList<PrivateKey>();
+        try (var in = new ASN1InputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (var object = in.readObject(); object != null; object = in.readObject()) {
+                keys.add(PrivateKey.fromBytesDER(object.getEncoded()));
+            }
+        }
+
+        assertThat(keys).hasSize(count);
+        assertThat(keys.stream().map(PrivateKey::toStringRaw).distinct()).hasSize(count);
+    }
 }
@@ -6,7 +6,9 @@ import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +33,38 @@ class Ed25519PublicKeyTest {
         assertThat(key.getPublicKey().verifyTransaction(transaction)).isTrue();
     }
 
+    @Test
+    void verifyTransactionsChecksSignaturesOfReceivedTransactions() {
+        var key = PrivateKey.generateED25519();
+        var transactions = new ArrayList<Transaction<?>>();
+
+        for (var i = 0; i < SignatureBatch.PARALLEL_THRESHOLD; i++) {
+            var transaction = new TransferTransaction()
+                    .setNodeAccountIds(List.of(new AccountId(0, 0, 3), new AccountId(0, 0, 4)))
+                    .setTransactionId(TransactionId.generate(new AccountId(0, 0, 5)))
+                    .freeze();
+
+            // attach the signatures like a transaction received from someone else, not through the SDK signers
+            for (var signedTransaction : transaction.innerSignedTransactions) {
+                var signature = key.sign(signedTransaction.getBodyBytes().toByteArray());
+                signedTransaction.setSigMap(com.hedera.hashgraph.sdk.proto.SignatureMap.newBuilder()
+                        .addSigPair(key.getPublicKey().toSignaturePairProtobuf(signature)));
+            }
+
+            transactions.add(transaction);
+        }
+
+        assertThat(key.getPublicKey().verifyTransactions(transactions)).isTrue();
+        assertThat(PrivateKey.generateED25519().getPublicKey().verifyTransactions(transactions))
+                .isFalse();
+
+        var tampered = transactions.get(0).innerSignedTransactions.get(1);
+        tampered.setSigMap(com.hedera.hashgraph.sdk.proto.SignatureMap.newBuilder()
+                .addSigPair(key.getPublicKey().toSignaturePairProtobuf(key.sign(new byte[] {1, 2, 3}))));
+
+        assertThat(key.getPublicKey().verifyTransactions(transactions)).isFalse();
+    }
+
     @Test
     void keyByteValidation() {
         byte[] invalidKeyED25519 = new byte[32];
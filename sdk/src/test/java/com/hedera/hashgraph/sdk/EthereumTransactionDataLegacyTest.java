@@ -2,7 +2,12 @@
 package com.hedera.hashgraph.sdk;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.esaulpaugh.headlong.util.Integers;
+import java.math.BigInteger;
+import java.util.List;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Test;
 
@@ -60,4 +65,130 @@ public class EthereumTransactionDataLegacyTest {
         assertThat(Hex.toHexString(data.s))
                 .isEqualTo("1aaf7ae92bee896651dfc9d99ae422a296bf5d9f1ca49b2d96d82b79eb112d66");
     }
+
+    @Test
+    public void legacySignWithChainId() {
+        var privateKey = PrivateKey.generateECDSA();
+        var data = (EthereumTransactionDataLegacy) EthereumTransactionData.fromBytes(Hex.decode(RAW_TX_TYPE_0));
+
+        data.sign(privateKey);
+
+        var chainId = new BigInteger(1, data.chainId);
+        assertThat(new BigInteger(1, data.v))
+                .isEqualTo(chainId.shiftLeft(1).add(BigInteger.valueOf(35 + data.recoveryId)));
+
+        var payload = RLPEncoder.list(
+                data.nonce,
+                data.gasPrice,
+                data.gasLimit,
+                data.to,
+                data.value,
+                data.callData,
+                Integers.toBytesUnsigned(chainId),
+                new byte[0],
+                new byte[0]);
+        assertThat(Crypto.recoverPublicKeyECDSAFromSignature(
+                        data.recoveryId,
+                        new BigInteger(1, data.r),
+                        new BigInteger(1, data.s),
+                        Crypto.calcKeccak256(payload)))
+                .isEqualTo(privateKey.getPublicKey().toBytesRaw());
+
+        var roundTrip = (EthereumTransactionDataLegacy) EthereumTransactionData.fromBytes(data.toBytes());
+        assertThat(roundTrip.recoveryId).isEqualTo(data.recoveryId);
+    }
+
+    @Test
+    public void eip1559Sign() {
+        var privateKey = PrivateKey.generateECDSA();
+        var data = (EthereumTransactionDataEip1559) EthereumTransactionData.fromBytes(Hex.decode(RAW_TX_TYPE_2));
+
+        data.sign(privateKey);
+
+        var payload = RLPEncoder.sequence(
+                Integers.toBytes(0x02),
+                List.of(
+                        data.chainId,
+                        data.nonce,
+                        data.maxPriorityGas,
+                        data.maxGas,
+                        data.gasLimit,
+                        data.to,
+                        data.value,
+                        data.callData,
+                        List.of()));
+        assertThat(Crypto.recoverPublicKeyECDSAFromSignature(
+                        new BigInteger(1, data.recoveryId).intValueExact(),
+                        new BigInteger(1, data.r),
+                        new BigInteger(1, data.s),
+                        Crypto.calcKeccak256(payload)))
+                .isEqualTo(privateKey.getPublicKey().toBytesRaw());
+    }
+
+    @Test
+    public void signedSValuesAreLow() {
+        var privateKey = PrivateKey.generateECDSA();
+        var halfOrder = Key.ECDSA_SECP256K1_DOMAIN.getN().shiftRight(1);
+        var data = (EthereumTransactionDataEip1559) EthereumTransactionData.fromBytes(Hex.decode(RAW_TX_TYPE_2));
+
+        for (var nonce = 0; nonce < 256; nonce++) {
+            data.nonce = Integers.toBytes(nonce);
+            data.sign(privateKey);
+
+            assertThat(new BigInteger(1, data.s)).isLessThanOrEqualTo(halfOrder);
+            assertThat(Crypto.recoverPublicKeyECDSAFromSignature(
+                            new BigInteger(1, data.recoveryId).intValueExact(),
+                            new BigInteger(1, data.r),
+                            new BigInteger(1, data.s),
+                            Crypto.calcKeccak256(eip1559Payload(data))))
+                    .isEqualTo(privateKey.getPublicKey().toBytesRaw());
+        }
+    }
+
+    @Test
+    public void signedValuesWithLeadingZeroRoundTrip() {
+        var privateKey = PrivateKey.generateECDSA();
+        var data = (EthereumTransactionDataLegacy) EthereumTransactionData.fromBytes(Hex.decode(RAW_TX_TYPE_0));
+
+        // about one in 128 signatures has an R or S value below 2^248
+        var nonce = 0;
+        do {
+            data.nonce = Integers.toBytes(++nonce);
+            data.sign(privateKey);
+        } while (data.r.length == 32 && data.s.length == 32 && nonce < 10_000);
+
+        assertThat(data.r.length + data.s.length).isLessThan(64);
+        assertThat(data.r[0]).isNotZero();
+        assertThat(data.s[0]).isNotZero();
+
+        var bytes = data.toBytes();
+        var roundTrip = (EthereumTransactionDataLegacy) EthereumTransactionData.fromBytes(bytes);
+
+        assertThat(roundTrip.r).isEqualTo(data.r);
+        assertThat(roundTrip.s).isEqualTo(data.s);
+        assertThat(roundTrip.toBytes()).isEqualTo(bytes);
+    }
+
+    private static byte[] eip1559Payload(EthereumTransactionDataEip1559 data) {
+        return RLPEncoder.sequence(
+                Integers.toBytes(0x02),
+                List.of(
+                        data.chainId,
+                        data.nonce,
+                        data.maxPriorityGas,
+                        data.maxGas,
+                        data.gasLimit,
+                        data.to,
+                        data.value,
+                        data.callData,
+                        List.of()));
+    }
+
+    @Test
+    public void signRejectsEd25519Key() {
+        var data = (EthereumTransactionDataEip1559) EthereumTransactionData.fromBytes(Hex.decode(RAW_TX_TYPE_2));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> data.sign(PrivateKey.generateED25519()));
+    }
 }
@@ -0,0 +1,147 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.ExchangeRateSet;
+import com.hedera.hashgraph.sdk.proto.TimestampSeconds;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FeeEstimatorTest {
+    private static final Instant EXPIRATION_TIME = Instant.ofEpochSecond(1_700_000_000);
+
+    private static final FeeComponents NODE_PRICES = new FeeComponents()
+            .setMin(0)
+            .setMax(1_000_000_000_000_000L)
+            .setConstant(7_000_000)
+            .setTransactionBandwidthByte(10_000)
+            .setTransactionVerification(2_000_000);
+
+    private static final FeeComponents NETWORK_PRICES = new FeeComponents()
+            .setMin(0)
+            .setMax(1_000_000_000_000_000L)
+            .setConstant(140_000_000)
+            .setTransactionBandwidthByte(200_000)
+            .setTransactionVerification(40_000_000);
+
+    private static final FeeComponents SERVICE_PRICES =
+            new FeeComponents().setMin(0).setMax(1_000_000_000_000_000L).setConstant(160_000_000);
+
+    private static FeeSchedule feeSchedule(long serviceConstant, Instant expirationTime) {
+        return new FeeSchedule()
+                .setExpirationTime(expirationTime)
+                .addTransactionFeeSchedule(new TransactionFeeSchedule()
+                        .setRequestType(RequestType.CRYPTO_TRANSFER)
+                        .addFee(new FeeData()
+                                .setNodeData(NODE_PRICES)
+                                .setNetworkData(NETWORK_PRICES)
+                                .setServiceData(SERVICE_PRICES.clone().setConstant(serviceConstant))))
+                .addTransactionFeeSchedule(new TransactionFeeSchedule()
+                        .setRequestType(RequestType.FILE_APPEND)
+                        .addFee(new FeeData()
+                                .setNodeData(NODE_PRICES)
+                                .setNetworkData(NETWORK_PRICES)
+                                .setServiceData(SERVICE_PRICES.clone().setConstant(serviceConstant))))
+                .addTransactionFeeSchedule(new TransactionFeeSchedule()
+                        .setRequestType(RequestType.CRYPTO_GET_INFO)
+                        .addFee(new FeeData().setNodeData(NODE_PRICES)));
+    }
+
+    private static TransferTransaction transfer() {
+        return new TransferTransaction()
+                .setTransactionId(TransactionId.withValidStart(
+                        AccountId.fromString("0.0.1001"), Instant.ofEpochSecond(1_600_000_000)))
+                .setNodeAccountIds(List.of(AccountId.fromString("0.0.3")))
+                .addHbarTransfer(AccountId.fromString("0.0.1001"), Hbar.fromTinybars(-1))
+                .addHbarTransfer(AccountId.fromString("0.0.1002"), Hbar.fromTinybars(1));
+    }
+
+    private static FileAppendTransaction fileAppend(int size) {
+        return new FileAppendTransaction()
+                .setTransactionId(TransactionId.withValidStart(
+                        AccountId.fromString("0.0.1001"), Instant.ofEpochSecond(1_600_000_000, 500)))
+                .setNodeAccountIds(List.of(AccountId.fromString("0.0.3"), AccountId.fromString("0.0.4")))
+                .setFileId(FileId.fromString("0.0.5005"))
+                .setChunkSize(1000)
+                .setContents(new byte[size]);
+    }
+
+    @Test
+    void transactionFeeIsPricedFromItsSizeAndSignatures() {
+        var estimator = new FeeEstimator(
+                feeSchedule(SERVICE_PRICES.getConstant(), EXPIRATION_TIME), new ExchangeRate(1, 12, EXPIRATION_TIME));
+        var transaction = transfer().freeze();
+
+        var bytes = transaction.innerSignedTransactions.get(0).getBodyBytes().size()
+                + 2 * FeeEstimator.SIGNATURE_PAIR_SIZE;
+        var nodeFee = (7_000_000 + bytes * 10_000L + 2_000_000) / 1000;
+        var networkFee = (140_000_000 + bytes * 200_000L + 2 * 40_000_000) / 1000;
+        var serviceFee = 160_000_000 / 1000;
+        var tinycents = nodeFee + networkFee + serviceFee;
+
+        assertThat(estimator.estimateFee(transaction, 2)).isEqualTo(Hbar.fromTinybars((tinycents + 11) / 12));
+    }
+
+    @Test
+    void unfrozenTransactionIsPricedLikeFrozenTransaction() {
+        var estimator = new FeeEstimator(
+                feeSchedule(SERVICE_PRICES.getConstant(), EXPIRATION_TIME), new ExchangeRate(1, 12, EXPIRATION_TIME));
+
+        assertThat(estimator.estimateFee(transfer())).isEqualTo(estimator.estimateFee(transfer().freeze()));
+        assertThat(estimator.estimateFee(transfer(), 3)).isGreaterThan(estimator.estimateFee(transfer(), 1));
+    }
+
+    @Test
+    void chunkedTransactionIsPricedPerChunk() {
+        var estimator = new FeeEstimator(
+                feeSchedule(SERVICE_PRICES.getConstant(), EXPIRATION_TIME), new ExchangeRate(1, 12, EXPIRATION_TIME));
+        var chunkFee = estimator.estimateFee(fileAppend(1000)).toTinybars();
+
+        assertThat(estimator.estimateFee(fileAppend(3000))).isEqualTo(Hbar.fromTinybars(3 * chunkFee));
+        assertThat(estimator.estimateFee(fileAppend(3000).freeze()))
+                .isEqualTo(estimator.estimateFee(fileAppend(3000)));
+        assertThat(estimator.estimateFee(fileAppend(2500))).isLessThan(estimator.estimateFee(fileAppend(3000)));
+    }
+
+    @Test
+    void queryCostIsPricedByTheNode() {
+        var estimator = new FeeEstimator(
+                feeSchedule(SERVICE_PRICES.getConstant(), EXPIRATION_TIME), new ExchangeRate(1, 12, EXPIRATION_TIME));
+
+        assertThat(estimator.estimateCost(new AccountInfoQuery().setAccountId(AccountId.fromString("0.0.1001"))))
+                .isGreaterThan(Hbar.ZERO);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> estimator.estimateCost(new TokenInfoQuery().setTokenId(TokenId.fromString("0.0.1"))));
+    }
+
+    @Test
+    void scheduleAndRateInEffectAreSelected() throws Exception {
+        var later = EXPIRATION_TIME.plusSeconds(3600);
+        var feeSchedules = new FeeSchedules()
+                .setCurrent(feeSchedule(SERVICE_PRICES.getConstant(), EXPIRATION_TIME))
+                .setNext(feeSchedule(2 * SERVICE_PRICES.getConstant(), later));
+        var exchangeRates = ExchangeRates.fromBytes(ExchangeRateSet.newBuilder()
+                .setCurrentRate(com.hedera.hashgraph.sdk.proto.ExchangeRate.newBuilder()
+                        .setHbarEquiv(1)
+                        .setCentEquiv(12)
+                        .setExpirationTime(TimestampSeconds.newBuilder().setSeconds(EXPIRATION_TIME.getEpochSecond())))
+                .setNextRate(com.hedera.hashgraph.sdk.proto.ExchangeRate.newBuilder()
+                        .setHbarEquiv(1)
+                        .setCentEquiv(6)
+                        .setExpirationTime(TimestampSeconds.newBuilder().setSeconds(later.getEpochSecond())))
+                .build()
+                .toByteArray());
+
+        var before = FeeEstimator.fromFiles(feeSchedules, exchangeRates, EXPIRATION_TIME.minusSeconds(1));
+        var after = FeeEstimator.fromFiles(feeSchedules, exchangeRates, EXPIRATION_TIME);
+
+        assertThat(before.getExpirationTime()).isEqualTo(EXPIRATION_TIME);
+        assertThat(before.getExchangeRate().cents).isEqualTo(12);
+        assertThat(after.getExpirationTime()).isEqualTo(later);
+        assertThat(after.getExchangeRate().cents).isEqualTo(6);
+        assertThat(after.estimateFee(transfer())).isGreaterThan(before.estimateFee(transfer()));
+    }
+}
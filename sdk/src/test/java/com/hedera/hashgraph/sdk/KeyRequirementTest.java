@@ -0,0 +1,152 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class KeyRequirementTest {
+    private static final PrivateKey ED25519_KEY = PrivateKey.fromString(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+    private static final PrivateKey ECDSA_KEY = PrivateKey.generateECDSA();
+    private static final PrivateKey OTHER_KEY = PrivateKey.generateED25519();
+
+    private static final TransactionId TRANSACTION_ID =
+            TransactionId.withValidStart(AccountId.fromString("0.0.5006"), Instant.ofEpochSecond(1554158542));
+
+    private static TransferTransaction spawnTestTransaction() {
+        return new TransferTransaction()
+                .setNodeAccountIds(List.of(AccountId.fromString("0.0.3"), AccountId.fromString("0.0.4")))
+                .setTransactionId(TRANSACTION_ID)
+                .freeze();
+    }
+
+    private static TransferTransaction signedBy(PrivateKey... keys) {
+        var transaction = spawnTestTransaction();
+        for (var key : keys) {
+            transaction.sign(key);
+        }
+
+        // apply the signatures, as serializing or executing the transaction does
+        transaction.toBytes();
+        return transaction;
+    }
+
+    @Test
+    void singleKeyIsSatisfiedBySignature() {
+        var requirement = KeyRequirement.of(ED25519_KEY.getPublicKey());
+
+        var unsigned = requirement.check(spawnTestTransaction());
+        assertThat(unsigned.isSatisfied()).isFalse();
+        assertThat(unsigned.getMissingKeys()).containsExactly(ED25519_KEY.getPublicKey());
+
+        var signed = requirement.check(signedBy(ED25519_KEY));
+        assertThat(signed.isSatisfied()).isTrue();
+        assertThat(signed.getMissingKeys()).isEmpty();
+        assertThat(signed.getInvalidKeys()).isEmpty();
+    }
+
+    @Test
+    void keyListRequiresAllKeys() {
+        var requirement = KeyRequirement.of(KeyList.of(ED25519_KEY.getPublicKey(), ECDSA_KEY.getPublicKey()));
+
+        var partial = requirement.check(signedBy(ED25519_KEY));
+        assertThat(partial.isSatisfied()).isFalse();
+        assertThat(partial.getMissingKeys()).containsExactly(ECDSA_KEY.getPublicKey());
+
+        var full = requirement.check(signedBy(ED25519_KEY, ECDSA_KEY));
+        assertThat(full.isSatisfied()).isTrue();
+    }
+
+    @Test
+    void nestedThresholdKeyOnlyReportsUnsatisfiedParts() {
+        var threshold = KeyList.withThreshold(1);
+        threshold.add(ED25519_KEY.getPublicKey());
+        threshold.add(ECDSA_KEY.getPublicKey());
+
+        var requirement = KeyRequirement.of(KeyList.of(threshold, OTHER_KEY.getPublicKey()));
+
+        var result = requirement.check(signedBy(ECDSA_KEY));
+        assertThat(result.isSatisfied()).isFalse();
+        assertThat(result.getMissingKeys()).containsExactly(OTHER_KEY.getPublicKey());
+
+        assertThat(requirement
+                        .check(signedBy(ECDSA_KEY, OTHER_KEY))
+                        .isSatisfied())
+                .isTrue();
+    }
+
+    @Test
+    void evmAddressIsSatisfiedByEcdsaSignature() {
+        var requirement = KeyRequirement.of(ECDSA_KEY.getPublicKey().toEvmAddress());
+
+        assertThat(requirement.check(signedBy(ECDSA_KEY)).isSatisfied())
+                .isTrue();
+        assertThat(requirement.check(signedBy(ED25519_KEY)).isSatisfied())
+                .isFalse();
+    }
+
+    @Test
+    void invalidSignatureIsReported() {
+        var transaction = spawnTestTransaction();
+        var signature = ED25519_KEY.sign(new byte[] {1, 2, 3});
+        transaction.sigPairLists.forEach(
+                sigMap -> sigMap.addSigPair(ED25519_KEY.getPublicKey().toSignaturePairProtobuf(signature)));
+
+        var result = KeyRequirement.of(ED25519_KEY.getPublicKey()).check(transaction);
+
+        assertThat(result.isSatisfied()).isFalse();
+        assertThat(result.getInvalidKeys()).containsExactly(ED25519_KEY.getPublicKey());
+    }
+
+    @Test
+    void manySignaturesAreVerifiedInParallel() {
+        var keyList = KeyList.withThreshold(SignatureBatch.PARALLEL_THRESHOLD);
+        var transaction = spawnTestTransaction();
+
+        for (var i = 0; i < SignatureBatch.PARALLEL_THRESHOLD; i++) {
+            var key = PrivateKey.generateED25519();
+            keyList.add(key.getPublicKey());
+            transaction.sign(key);
+        }
+        transaction.toBytes();
+
+        assertThat(KeyRequirement.of(keyList).check(transaction).isSatisfied()).isTrue();
+    }
+
+    @Test
+    void pendingSignersAreNotCalled() {
+        var signerCalls = new AtomicInteger();
+        var transaction = spawnTestTransaction().signWith(ED25519_KEY.getPublicKey(), bytes -> {
+            signerCalls.incrementAndGet();
+            return ED25519_KEY.sign(bytes);
+        });
+
+        var result = KeyRequirement.of(ED25519_KEY.getPublicKey()).check(transaction);
+
+        assertThat(result.isSatisfied()).isFalse();
+        assertThat(result.getMissingKeys()).containsExactly(ED25519_KEY.getPublicKey());
+        assertThat(signerCalls).hasValue(0);
+    }
+
+    @Test
+    void unfrozenTransactionIsRejected() {
+        var transaction = new TransferTransaction().setTransactionId(TRANSACTION_ID);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> KeyRequirement.of(ED25519_KEY.getPublicKey()).check(transaction));
+        assertThat(transaction.isFrozen()).isFalse();
+    }
+
+    @Test
+    void contractKeyIsNeverSatisfied() {
+        var result = KeyRequirement.of(new ContractId(0, 0, 1234)).check(spawnTestTransaction());
+
+        assertThat(result.isSatisfied()).isFalse();
+        assertThat(result.getMissingKeys()).containsExactly(new ContractId(0, 0, 1234));
+    }
+}
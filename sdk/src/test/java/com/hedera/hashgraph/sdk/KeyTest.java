@@ -13,6 +13,7 @@ import com.hedera.hashgraph.sdk.proto.Key;
 import com.hedera.hashgraph.sdk.proto.KeyList;
 import com.hedera.hashgraph.sdk.proto.ThresholdKey;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.DisplayName;
@@ -60,6 +61,30 @@ class KeyTest {
         assertThat(recId).isBetween(0, 1);
     }
 
+    @Test
+    @DisplayName("Recoverable ECDSA signature is the low-s form of the plain signature and has its trial recovery ID")
+    void signRecoverableECDSA() {
+        var privateKey = (PrivateKeyECDSA) PrivateKey.generateECDSA();
+        var n = com.hedera.hashgraph.sdk.Key.ECDSA_SECP256K1_DOMAIN.getN();
+
+        for (var i = 0; i < 64; i++) {
+            var message = ("Hello, World " + i).getBytes(UTF_8);
+            var plain = privateKey.sign(message);
+
+            var signature = privateKey.signRecoverable(message);
+            var s = new BigInteger(1, signature.getS());
+            var plainS = new BigInteger(1, Arrays.copyOfRange(plain, 32, 64));
+
+            assertThat(signature.getR()).isEqualTo(Arrays.copyOf(plain, 32));
+            assertThat(s).isLessThanOrEqualTo(n.shiftRight(1));
+            assertThat(s).isIn(plainS, n.subtract(plainS));
+            assertThat(privateKey.getPublicKey().verify(message, signature.toBytes()))
+                    .isTrue();
+            assertThat(signature.getRecoveryId())
+                    .isEqualTo(privateKey.getRecoveryId(signature.getR(), signature.getS(), message));
+        }
+    }
+
     @Test
     @DisplayName("Fail to calculate recId for ECDSA with illegal inputs")
     void failToCalculateRecoveryIdWithIllegalInputDataECDSA() {
@@ -2,11 +2,13 @@
 package com.hedera.hashgraph.sdk;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -53,4 +55,79 @@ class KeystoreTest {
 
         assertThat(privateKey2.toString()).isEqualTo(TEST_KEY_STR);
     }
+
+    @Test
+    @DisplayName("PrivateKey.fromKeystores returns correct keys in order")
+    void privateKeysFromKeystores() throws IOException {
+        var privateKeys = PrivateKey.fromKeystores(
+                List.of(
+                        KeystoreTest.class.getResourceAsStream("/test-keystore.bin"),
+                        KeystoreTest.class.getResourceAsStream("/test-keystore2.bin")),
+                PASSPHRASE);
+
+        assertThat(privateKeys).hasSize(2);
+        for (var privateKey : privateKeys) {
+            assertThat(privateKey.toString()).isEqualTo(TEST_KEY_STR);
+        }
+    }
+
+    @Test
+    @DisplayName("PrivateKey.fromKeystores rejects an incorrect passphrase")
+    void privateKeysFromKeystoresWithIncorrectPassphrase() {
+        var keystores = List.of(KeystoreTest.class.getResourceAsStream("/test-keystore2.bin"));
+
+        assertThatExceptionOfType(BadKeyException.class)
+                .isThrownBy(() -> PrivateKey.fromKeystores(keystores, "incorrect"));
+    }
+
+    @Test
+    @DisplayName("Keystore KDF cache returns the same keys and can be disabled")
+    void keystoreKdfCache() throws IOException {
+        PrivateKey.setKeystoreKdfCacheSize(1);
+        try {
+            // an incorrect passphrase is rejected, and isn't cached
+            assertThatExceptionOfType(BadKeyException.class)
+                    .isThrownBy(() -> PrivateKey.fromKeystores(
+                            List.of(KeystoreTest.class.getResourceAsStream("/test-keystore2.bin")), "incorrect"));
+
+            for (var i = 0; i < 2; i++) {
+                var privateKeys = PrivateKey.fromKeystores(
+                        List.of(KeystoreTest.class.getResourceAsStream("/test-keystore2.bin")), PASSPHRASE);
+
+                assertThat(privateKeys.get(0).toString()).isEqualTo(TEST_KEY_STR);
+            }
+        } finally {
+            PrivateKey.setKeystoreKdfCacheSize(0);
+        }
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> PrivateKey.setKeystoreKdfCacheSize(-1));
+    }
+
+    @Test
+    @DisplayName("KdfCache evicts and zeroes the least recently used key")
+    void kdfCacheEvictsLeastRecentlyUsed() {
+        var cache = new KdfCache(2);
+        var salt = new byte[] {1, 2, 3};
+        var mac = new byte[] {4, 5, 6};
+
+        var firstId = KdfCache.keystoreId(salt, 2, 32, null, new byte[] {1}, mac);
+        var secondId = KdfCache.keystoreId(salt, 2, 32, null, new byte[] {2}, mac);
+        var thirdId = KdfCache.keystoreId(salt, 2, 32, null, new byte[] {3}, mac);
+        var first = Crypto.deriveKeySha256("first", salt, 2, 32);
+
+        cache.put(firstId, first);
+        cache.put(secondId, Crypto.deriveKeySha256("second", salt, 2, 32));
+        assertThat(cache.get(firstId).getKey()).isEqualTo(first.getKey());
+
+        cache.put(thirdId, Crypto.deriveKeySha256("third", salt, 2, 32));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(secondId)).isNull();
+        assertThat(cache.get(KdfCache.keystoreId(salt, 2, 32, null, new byte[] {1}, mac))).isNotNull();
+
+        // the caller's copy survives the zeroing of the cached keys
+        cache.clear();
+        assertThat(cache.size()).isZero();
+        assertThat(first.getKey()).isEqualTo(Crypto.deriveKeySha256("first", salt, 2, 32).getKey());
+    }
 }
@@ -752,4 +752,56 @@ public class MnemonicTest {
         assertThat(key3.toStringRaw()).isEqualTo(PRIVATE_KEY_3);
         assertThat(key3.getPublicKey().toStringRaw()).isSubstringOf(PUBLIC_KEY_3);
     }
+
+    @Test
+    @DisplayName("Mnemonic.toStandardEd25519PrivateKeys() derives the same keys as one at a time")
+    void toStandardEd25519PrivateKeys() throws BadMnemonicException {
+        Mnemonic mnemonic = Mnemonic.fromString(MNEMONIC_24_WORD_STRING);
+
+        var keys = mnemonic.toStandardEd25519PrivateKeys("some pass", 0, 40);
+
+        assertThat(keys).hasSize(40);
+        for (var i = 0; i < keys.size(); i++) {
+            assertThat(keys.get(i).toStringRaw())
+                    .isEqualTo(Mnemonic.fromString(MNEMONIC_24_WORD_STRING)
+                            .toStandardEd25519PrivateKey("some pass", i)
+                            .toStringRaw());
+        }
+    }
+
+    @Test
+    @DisplayName("Mnemonic.toStandardECDSAsecp256k1PrivateKeys() derives the same keys as one at a time")
+    void toStandardECDSAsecp256k1PrivateKeys() throws BadMnemonicException {
+        Mnemonic mnemonic = Mnemonic.fromString(MNEMONIC_12_WORD_STRING);
+        Mnemonic uncached = Mnemonic.fromString(MNEMONIC_12_WORD_STRING);
+
+        var keys = mnemonic.toStandardECDSAsecp256k1PrivateKeys("", 0, 40);
+        var hardenedKeys = mnemonic.toStandardECDSAsecp256k1PrivateKeys(
+                "", Bip32Utils.toHardenedIndex(0), Bip32Utils.toHardenedIndex(40));
+
+        for (var i = 0; i < 40; i++) {
+            assertThat(keys.get(i).toStringRaw())
+                    .isEqualTo(uncached.toStandardECDSAsecp256k1PrivateKey("", i).toStringRaw());
+            assertThat(hardenedKeys.get(i).toStringRaw())
+                    .isEqualTo(uncached.toStandardECDSAsecp256k1PrivateKey("", Bip32Utils.toHardenedIndex(i))
+                            .toStringRaw());
+        }
+
+        // the cached path must not leak into derivations with another passphrase
+        mnemonic.clearDerivationCache();
+        assertThat(mnemonic.toStandardECDSAsecp256k1PrivateKey("some pass", 0).toStringRaw())
+                .isEqualTo("c139ebb363d7f441ccbdd7f58883809ec0cc3ee7a122ef67974eec8534de65e8");
+    }
+
+    @Test
+    @DisplayName("Mnemonic.toStandardECDSAsecp256k1PrivateKeys() rejects invalid ranges")
+    void toStandardECDSAsecp256k1PrivateKeysInvalidRange() throws BadMnemonicException {
+        Mnemonic mnemonic = Mnemonic.fromString(MNEMONIC_12_WORD_STRING);
+
+        assertThat(mnemonic.toStandardECDSAsecp256k1PrivateKeys("", 5, 5)).isEmpty();
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> mnemonic.toStandardECDSAsecp256k1PrivateKeys("", 5, 4));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> mnemonic.toStandardECDSAsecp256k1PrivateKeys("", -1, 1));
+    }
 }
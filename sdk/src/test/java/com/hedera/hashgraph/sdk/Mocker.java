@@ -16,11 +16,13 @@ import io.grpc.ServiceDescriptor;
 import io.grpc.Status;
 import io.grpc.inprocess.InProcessServerBuilder;
 import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -78,11 +80,12 @@ public class Mocker implements AutoCloseable {
                                     }
                                 }
 
-                                if (r instanceof Throwable) {
-                                    responseObserver.onError((Throwable) r);
+                                if (r instanceof CompletionStage<?> stage) {
+                                    // a response which is sent once it is ready, without blocking the caller
+                                    stage.whenComplete((value, error) ->
+                                            respond(responseObserver, error != null ? error : value));
                                 } else {
-                                    responseObserver.onNext(r);
-                                    responseObserver.onCompleted();
+                                    respond(responseObserver, r);
                                 }
                             }));
                     descriptor.addMethod(methodDefinition);
@@ -109,6 +112,15 @@ public class Mocker implements AutoCloseable {
                 .setLogger(new Logger(LogLevel.SILENT));
     }
 
+    private static void respond(StreamObserver<Object> responseObserver, Object response) {
+        if (response instanceof Throwable) {
+            responseObserver.onError((Throwable) response);
+        } else {
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        }
+    }
+
     public static Mocker withResponses(List<List<Object>> responses) {
         return new Mocker(responses);
     }
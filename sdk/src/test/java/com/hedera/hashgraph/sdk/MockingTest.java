@@ -27,10 +27,15 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
@@ -112,6 +117,26 @@ public class MockingTest {
         }
     }
 
+    @Test
+    void compactResponseDoesNotResubmitThrottledTransaction() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("compactResponse", service);
+
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+        var transactionResponse = new AccountCreateTransaction().execute(server.client).compact();
+        Assertions.assertTrue(transactionResponse.isCompact());
+
+        service.buffer.enqueueResponse(
+                TestResponse.receipt(com.hedera.hashgraph.sdk.Status.THROTTLED_AT_CONSENSUS));
+        var error = Assertions.assertThrows(
+                ReceiptStatusException.class, () -> transactionResponse.getReceipt(server.client));
+
+        Assertions.assertEquals(com.hedera.hashgraph.sdk.Status.THROTTLED_AT_CONSENSUS, error.receipt.status);
+        Assertions.assertEquals(1, service.buffer.transactionRequestsReceived.size());
+
+        server.close();
+    }
+
     @ParameterizedTest(name = "[{0}] Executable retries on gRPC error with PLATFORM_NOT_ACTIVE when getting record")
     @CsvSource({"sync", "async"})
     void shouldRetryExceptionallyFunctionsCorrectlyForPlatformNotActiveGetRecord(String sync) throws Exception {
@@ -365,6 +390,196 @@ public class MockingTest {
         server.close();
     }
 
+    @Test
+    void queryCostIsReusedFromCache() throws Throwable {
+        var cryptoService = new TestCryptoService();
+        var server = new TestServer("queryCostCache", cryptoService);
+        server.client.setQueryCostCacheTtl(Duration.ofMinutes(1));
+
+        Supplier<Response> costResponse = () -> Response.newBuilder()
+                .setCryptoGetInfo(CryptoGetInfoResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setCost(100)))
+                .build();
+        Supplier<Response> infoResponse = () -> Response.newBuilder()
+                .setCryptoGetInfo(CryptoGetInfoResponse.newBuilder()
+                        .setAccountInfo(CryptoGetInfoResponse.AccountInfo.newBuilder()
+                                .setKey(PrivateKey.generateED25519().getPublicKey().toProtobufKey())))
+                .build();
+        var insufficientFeeResponse = Response.newBuilder()
+                .setCryptoGetInfo(CryptoGetInfoResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder()
+                                .setNodeTransactionPrecheckCode(ResponseCodeEnum.INSUFFICIENT_TX_FEE)
+                                .setCost(200)))
+                .build();
+
+        cryptoService
+                .buffer
+                .enqueueResponse(TestResponse.query(costResponse.get()))
+                .enqueueResponse(TestResponse.query(infoResponse.get()))
+                .enqueueResponse(TestResponse.query(infoResponse.get()))
+                .enqueueResponse(TestResponse.query(insufficientFeeResponse))
+                .enqueueResponse(TestResponse.query(infoResponse.get()));
+
+        var nodeAccountIds = List.of(AccountId.fromString("0.0.3"));
+        new AccountInfoQuery()
+                .setAccountId(AccountId.fromString("1.2.3"))
+                .setNodeAccountIds(nodeAccountIds)
+                .execute(server.client);
+        new AccountInfoQuery()
+                .setAccountId(AccountId.fromString("1.2.4"))
+                .setNodeAccountIds(nodeAccountIds)
+                .execute(server.client);
+        new AccountInfoQuery()
+                .setAccountId(AccountId.fromString("1.2.5"))
+                .setNodeAccountIds(nodeAccountIds)
+                .execute(server.client);
+
+        // the cost is only fetched for the first query, and the reported cost is paid after a rejected payment
+        var requests = cryptoService.buffer.queryRequestsReceived;
+        Assertions.assertEquals(5, requests.size());
+        Assertions.assertEquals(100, paymentAmount(requests.get(1)));
+        Assertions.assertEquals(110, paymentAmount(requests.get(2)));
+        Assertions.assertEquals(110, paymentAmount(requests.get(3)));
+        Assertions.assertEquals(200, paymentAmount(requests.get(4)));
+
+        server.close();
+    }
+
+    @Test
+    void costIsFetchedAgainWhenARejectedPaymentReportsNoCost() throws Throwable {
+        var cryptoService = new TestCryptoService();
+        var server = new TestServer("queryCostCacheNoReportedCost", cryptoService);
+        server.client.setQueryCostCacheTtl(Duration.ofMinutes(1));
+
+        LongFunction<Response> costResponse = cost -> Response.newBuilder()
+                .setCryptoGetInfo(CryptoGetInfoResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setCost(cost)))
+                .build();
+        Supplier<Response> infoResponse = () -> Response.newBuilder()
+                .setCryptoGetInfo(CryptoGetInfoResponse.newBuilder()
+                        .setAccountInfo(CryptoGetInfoResponse.AccountInfo.newBuilder()
+                                .setKey(PrivateKey.generateED25519().getPublicKey().toProtobufKey())))
+                .build();
+        var insufficientFeeResponse = Response.newBuilder()
+                .setCryptoGetInfo(CryptoGetInfoResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder()
+                                .setNodeTransactionPrecheckCode(ResponseCodeEnum.INSUFFICIENT_TX_FEE)))
+                .build();
+
+        cryptoService
+                .buffer
+                .enqueueResponse(TestResponse.query(costResponse.apply(100)))
+                .enqueueResponse(TestResponse.query(infoResponse.get()))
+                .enqueueResponse(TestResponse.query(insufficientFeeResponse))
+                .enqueueResponse(TestResponse.query(costResponse.apply(150)))
+                .enqueueResponse(TestResponse.query(infoResponse.get()));
+
+        var nodeAccountIds = List.of(AccountId.fromString("0.0.3"));
+        new AccountInfoQuery()
+                .setAccountId(AccountId.fromString("1.2.3"))
+                .setNodeAccountIds(nodeAccountIds)
+                .execute(server.client);
+        new AccountInfoQuery()
+                .setAccountId(AccountId.fromString("1.2.4"))
+                .setNodeAccountIds(nodeAccountIds)
+                .execute(server.client);
+
+        // the cached cost was rejected without a reported cost, so it was fetched again and paid
+        var requests = cryptoService.buffer.queryRequestsReceived;
+        Assertions.assertEquals(5, requests.size());
+        Assertions.assertEquals(110, paymentAmount(requests.get(2)));
+        Assertions.assertEquals(150, paymentAmount(requests.get(4)));
+
+        server.close();
+    }
+
+    @Test
+    void sameQueryIsExecutedConcurrently() throws Exception {
+        Function<Object, Object> balanceResponse = request -> Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                        .setAccountID(AccountID.newBuilder().setAccountNum(10))
+                        .setBalance(100))
+                .build();
+        var responses = List.of(Collections.nCopies(16, (Object) balanceResponse));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var query = new AccountBalanceQuery().setAccountId(new AccountId(0, 0, 10));
+            var executor = Executors.newFixedThreadPool(8);
+
+            try {
+                var balances = new ArrayList<Future<AccountBalance>>();
+                for (var i = 0; i < 8; i++) {
+                    balances.add(executor.submit(() -> query.execute(mocker.client)));
+                }
+                for (var i = 0; i < 8; i++) {
+                    balances.add(query.executeAsync(mocker.client));
+                }
+
+                for (var balance : balances) {
+                    Assertions.assertEquals(Hbar.fromTinybars(100), balance.get().hbars);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // the execution state was kept off the shared query
+            Assertions.assertNull(query.getNodeAccountIds());
+        }
+    }
+
+    @Test
+    void coalescedQueriesArePinnedToTheirNodes() throws Exception {
+        var requestCounts = List.of(new AtomicInteger(), new AtomicInteger());
+        var responses = new ArrayList<List<Object>>();
+        for (var i = 0; i < 2; i++) {
+            var node = i;
+            Function<Object, Object> balanceResponse = request -> {
+                requestCounts.get(node).incrementAndGet();
+                return Response.newBuilder()
+                        .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                                .setHeader(ResponseHeader.newBuilder()
+                                        .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                                .setAccountID(AccountID.newBuilder().setAccountNum(10))
+                                .setBalance(100 + node))
+                        .build();
+            };
+            responses.add(Collections.nCopies(4, (Object) balanceResponse));
+        }
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            mocker.client.setQueryCoalescingWindow(Duration.ofMinutes(1));
+
+            for (var i = 0; i < 2; i++) {
+                var balance = new AccountBalanceQuery()
+                        .setAccountId(new AccountId(0, 0, 10))
+                        .setNodeAccountIds(List.of(new AccountId(0, 0, 3)))
+                        .execute(mocker.client);
+                Assertions.assertEquals(Hbar.fromTinybars(100), balance.hbars);
+            }
+
+            // the same query pinned to another node isn't answered from the result of the first node
+            var balance = new AccountBalanceQuery()
+                    .setAccountId(new AccountId(0, 0, 10))
+                    .setNodeAccountIds(List.of(new AccountId(0, 0, 4)))
+                    .execute(mocker.client);
+            Assertions.assertEquals(Hbar.fromTinybars(101), balance.hbars);
+
+            Assertions.assertEquals(1, requestCounts.get(0).get());
+            Assertions.assertEquals(1, requestCounts.get(1).get());
+        }
+    }
+
+    private static long paymentAmount(Query query) throws InvalidProtocolBufferException {
+        var payment = query.getCryptoGetInfo().getHeader().getPayment();
+        var body = TransactionBody.parseFrom(
+                SignedTransaction.parseFrom(payment.getSignedTransactionBytes()).getBodyBytes());
+
+        return body.getCryptoTransfer().getTransfers().getAccountAmountsList().stream()
+                .mapToLong(accountAmount -> Math.max(accountAmount.getAmount(), 0))
+                .sum();
+    }
+
     @Test
     void exitOnAborted() throws PrecheckStatusException, TimeoutException, InterruptedException {
         List<Object> responses1 = List.of();
@@ -417,6 +632,72 @@ public class MockingTest {
         server.close();
     }
 
+    @ParameterizedTest(name = "[{0}] Duplicate transaction after a failed call is treated as submitted")
+    @CsvSource({"sync", "async"})
+    void duplicateAfterFailedCallIsTreatedAsSubmitted(String sync) throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("duplicateAfterFailedCall" + sync, service);
+
+        service.buffer
+                .enqueueResponse(TestResponse.error(Status.UNAVAILABLE.asRuntimeException()))
+                .enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.DUPLICATE_TRANSACTION));
+
+        var transaction = new AccountCreateTransaction()
+                .setNodeAccountIds(List.of(AccountId.fromString("1.1.1"), AccountId.fromString("2.2.2")));
+        var response = sync.equals("sync")
+                ? transaction.execute(server.client)
+                : transaction.executeAsync(server.client).get();
+
+        Assertions.assertEquals(transaction.getTransactionId(), response.transactionId);
+        Assertions.assertEquals(2, service.buffer.transactionRequestsReceived.size());
+
+        // the hash is of the transaction sent by the failed call, not of the one the duplicate was reported for
+        var requests = service.buffer.transactionRequestsReceived;
+        var failedHash = com.hedera.hashgraph.sdk.Transaction.hash(requests.get(0).getSignedTransactionBytes());
+        var duplicateHash = com.hedera.hashgraph.sdk.Transaction.hash(requests.get(1).getSignedTransactionBytes());
+        Assertions.assertArrayEquals(failedHash, response.transactionHash);
+        Assertions.assertFalse(Arrays.equals(duplicateHash, response.transactionHash));
+
+        server.close();
+    }
+
+    @Test
+    void expiryAfterFailedCallKeepsTheTransactionId() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("expiryAfterFailedCall", service);
+
+        service.buffer
+                .enqueueResponse(TestResponse.error(Status.UNAVAILABLE.asRuntimeException()))
+                .enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.TRANSACTION_EXPIRED));
+
+        var transaction = new AccountCreateTransaction()
+                .setNodeAccountIds(List.of(AccountId.fromString("1.1.1"), AccountId.fromString("2.2.2")));
+
+        // the failed call may have reached a node, so the transaction isn't resubmitted under a new ID
+        var error = Assertions.assertThrows(PrecheckStatusException.class, () -> transaction.execute(server.client));
+        Assertions.assertEquals(com.hedera.hashgraph.sdk.Status.TRANSACTION_EXPIRED, error.status);
+        Assertions.assertEquals(transaction.getTransactionId(), error.transactionId);
+        Assertions.assertEquals(2, service.buffer.transactionRequestsReceived.size());
+
+        server.close();
+    }
+
+    @Test
+    void duplicateOnFirstAttemptIsAnError() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("duplicateOnFirstAttempt", service);
+
+        service.buffer.enqueueResponse(
+                TestResponse.transaction(com.hedera.hashgraph.sdk.Status.DUPLICATE_TRANSACTION));
+
+        var error = Assertions.assertThrows(PrecheckStatusException.class, () -> new AccountCreateTransaction()
+                .setNodeAccountIds(List.of(AccountId.fromString("1.1.1"), AccountId.fromString("2.2.2")))
+                .execute(server.client));
+        Assertions.assertEquals(com.hedera.hashgraph.sdk.Status.DUPLICATE_TRANSACTION, error.status);
+
+        server.close();
+    }
+
     @ParameterizedTest(name = "[{2}] Executable should make max {1} attempts when there are {0} errors, and error")
     @CsvSource({"2, 2, sync", "2, 2, async"})
     void hitsTxMaxAttemptsCorrectly(Integer numberOfErrors, Integer maxAttempts, String sync) throws Exception {
@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class QueryCostCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private final QueryCostCache cache = new QueryCostCache(now::get);
+
+    @Test
+    void costsAreNotCachedByDefault() {
+        var key = new AccountInfoQuery().setAccountId(AccountId.fromString("0.0.1001")).getCostCacheKey();
+
+        cache.put(key, Hbar.fromTinybars(100));
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void costsExpire() {
+        var key = new AccountInfoQuery().setAccountId(AccountId.fromString("0.0.1001")).getCostCacheKey();
+        cache.setTtl(Duration.ofSeconds(10));
+
+        cache.put(key, Hbar.fromTinybars(100));
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.get(key)).isEqualTo(Hbar.fromTinybars(100));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void costsAreInvalidated() {
+        var key = new AccountInfoQuery().setAccountId(AccountId.fromString("0.0.1001")).getCostCacheKey();
+        cache.setTtl(Duration.ofSeconds(10));
+
+        cache.put(key, Hbar.fromTinybars(100));
+        cache.invalidate(key);
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void costsAreSharedByQueriesOfTheSameShape() {
+        var key = new AccountInfoQuery().setAccountId(AccountId.fromString("0.0.1001")).getCostCacheKey();
+
+        assertThat(new AccountInfoQuery()
+                        .setAccountId(AccountId.fromString("0.0.1002"))
+                        .getCostCacheKey())
+                .isEqualTo(key);
+        assertThat(new TokenInfoQuery().setTokenId(TokenId.fromString("0.0.1001")).getCostCacheKey())
+                .isNotEqualTo(key);
+        assertThat(new ContractCallQuery()
+                        .setContractId(ContractId.fromString("0.0.1001"))
+                        .setGas(100_000)
+                        .getCostCacheKey())
+                .isNotEqualTo(new ContractCallQuery()
+                        .setContractId(ContractId.fromString("0.0.1001"))
+                        .setGas(200_000)
+                        .getCostCacheKey());
+    }
+
+    @Test
+    void marginIsRoundedUp() {
+        assertThat(cache.withMargin(Hbar.fromTinybars(100))).isEqualTo(Hbar.fromTinybars(110));
+        assertThat(cache.withMargin(Hbar.fromTinybars(101))).isEqualTo(Hbar.fromTinybars(112));
+
+        cache.setMarginPercent(0);
+        assertThat(cache.withMargin(Hbar.fromTinybars(101))).isEqualTo(Hbar.fromTinybars(101));
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> cache.setMarginPercent(-1));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> cache.setTtl(Duration.ofSeconds(-1)));
+    }
+}
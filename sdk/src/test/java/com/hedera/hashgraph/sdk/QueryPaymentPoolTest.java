@@ -0,0 +1,117 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class QueryPaymentPoolTest {
+    private static final PrivateKey OPERATOR_KEY = PrivateKey.fromStringED25519(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+
+    private static final AccountId NODE = AccountId.fromString("0.0.3");
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private final QueryPaymentPool pool = new QueryPaymentPool(tasks::add, now::get);
+
+    private final Client.Operator operator =
+            new Client.Operator(AccountId.fromString("0.0.1001"), OPERATOR_KEY.getPublicKey(), OPERATOR_KEY::sign);
+
+    @Test
+    void paymentsAreSignedOnDemandWhenDisabled() throws Exception {
+        var payment = pool.take(operator, NODE, Hbar.fromTinybars(100));
+
+        assertThat(body(payment).getTransactionID()).isEqualTo(payment.transactionId().toProtobuf());
+        assertThat(body(payment).getNodeAccountID()).isEqualTo(NODE.toProtobuf());
+        assertThat(body(payment).getCryptoTransfer().getTransfers().getAccountAmountsList())
+                .extracting(accountAmount -> accountAmount.getAmount())
+                .containsExactlyInAnyOrder(-100L, 100L);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void paymentsAreSignedAhead() throws Exception {
+        pool.setSize(2);
+
+        // an amount paid once is never signed ahead
+        var first = pool.take(operator, NODE, Hbar.fromTinybars(100));
+        assertThat(tasks).isEmpty();
+
+        // paid again, so the pool is filled in the background
+        var second = pool.take(operator, NODE, Hbar.fromTinybars(100));
+        assertThat(tasks).hasSize(1);
+        tasks.remove(0).run();
+
+        var third = pool.take(operator, NODE, Hbar.fromTinybars(100));
+        var fourth = pool.take(operator, NODE, Hbar.fromTinybars(100));
+        var other = pool.take(operator, NODE, Hbar.fromTinybars(200));
+
+        assertThat(new HashSet<>(List.of(
+                        first.transactionId(),
+                        second.transactionId(),
+                        third.transactionId(),
+                        fourth.transactionId(),
+                        other.transactionId())))
+                .hasSize(5);
+        assertThat(body(other).getCryptoTransfer().getTransfers().getAccountAmountsList())
+                .extracting(accountAmount -> accountAmount.getAmount())
+                .containsExactlyInAnyOrder(-200L, 200L);
+
+        // a single refill of the first amount is scheduled while it is running, and none for the other amount
+        assertThat(tasks).hasSize(1);
+    }
+
+    @Test
+    void expiredPaymentsAreDiscarded() {
+        pool.setSize(1);
+        pool.take(operator, NODE, Hbar.fromTinybars(100));
+        pool.take(operator, NODE, Hbar.fromTinybars(100));
+        tasks.remove(0).run();
+
+        now.addAndGet(QueryPaymentPool.MAX_AGE.toNanos());
+        var payment = pool.take(operator, NODE, Hbar.fromTinybars(100));
+
+        assertThat(payment.createdAtNanos()).isEqualTo(now.get());
+    }
+
+    @Test
+    void idleSlotsAreEvicted() {
+        pool.setSize(1);
+
+        for (var amount = 1; amount <= 100; amount++) {
+            pool.take(operator, NODE, Hbar.fromTinybars(amount));
+        }
+        assertThat(pool.getSlotCount()).isEqualTo(100);
+        assertThat(tasks).isEmpty();
+
+        now.addAndGet(QueryPaymentPool.MAX_AGE.toNanos() / 2);
+        pool.take(operator, NODE, Hbar.fromTinybars(1));
+
+        // the first amount was taken again since, the others are idle and removed with their payments
+        now.addAndGet(QueryPaymentPool.MAX_AGE.toNanos() / 2);
+        pool.take(operator, NODE, Hbar.fromTinybars(500));
+
+        assertThat(pool.getSlotCount()).isEqualTo(2);
+    }
+
+    @Test
+    void sizeMustBeNonNegative() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> pool.setSize(-1));
+    }
+
+    private static TransactionBody body(QueryPaymentPool.Payment payment) throws Exception {
+        return TransactionBody.parseFrom(
+                SignedTransaction.parseFrom(payment.transaction().getSignedTransactionBytes())
+                        .getBodyBytes());
+    }
+}
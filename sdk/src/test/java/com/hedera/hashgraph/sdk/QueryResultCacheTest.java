@@ -0,0 +1,216 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.ByteString;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class QueryResultCacheTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final QueryResultCache cache =
+            new QueryResultCache(now::get).setMaxEntries(2).setTtl(Duration.ofSeconds(10));
+
+    private static FileContentsQuery query(String fileId) {
+        return new FileContentsQuery().setFileId(FileId.fromString(fileId));
+    }
+
+    @Test
+    void resultsAreReusedUntilTheyExpire() throws Exception {
+        var loads = new AtomicInteger();
+        QueryResultCache.Loader<ByteString> loader = () -> ByteString.copyFromUtf8("contents " + loads.incrementAndGet());
+
+        assertThat(cache.execute(query("0.0.1001"), TIMEOUT, loader).toStringUtf8()).isEqualTo("contents 1");
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.execute(query("0.0.1001"), TIMEOUT, loader).toStringUtf8()).isEqualTo("contents 1");
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.execute(query("0.0.1001"), TIMEOUT, loader).toStringUtf8()).isEqualTo("contents 2");
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void leastRecentlyUsedResultIsEvicted() throws Exception {
+        var loads = new AtomicInteger();
+        QueryResultCache.Loader<ByteString> loader = () -> {
+            loads.incrementAndGet();
+            return ByteString.EMPTY;
+        };
+
+        cache.execute(query("0.0.1001"), TIMEOUT, loader);
+        cache.execute(query("0.0.1002"), TIMEOUT, loader);
+        cache.execute(query("0.0.1001"), TIMEOUT, loader);
+        cache.execute(query("0.0.1003"), TIMEOUT, loader);
+        assertThat(loads).hasValue(3);
+
+        cache.execute(query("0.0.1001"), TIMEOUT, loader);
+        assertThat(loads).hasValue(3);
+        cache.execute(query("0.0.1002"), TIMEOUT, loader);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void resultsAreInvalidated() throws Exception {
+        var loads = new AtomicInteger();
+        QueryResultCache.Loader<ByteString> loader = () -> {
+            loads.incrementAndGet();
+            return ByteString.EMPTY;
+        };
+
+        cache.execute(query("0.0.1001"), TIMEOUT, loader);
+        cache.invalidate(query("0.0.1001"));
+        cache.execute(query("0.0.1001"), TIMEOUT, loader);
+        cache.invalidateAll();
+        cache.execute(query("0.0.1001"), TIMEOUT, loader);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void failuresAreNotCached() throws Exception {
+        var failure = new PrecheckStatusException(Status.BUSY, null);
+
+        assertThatExceptionOfType(PrecheckStatusException.class)
+                .isThrownBy(() -> cache.execute(query("0.0.1001"), TIMEOUT, () -> {
+                    throw failure;
+                }))
+                .isSameAs(failure);
+
+        assertThat(cache.execute(query("0.0.1001"), TIMEOUT, () -> ByteString.EMPTY)).isEqualTo(ByteString.EMPTY);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentMissesShareOneRequest() throws Exception {
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(8);
+
+        try {
+            var results = new ArrayList<CompletableFuture<ByteString>>();
+            for (var i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return cache.execute(query("0.0.1001"), TIMEOUT, () -> {
+                                    loads.incrementAndGet();
+                                    try {
+                                        release.await();
+                                    } catch (InterruptedException e) {
+                                        throw new RuntimeException(e);
+                                    }
+                                    return ByteString.copyFromUtf8("contents");
+                                });
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        },
+                        executor));
+            }
+
+            // wait until every caller found the pending result
+            while (cache.getHitCount() + cache.getMissCount() < 8) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (var result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).toStringUtf8()).isEqualTo("contents");
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(cache.getMissCount()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncCallersShareOneRequest() throws Exception {
+        var pending = new CompletableFuture<ByteString>();
+        var loads = new AtomicInteger();
+
+        var first = cache.executeAsync(query("0.0.1001"), TIMEOUT, () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        var second = cache.executeAsync(query("0.0.1001"), TIMEOUT, () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+
+        // cancelling one caller doesn't affect the other
+        first.cancel(false);
+        pending.complete(ByteString.copyFromUtf8("contents"));
+
+        assertThat(second.get().toStringUtf8()).isEqualTo("contents");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void waitingForAnIdenticalQueryTimesOut() throws Exception {
+        var pending = new CompletableFuture<ByteString>();
+        cache.executeAsync(query("0.0.1001"), TIMEOUT, () -> pending);
+
+        assertThatExceptionOfType(TimeoutException.class)
+                .isThrownBy(() -> cache.execute(query("0.0.1001"), Duration.ofMillis(10), () -> ByteString.EMPTY));
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> cache.executeAsync(query("0.0.1001"), Duration.ofMillis(10), () -> pending)
+                        .get())
+                .withCauseInstanceOf(TimeoutException.class);
+
+        // the followers timing out doesn't affect the pending result
+        pending.complete(ByteString.copyFromUtf8("contents"));
+        assertThat(cache.execute(query("0.0.1001"), TIMEOUT, () -> ByteString.EMPTY).toStringUtf8())
+                .isEqualTo("contents");
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void resultIsOnlySharedWhileFetchedWithZeroTtl() throws Exception {
+        cache.setTtl(Duration.ZERO);
+        var pending = new CompletableFuture<AccountBalance>();
+        var loads = new AtomicInteger();
+        var query = new AccountBalanceQuery().setAccountId(AccountId.fromString("0.0.1001"));
+
+        var first = cache.executeAsync(query, TIMEOUT, () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        var second = cache.executeAsync(query, TIMEOUT, () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        pending.complete(null);
+        first.get();
+        second.get();
+        assertThat(loads).hasValue(1);
+
+        cache.executeAsync(query, TIMEOUT, () -> {
+                    loads.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                })
+                .get();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void ttlMustBeNonNegative() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> cache.setTtl(Duration.ofSeconds(-1)));
+    }
+}
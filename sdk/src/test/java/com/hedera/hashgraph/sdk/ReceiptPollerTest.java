@@ -0,0 +1,118 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class ReceiptPollerTest {
+    private static final TransactionId TRANSACTION_ID =
+            TransactionId.withValidStart(new AccountId(0, 0, 1800), Instant.ofEpochSecond(1554158542));
+
+    private static Response receiptResponse(ResponseCodeEnum precheck, Status receiptStatus) {
+        return Response.newBuilder()
+                .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(precheck))
+                        .setReceipt(com.hedera.hashgraph.sdk.proto.TransactionReceipt.newBuilder()
+                                .setStatus(receiptStatus.code)))
+                .build();
+    }
+
+    @Test
+    void pollsUntilReceiptIsAvailable() throws Exception {
+        List<Object> responses = List.of(
+                receiptResponse(ResponseCodeEnum.OK, Status.UNKNOWN),
+                receiptResponse(ResponseCodeEnum.RECEIPT_NOT_FOUND, Status.UNKNOWN),
+                receiptResponse(ResponseCodeEnum.OK, Status.SUCCESS));
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            var poller = mocker.client
+                    .getReceiptPoller()
+                    .setInitialDelay(Duration.ZERO)
+                    .setPollInterval(Duration.ofMillis(10));
+
+            var receipt = poller.getReceiptAsync(TRANSACTION_ID, new AccountId(0, 0, 3), Duration.ofSeconds(10))
+                    .get(10, TimeUnit.SECONDS);
+
+            assertThat(receipt.status).isEqualTo(Status.SUCCESS);
+            assertThat(poller.getPendingCount()).isZero();
+        }
+    }
+
+    @Test
+    void sharesFutureForSameTransactionId() throws Exception {
+        List<Object> responses = List.of(receiptResponse(ResponseCodeEnum.OK, Status.SUCCESS));
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            var poller = mocker.client
+                    .getReceiptPoller()
+                    .setInitialDelay(Duration.ofMillis(50))
+                    .setPollInterval(Duration.ofMillis(10));
+
+            var first = poller.getReceiptAsync(TRANSACTION_ID, new AccountId(0, 0, 3), Duration.ofSeconds(10));
+            var second = poller.getReceiptAsync(TRANSACTION_ID, new AccountId(0, 0, 3), Duration.ofSeconds(10));
+
+            assertThat(second).isSameAs(first);
+            assertThat(first.get(10, TimeUnit.SECONDS).status).isEqualTo(Status.SUCCESS);
+        }
+    }
+
+    @Test
+    void failsOnPrecheckError() throws Exception {
+        List<Object> responses = List.of(receiptResponse(ResponseCodeEnum.INVALID_TRANSACTION_ID, Status.UNKNOWN));
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            var poller = mocker.client
+                    .getReceiptPoller()
+                    .setInitialDelay(Duration.ZERO)
+                    .setPollInterval(Duration.ofMillis(10));
+
+            var future = poller.getReceiptAsync(TRANSACTION_ID, new AccountId(0, 0, 3), Duration.ofSeconds(10));
+
+            assertThatExceptionOfType(ExecutionException.class)
+                    .isThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                    .withCauseInstanceOf(PrecheckStatusException.class);
+        }
+    }
+
+    @Test
+    void timesOutWhenReceiptNeverArrives() throws Exception {
+        try (var mocker = Mocker.withResponses(List.of(List.of()))) {
+            var poller = mocker.client
+                    .getReceiptPoller()
+                    .setInitialDelay(Duration.ZERO)
+                    .setPollInterval(Duration.ofMillis(10));
+
+            var future = poller.getReceiptAsync(TRANSACTION_ID, new AccountId(0, 0, 3), Duration.ofMillis(100));
+
+            assertThatExceptionOfType(ExecutionException.class)
+                    .isThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                    .withCauseInstanceOf(TimeoutException.class);
+        }
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        var client = Client.forNetwork(Map.of());
+        var poller = client.getReceiptPoller();
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> poller.setPollInterval(Duration.ZERO));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> poller.setInitialDelay(Duration.ofMillis(-1)));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> poller.setMaxPollsPerInterval(0));
+    }
+}
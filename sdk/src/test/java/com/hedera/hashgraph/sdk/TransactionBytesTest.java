@@ -0,0 +1,76 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TransactionBytesTest {
+    private static final TransactionId TRANSACTION_ID =
+            TransactionId.withValidStart(AccountId.fromString("0.0.5006"), Instant.ofEpochSecond(1554158542));
+
+    private static TransactionBody.Builder body() {
+        return new TransferTransaction()
+                .setNodeAccountIds(List.of(AccountId.fromString("0.0.3")))
+                .setTransactionId(TRANSACTION_ID)
+                .setTransactionMemo("memo")
+                .addHbarTransfer(AccountId.fromString("0.0.5006"), new Hbar(1).negated())
+                .addHbarTransfer(AccountId.fromString("0.0.3"), new Hbar(1))
+                .freeze()
+                .frozenBodyBuilder;
+    }
+
+    @Test
+    void withoutNodeAccountIdIgnoresOnlyTheNode() throws InvalidProtocolBufferException {
+        var first = body().setNodeAccountID(new AccountId(0, 0, 3).toProtobuf()).build();
+        var second = body().setNodeAccountID(new AccountId(0, 0, 4).toProtobuf()).build();
+        var otherMemo = body().setNodeAccountID(new AccountId(0, 0, 4).toProtobuf())
+                .setMemo("other")
+                .build();
+
+        assertThat(first.toByteString()).isNotEqualTo(second.toByteString());
+        assertThat(TransactionBytes.withoutNodeAccountId(first.toByteString()))
+                .isEqualTo(TransactionBytes.withoutNodeAccountId(second.toByteString()))
+                .isEqualTo(first.toBuilder().clearNodeAccountID().build().toByteString());
+        assertThat(TransactionBytes.withoutNodeAccountId(otherMemo.toByteString()))
+                .isNotEqualTo(TransactionBytes.withoutNodeAccountId(first.toByteString()));
+    }
+
+    @Test
+    void withoutNodeAccountIdReturnsBodyWithoutNodeUnchanged() throws InvalidProtocolBufferException {
+        var bytes = body().clearNodeAccountID().build().toByteString();
+
+        assertThat(TransactionBytes.withoutNodeAccountId(bytes)).isSameAs(bytes);
+    }
+
+    @Test
+    void readHeaderMatchesParsedBody() throws InvalidProtocolBufferException {
+        var body = body().setNodeAccountID(new AccountId(0, 0, 4).toProtobuf()).build();
+        var signed = SignedTransaction.newBuilder()
+                .setBodyBytes(body.toByteString())
+                .build()
+                .toByteString();
+
+        var bodyBytes = TransactionBytes.bodyBytesOf(signed);
+        var header = TransactionBytes.readHeader(bodyBytes);
+
+        assertThat(bodyBytes).isEqualTo(body.toByteString());
+        assertThat(header.transactionId).isEqualTo(body.getTransactionID());
+        assertThat(header.nodeAccountId).isEqualTo(body.getNodeAccountID());
+        assertThat(header.dataCase).isEqualTo(TransactionBody.DataCase.CRYPTOTRANSFER);
+    }
+
+    @Test
+    void readHeaderOfEmptyBody() throws InvalidProtocolBufferException {
+        var header = TransactionBytes.readHeader(TransactionBody.getDefaultInstance().toByteString());
+
+        assertThat(header.transactionId).isNull();
+        assertThat(header.nodeAccountId).isNull();
+        assertThat(header.dataCase).isEqualTo(TransactionBody.DataCase.DATA_NOT_SET);
+    }
+}
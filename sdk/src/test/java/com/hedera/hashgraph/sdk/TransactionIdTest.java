@@ -7,7 +7,12 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import com.google.protobuf.InvalidProtocolBufferException;
 import io.github.jsonSnapshot.SnapshotMatcher;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -170,4 +175,39 @@ class TransactionIdTest {
         var txId = TransactionId.fromString(txIdString);
         assertThat(txId).hasToString(txIdString);
     }
+
+    @Test
+    void generateIsUniqueAndIncreasingPerPayerAcrossThreads() throws Exception {
+        var accountIds = List.of(new AccountId(0, 0, 1001), new AccountId(0, 0, 1002));
+        var executor = Executors.newFixedThreadPool(8);
+
+        try {
+            var tasks = new ArrayList<Callable<List<TransactionId>>>();
+            for (var i = 0; i < 8; i++) {
+                var accountId = accountIds.get(i % accountIds.size());
+                tasks.add(() -> {
+                    var ids = new ArrayList<TransactionId>();
+                    for (var j = 0; j < 1_000; j++) {
+                        ids.add(TransactionId.generate(accountId));
+                    }
+                    return ids;
+                });
+            }
+
+            var validStarts = new HashSet<String>();
+            for (var future : executor.invokeAll(tasks)) {
+                var ids = future.get();
+                for (var j = 1; j < ids.size(); j++) {
+                    assertThat(ids.get(j).validStart).isAfter(ids.get(j - 1).validStart);
+                }
+                for (var id : ids) {
+                    assertThat(validStarts.add(id.toString())).isTrue();
+                }
+            }
+
+            assertThat(validStarts).hasSize(8_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
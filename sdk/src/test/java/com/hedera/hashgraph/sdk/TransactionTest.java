@@ -3,14 +3,20 @@ package com.hedera.hashgraph.sdk;
 
 import static com.hedera.hashgraph.sdk.Transaction.fromBytes;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.SignatureMap;
+import com.hedera.hashgraph.sdk.proto.SignaturePair;
 import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.TokenAssociateTransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Test;
 
@@ -93,6 +99,262 @@ public class TransactionTest {
         assertThat(tokenAssociateTransactionFromBytes).isInstanceOf(TokenAssociateTransaction.class);
     }
 
+    @Test
+    void hashOfByteStringMatchesHashOfByteArray() {
+        var bytes = new byte[100_000];
+        for (var i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        var rope = ByteString.copyFrom(bytes, 0, 40_000).concat(ByteString.copyFrom(bytes, 40_000, 60_000));
+
+        assertThat(Transaction.hash(ByteString.copyFrom(bytes))).isEqualTo(Transaction.hash(bytes));
+        assertThat(Transaction.hash(rope)).isEqualTo(Transaction.hash(bytes));
+    }
+
+    @Test
+    void transactionHashIsMemoizedAndInvalidatedBySignatures() {
+        var transaction = new TransferTransaction()
+                .setNodeAccountIds(testNodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .addHbarTransfer(testAccountId, new Hbar(1).negated())
+                .addHbarTransfer(AccountId.fromString("0.0.3"), new Hbar(1))
+                .freeze();
+
+        var unsignedHash = transaction.getTransactionHash();
+        assertThat(transaction.getTransactionHash()).isEqualTo(unsignedHash).isNotSameAs(unsignedHash);
+
+        transaction.sign(unusedPrivateKey);
+
+        var signedHash = transaction.getTransactionHash();
+        assertThat(signedHash).isNotEqualTo(unsignedHash);
+        assertThat(signedHash)
+                .isEqualTo(Transaction.hash(
+                        transaction.outerTransactions.get(0).getSignedTransactionBytes().toByteArray()));
+
+        var hashesPerNode = transaction.getTransactionHashPerNode();
+        assertThat(hashesPerNode.get(testNodeAccountIds.get(0))).isEqualTo(signedHash);
+        assertThat(hashesPerNode.get(testNodeAccountIds.get(1)))
+                .isEqualTo(Transaction.hash(
+                        transaction.outerTransactions.get(1).getSignedTransactionBytes().toByteArray()));
+    }
+
+    @Test
+    void multiNodeTransactionRoundTripsThroughBytes() throws InvalidProtocolBufferException {
+        var transaction = new TransferTransaction()
+                .setNodeAccountIds(testNodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .addHbarTransfer(testAccountId, new Hbar(1).negated())
+                .addHbarTransfer(AccountId.fromString("0.0.3"), new Hbar(1))
+                .freeze()
+                .sign(unusedPrivateKey);
+
+        var transactionFromBytes = (TransferTransaction) fromBytes(transaction.toBytes());
+
+        assertThat(transactionFromBytes.getNodeAccountIds()).isEqualTo(testNodeAccountIds);
+        assertThat(transactionFromBytes.getTransactionId()).isEqualTo(transaction.getTransactionId());
+        assertThat(transactionFromBytes.getHbarTransfers()).isEqualTo(transaction.getHbarTransfers());
+        assertThat(transactionFromBytes.getTransactionHashPerNode())
+                .isEqualTo(transaction.getTransactionHashPerNode());
+    }
+
+    @Test
+    void transactionFromBytesRejectsMismatchedBodies() {
+        var transactionId = TransactionId.withValidStart(testAccountId, validStart).toProtobuf();
+        var list = com.hedera.hashgraph.sdk.proto.TransactionList.newBuilder();
+
+        for (var i = 0; i < testNodeAccountIds.size(); i++) {
+            var body = TransactionBody.newBuilder()
+                    .setTransactionID(transactionId)
+                    .setNodeAccountID(testNodeAccountIds.get(i).toProtobuf())
+                    .setMemo("memo " + i)
+                    .setTokenAssociate(TokenAssociateTransactionBody.newBuilder())
+                    .build();
+            list.addTransactionList(com.hedera.hashgraph.sdk.proto.Transaction.newBuilder()
+                    .setSignedTransactionBytes(SignedTransaction.newBuilder()
+                            .setBodyBytes(body.toByteString())
+                            .build()
+                            .toByteString()));
+        }
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> fromBytes(list.build().toByteArray()));
+    }
+
+    @Test
+    void mergeSignaturesUnionsSignaturesPerNode() throws InvalidProtocolBufferException {
+        var otherPrivateKey = PrivateKey.generateECDSA();
+        var unsigned = new TransferTransaction()
+                .setNodeAccountIds(testNodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .addHbarTransfer(testAccountId, new Hbar(1).negated())
+                .addHbarTransfer(AccountId.fromString("0.0.3"), new Hbar(1))
+                .freeze()
+                .toBytes();
+
+        var first = fromBytes(unsigned).sign(unusedPrivateKey).toBytes();
+        var second = fromBytes(unsigned).sign(otherPrivateKey).toBytes();
+
+        var merged = Transaction.mergeSignatures(first, second, first);
+
+        assertThat(merged).isInstanceOf(TransferTransaction.class);
+        assertThat(merged.getNodeAccountIds()).isEqualTo(testNodeAccountIds);
+
+        var signatures = merged.getSignatures();
+        for (var nodeAccountId : testNodeAccountIds) {
+            assertThat(signatures.get(nodeAccountId))
+                    .containsOnlyKeys(unusedPrivateKey.getPublicKey(), otherPrivateKey.getPublicKey());
+        }
+    }
+
+    @Test
+    void mergeSignaturesRejectsDifferentTransactions() {
+        var first = new TransferTransaction()
+                .setNodeAccountIds(testNodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .freeze()
+                .sign(unusedPrivateKey)
+                .toBytes();
+        var second = new TransferTransaction()
+                .setNodeAccountIds(testNodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .setTransactionMemo("different")
+                .freeze()
+                .sign(unusedPrivateKey)
+                .toBytes();
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> Transaction.mergeSignatures(first, second));
+    }
+
+    @Test
+    void mergeSignaturesMergesRepeatedSignatureMaps() throws InvalidProtocolBufferException {
+        var otherPrivateKey = PrivateKey.generateED25519();
+        var list = com.hedera.hashgraph.sdk.proto.TransactionList.newBuilder();
+
+        for (var bodyBytes : bodyBytesOf(unsignedTransfer())) {
+            // two occurrences of the sigMap field, which protobuf merges into one map
+            var signedTransactionBytes = SignedTransaction.newBuilder()
+                    .setBodyBytes(bodyBytes)
+                    .setSigMap(SignatureMap.newBuilder().addSigPair(sigPair(unusedPrivateKey, bodyBytes, 32)))
+                    .build()
+                    .toByteString()
+                    .concat(SignedTransaction.newBuilder()
+                            .setSigMap(SignatureMap.newBuilder().addSigPair(sigPair(otherPrivateKey, bodyBytes, 32)))
+                            .build()
+                            .toByteString());
+            list.addTransactionList(com.hedera.hashgraph.sdk.proto.Transaction.newBuilder()
+                    .setSignedTransactionBytes(signedTransactionBytes));
+        }
+
+        var merged = Transaction.mergeSignatures(list.build().toByteArray());
+
+        for (var nodeAccountId : testNodeAccountIds) {
+            assertThat(merged.getSignatures().get(nodeAccountId))
+                    .containsOnlyKeys(unusedPrivateKey.getPublicKey(), otherPrivateKey.getPublicKey());
+        }
+    }
+
+    @Test
+    void mergeSignaturesKeepsOnePairPerSigner() throws InvalidProtocolBufferException {
+        var unsigned = unsignedTransfer();
+        var list = com.hedera.hashgraph.sdk.proto.TransactionList.newBuilder();
+
+        for (var bodyBytes : bodyBytesOf(unsigned)) {
+            list.addTransactionList(com.hedera.hashgraph.sdk.proto.Transaction.newBuilder()
+                    .setSignedTransactionBytes(SignedTransaction.newBuilder()
+                            .setBodyBytes(bodyBytes)
+                            .setSigMap(SignatureMap.newBuilder().addSigPair(sigPair(unusedPrivateKey, bodyBytes, 6)))
+                            .build()
+                            .toByteString()));
+        }
+
+        var shortPrefix = list.build().toByteArray();
+        var fullPrefix = fromBytes(unsigned).sign(unusedPrivateKey).toBytes();
+
+        var merged = Transaction.mergeSignatures(shortPrefix, fullPrefix, shortPrefix);
+
+        for (var nodeAccountId : testNodeAccountIds) {
+            assertThat(merged.getSignatures().get(nodeAccountId)).containsOnlyKeys(unusedPrivateKey.getPublicKey());
+        }
+    }
+
+    @Test
+    void mergeSignaturesOfManySigners() throws InvalidProtocolBufferException {
+        var unsigned = unsignedTransfer();
+        var keys = IntStream.range(0, 200)
+                .mapToObj(i -> PrivateKey.generateED25519())
+                .toList();
+        var copies = new ArrayList<byte[]>();
+
+        for (var key : keys) {
+            var copy = fromBytes(unsigned).sign(key).toBytes();
+            // every signer is sent twice
+            copies.add(copy);
+            copies.add(copy);
+        }
+
+        var merged = Transaction.mergeSignatures(copies.toArray(new byte[0][]));
+
+        var publicKeys = keys.stream().map(PrivateKey::getPublicKey).toList();
+        for (var nodeAccountId : testNodeAccountIds) {
+            assertThat(merged.getSignatures().get(nodeAccountId)).containsOnlyKeys(publicKeys);
+        }
+    }
+
+    @Test
+    void mergeSignaturesRejectsMissingSignedTransactions() {
+        var transactionId = TransactionId.withValidStart(testAccountId, validStart);
+        var all = new TransferTransaction()
+                .setNodeAccountIds(testNodeAccountIds)
+                .setTransactionId(transactionId)
+                .freeze()
+                .sign(unusedPrivateKey)
+                .toBytes();
+        var subset = new TransferTransaction()
+                .setNodeAccountIds(testNodeAccountIds.subList(0, 1))
+                .setTransactionId(transactionId)
+                .freeze()
+                .sign(unusedPrivateKey)
+                .toBytes();
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> Transaction.mergeSignatures(all, subset));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> Transaction.mergeSignatures(subset, all));
+    }
+
+    private byte[] unsignedTransfer() {
+        return new TransferTransaction()
+                .setNodeAccountIds(testNodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .addHbarTransfer(testAccountId, new Hbar(1).negated())
+                .addHbarTransfer(AccountId.fromString("0.0.3"), new Hbar(1))
+                .freeze()
+                .toBytes();
+    }
+
+    private static List<ByteString> bodyBytesOf(byte[] transactionBytes) throws InvalidProtocolBufferException {
+        var bodies = new ArrayList<ByteString>();
+
+        for (var transaction : com.hedera.hashgraph.sdk.proto.TransactionList.parseFrom(transactionBytes)
+                .getTransactionListList()) {
+            bodies.add(SignedTransaction.parseFrom(transaction.getSignedTransactionBytes())
+                    .getBodyBytes());
+        }
+
+        return bodies;
+    }
+
+    private static SignaturePair sigPair(PrivateKey key, ByteString bodyBytes, int prefixLength) {
+        var publicKey = key.getPublicKey().toBytesRaw();
+
+        return SignaturePair.newBuilder()
+                .setPubKeyPrefix(ByteString.copyFrom(publicKey, 0, prefixLength))
+                .setEd25519(ByteString.copyFrom(key.sign(bodyBytes.toByteArray())))
+                .build();
+    }
+
     private TokenAssociateTransaction spawnTestTransaction(TransactionBody txBody) {
         return new TokenAssociateTransaction(txBody)
                 .setNodeAccountIds(testNodeAccountIds)
@@ -0,0 +1,118 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TransferPackerTest {
+    private static final AccountId ALICE = AccountId.fromString("0.0.1001");
+    private static final AccountId BOB = AccountId.fromString("0.0.1002");
+    private static final AccountId CAROL = AccountId.fromString("0.0.1003");
+    private static final TokenId TOKEN = TokenId.fromString("0.0.2001");
+
+    @Test
+    void offsettingPaymentsAreNetted() {
+        var transactions = new TransferPacker()
+                .addHbarTransfer(ALICE, BOB, Hbar.fromTinybars(10))
+                .addHbarTransfer(BOB, ALICE, Hbar.fromTinybars(4))
+                .addTokenTransfer(TOKEN, ALICE, BOB, 5)
+                .addTokenTransfer(TOKEN, BOB, ALICE, 5)
+                .pack();
+
+        assertThat(transactions).hasSize(1);
+        assertThat(transactions.get(0).getHbarTransfers())
+                .containsOnly(Map.entry(ALICE, Hbar.fromTinybars(-6)), Map.entry(BOB, Hbar.fromTinybars(6)));
+        assertThat(transactions.get(0).getTokenTransfers()).isEmpty();
+    }
+
+    @Test
+    void paymentsWhichCancelOutCreateNoTransactions() {
+        assertThat(new TransferPacker()
+                        .addHbarTransfer(ALICE, BOB, Hbar.fromTinybars(10))
+                        .addHbarTransfer(BOB, ALICE, Hbar.fromTinybars(10))
+                        .addNftTransfer(TOKEN.nft(1), ALICE, BOB)
+                        .addNftTransfer(TOKEN.nft(1), BOB, ALICE)
+                        .pack())
+                .isEmpty();
+    }
+
+    @Test
+    void passedOnNftsMoveOnce() {
+        var transactions = new TransferPacker()
+                .addNftTransfer(TOKEN.nft(1), ALICE, BOB)
+                .addNftTransfer(TOKEN.nft(1), BOB, CAROL)
+                .pack();
+
+        assertThat(transactions).hasSize(1);
+        var nftTransfers = transactions.get(0).getTokenNftTransfers().get(TOKEN);
+        assertThat(nftTransfers).hasSize(1);
+        assertThat(nftTransfers.get(0).sender).isEqualTo(ALICE);
+        assertThat(nftTransfers.get(0).receiver).isEqualTo(CAROL);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new TransferPacker()
+                        .addNftTransfer(TOKEN.nft(1), ALICE, BOB)
+                        .addNftTransfer(TOKEN.nft(1), CAROL, ALICE));
+    }
+
+    @Test
+    void paymentsArePackedWithinTheLimits() {
+        var packer = new TransferPacker();
+        var expected = new HashMap<AccountId, Long>();
+
+        for (var i = 0; i < 500; i++) {
+            var sender = new AccountId(0, 0, 1_000 + (i % 7));
+            var receiver = new AccountId(0, 0, 5_000 + i);
+            packer.addHbarTransfer(sender, receiver, Hbar.fromTinybars(100 + i))
+                    .addTokenTransfer(TOKEN, sender, receiver, 1 + i);
+            expected.merge(sender, -(1L + i), Long::sum);
+            expected.merge(receiver, 1L + i, Long::sum);
+        }
+
+        var transactions = packer.pack();
+        var tokenTotals = new HashMap<AccountId, Long>();
+
+        for (var transaction : transactions) {
+            var hbarTransfers = transaction.getHbarTransfers();
+            assertThat(hbarTransfers).hasSizeLessThanOrEqualTo(TransferPacker.DEFAULT_MAX_HBAR_TRANSFERS);
+            assertThat(hbarTransfers.values().stream().mapToLong(Hbar::toTinybars).sum())
+                    .isZero();
+
+            var tokenTransfers = transaction.getTokenTransfers().getOrDefault(TOKEN, Map.of());
+            assertThat(tokenTransfers).hasSizeLessThanOrEqualTo(TransferPacker.DEFAULT_MAX_TOKEN_TRANSFERS);
+            assertThat(tokenTransfers.values().stream().mapToLong(Long::longValue).sum())
+                    .isZero();
+            tokenTransfers.forEach((accountId, amount) -> tokenTotals.merge(accountId, amount, Long::sum));
+
+            assertThat(transaction.build().build().getSerializedSize())
+                    .isLessThanOrEqualTo(TransferPacker.DEFAULT_MAX_TRANSFER_BYTES);
+        }
+
+        assertThat(tokenTotals).isEqualTo(expected);
+    }
+
+    @Test
+    void transferBodySizeIsRespected() {
+        var packer = new TransferPacker().setMaxNftTransfers(1_000).setMaxTransferBytes(512);
+
+        for (var i = 1; i <= 100; i++) {
+            packer.addNftTransfer(TOKEN.nft(i), ALICE, new AccountId(0, 0, 5_000 + i));
+        }
+
+        var transactions = packer.pack();
+
+        assertThat(transactions).hasSizeGreaterThan(1);
+        assertThat(transactions.stream()
+                        .mapToInt(transaction ->
+                                transaction.getTokenNftTransfers().get(TOKEN).size())
+                        .sum())
+                .isEqualTo(100);
+        for (var transaction : transactions) {
+            assertThat(transaction.build().build().getSerializedSize()).isLessThanOrEqualTo(512);
+        }
+    }
+}